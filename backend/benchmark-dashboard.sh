@@ -0,0 +1,95 @@
+#!/bin/bash
+
+# Dashboard response time vs. dataset size.
+# Seeds a dedicated clinic with 10k / 100k / 1M appointments (plus owners, pets and invoices)
+# directly through psql, rebuilds its rollups and times every dashboard endpoint.
+#
+# Usage: ./benchmark-dashboard.sh [sizes...]     e.g. ./benchmark-dashboard.sh 10000 100000
+# Requires the backend running on localhost:8082 and psql on the PATH.
+
+# Colors for output
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+CYAN='\033[0;36m'
+NC='\033[0m' # No Color
+
+BASE_URL="${BASE_URL:-http://localhost:8082/api}"
+CLINIC_CODE="${CLINIC_CODE:-BENCH01}"
+RUNS="${RUNS:-10}"
+PSQL="psql -q -v ON_ERROR_STOP=1 -h ${PGHOST:-localhost} -p ${PGPORT:-5432} -U ${PGUSER:-postgres} -d ${PGDATABASE:-pawcare_hub}"
+SIZES=("$@")
+[ ${#SIZES[@]} -eq 0 ] && SIZES=(10000 100000 1000000)
+
+ENDPOINTS=(stats performance revenue recent-activity upcoming-appointments recent-pets inventory-alerts)
+
+seed() {
+    local appointments=$1
+    local owners=$((appointments / 10))
+    local invoices=$((appointments / 5))
+
+    $PSQL <<SQL
+-- Child rows first, vacuuming in between: the foreign keys pointing at appointments and pets
+-- are not indexed, so each deleted parent row scans the child table including dead tuples.
+DELETE FROM invoices WHERE clinic_code = '$CLINIC_CODE';
+VACUUM invoices;
+DELETE FROM appointments WHERE clinic_code = '$CLINIC_CODE';
+VACUUM appointments;
+DELETE FROM pets WHERE clinic_code = '$CLINIC_CODE';
+VACUUM pets;
+DELETE FROM owners WHERE clinic_code = '$CLINIC_CODE';
+DELETE FROM clinic_daily_stats WHERE clinic_code = '$CLINIC_CODE';
+DELETE FROM clinic_active_owners WHERE clinic_code = '$CLINIC_CODE';
+
+INSERT INTO owners (clinic_code, first_name, last_name, email, created_at, updated_at)
+SELECT '$CLINIC_CODE', 'Owner', 'No' || g, 'bench' || g || '@example.com', now(), now()
+FROM generate_series(1, $owners) g;
+
+INSERT INTO pets (clinic_code, name, species, owner_id, created_at, updated_at)
+SELECT '$CLINIC_CODE', 'Pet' || o.id, 'DOG', o.id, now() - (random() * interval '90 days'), now()
+FROM owners o WHERE o.clinic_code = '$CLINIC_CODE';
+
+INSERT INTO appointments (clinic_code, pet_id, date, time, duration, type, status, created_at, updated_at)
+WITH base AS (SELECT MIN(id) AS pet_id FROM pets WHERE clinic_code = '$CLINIC_CODE')
+SELECT '$CLINIC_CODE', p.id, current_date - (random() * 90)::int + 7, time '08:00' + (random() * 18)::int * interval '30 minutes', 30,
+       (ARRAY['CHECKUP','VACCINATION','SURGERY','GROOMING','EMERGENCY','FOLLOW_UP'])[1 + (random() * 5)::int],
+       (ARRAY['SCHEDULED','CHECKED_IN','IN_PROGRESS','COMPLETED','CANCELLED'])[1 + (random() * 4)::int],
+       now(), now()
+FROM generate_series(1, $appointments) g CROSS JOIN base
+JOIN pets p ON p.id = base.pet_id + (g % $owners);
+
+INSERT INTO invoices (clinic_code, invoice_number, pet_id, owner_id, issue_date, due_date, paid_date, subtotal, tax, discount, total, status, created_at, updated_at)
+WITH base AS (SELECT MIN(id) AS pet_id FROM pets WHERE clinic_code = '$CLINIC_CODE')
+SELECT '$CLINIC_CODE', 'BENCH-' || g, p.id, p.owner_id, d, d + 30, CASE WHEN g % 3 = 0 THEN NULL ELSE d END,
+       100, 0, 0, 100, CASE WHEN g % 3 = 0 THEN 'SENT' ELSE 'PAID' END, now(), now()
+FROM (SELECT g, current_date - (random() * 60)::int AS d FROM generate_series(1, $invoices) g) s CROSS JOIN base
+JOIN pets p ON p.id = base.pet_id + (s.g % $owners);
+
+ANALYZE owners; ANALYZE pets; ANALYZE appointments; ANALYZE invoices;
+SQL
+}
+
+time_endpoint() {
+    local endpoint=$1
+    # Warm-up
+    curl -s -o /dev/null -H "X-Clinic-Code: $CLINIC_CODE" "$BASE_URL/dashboard/$endpoint"
+    for i in $(seq 1 $RUNS); do
+        curl -s -o /dev/null -w "%{time_total}\n" -H "X-Clinic-Code: $CLINIC_CODE" "$BASE_URL/dashboard/$endpoint"
+    done | awk '{ total += $1 } END { printf "%.1f", total * 1000 / NR }'
+}
+
+echo -e "${CYAN}╔══════════════════════════════════════╗${NC}"
+echo -e "${CYAN}║   PawCare Hub Dashboard Benchmark    ║${NC}"
+echo -e "${CYAN}╚══════════════════════════════════════╝${NC}"
+echo
+
+for size in "${SIZES[@]}"; do
+    echo -e "${YELLOW}🌱 Seeding $size appointments for clinic $CLINIC_CODE...${NC}"
+    seed "$size" || exit 1
+    curl -s -o /dev/null -X POST -H "X-Clinic-Code: $CLINIC_CODE" "$BASE_URL/dashboard/rollups/rebuild"
+
+    echo -e "${GREEN}⏱  Average response time over $RUNS runs (ms)${NC}"
+    for endpoint in "${ENDPOINTS[@]}"; do
+        printf "  %-25s %8s\n" "$endpoint" "$(time_endpoint $endpoint)"
+    done
+    echo
+done
@@ -0,0 +1,137 @@
+#!/bin/bash
+
+# Insert throughput with pooled sequence ids (V8__pooled_sequence_ids.sql, allocation size 50).
+# Creates invoices with 20 items each through POST /api/invoices (one transaction per invoice),
+# then bulk imports owners and pets through /api/import, which reserves its ids in blocks with
+# BulkImportService.allocateIds, all in a dedicated clinic.
+#
+# Usage: ./benchmark-inserts.sh [invoices] [import-rows]     e.g. ./benchmark-inserts.sh 500 10000
+# Requires the backend running on localhost:8082 and psql on the PATH.
+#
+# For statement counts, start the backend with
+#   --spring.jpa.properties.hibernate.generate_statistics=true
+#   --logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=INFO
+# and point APP_LOG at its log file; JDBC statements and batches are then summed per step.
+#
+# Before/after: run once against a build of the commit before pooled ids and once against the
+# current one, each on a fresh database (set PGDATABASE and the backend's spring.datasource.url).
+
+# Colors for output
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+CYAN='\033[0;36m'
+NC='\033[0m' # No Color
+
+BASE_URL="${BASE_URL:-http://localhost:8082/api}"
+CLINIC_CODE="${CLINIC_CODE:-BENCH02}"
+PSQL="psql -q -v ON_ERROR_STOP=1 -h ${PGHOST:-localhost} -p ${PGPORT:-5432} -U ${PGUSER:-postgres} -d ${PGDATABASE:-pawcare_hub}"
+INVOICES="${1:-500}"
+IMPORT_ROWS="${2:-10000}"
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+clean() {
+    $PSQL <<SQL
+DELETE FROM invoice_items WHERE invoice_id IN (SELECT id FROM invoices WHERE clinic_code = '$CLINIC_CODE');
+DELETE FROM invoices WHERE clinic_code = '$CLINIC_CODE';
+DELETE FROM pets WHERE clinic_code = '$CLINIC_CODE';
+DELETE FROM owners WHERE clinic_code = '$CLINIC_CODE';
+DELETE FROM veterinarians WHERE clinic_code = '$CLINIC_CODE';
+SQL
+}
+
+seed() {
+    $PSQL <<SQL
+INSERT INTO owners (clinic_code, first_name, last_name, email, created_at, updated_at)
+VALUES ('$CLINIC_CODE', 'Bench', 'Owner', 'bench-owner@example.com', now(), now());
+INSERT INTO pets (clinic_code, name, species, owner_id, created_at, updated_at)
+SELECT '$CLINIC_CODE', 'Bench Pet', 'DOG', id, now(), now() FROM owners WHERE clinic_code = '$CLINIC_CODE';
+INSERT INTO veterinarians (clinic_code, name, email, created_at, updated_at)
+VALUES ('$CLINIC_CODE', 'Dr Bench', 'bench-vet@example.com', now(), now());
+SQL
+}
+
+query() {
+    $PSQL -t -A -c "$1"
+}
+
+# Sums the Hibernate session statistics logged since the given line
+statements() {
+    if [ -z "$APP_LOG" ]; then
+        echo "n/a"
+        return
+    fi
+    tail -n +"$(($1 + 1))" "$APP_LOG" | awk '
+        /JDBC statements;/ { for (i = 1; i <= NF; i++) if ($i == "JDBC" && $(i + 1) == "statements;") s += $(i - 1) }
+        /JDBC batches;/ { for (i = 1; i <= NF; i++) if ($i == "JDBC" && $(i + 1) == "batches;") b += $(i - 1) }
+        END { printf "%d statements, %d batches", s, b }'
+}
+
+log_lines() {
+    [ -n "$APP_LOG" ] && wc -l < "$APP_LOG" || echo 0
+}
+
+# Prints "<rate>/s" for count items done between two timestamps in milliseconds
+rate() {
+    awk -v n="$1" -v ms="$(($3 - $2))" 'BEGIN { printf "%.0f/s (%d ms)", n * 1000 / (ms > 0 ? ms : 1), ms }'
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+echo -e "${CYAN}╔══════════════════════════════════════╗${NC}"
+echo -e "${CYAN}║    PawCare Hub Insert Benchmark      ║${NC}"
+echo -e "${CYAN}╚══════════════════════════════════════╝${NC}"
+echo
+
+echo -e "${YELLOW}🌱 Preparing clinic $CLINIC_CODE...${NC}"
+clean || exit 1
+seed || exit 1
+OWNER_ID=$(query "SELECT id FROM owners WHERE clinic_code = '$CLINIC_CODE'")
+PET_ID=$(query "SELECT id FROM pets WHERE clinic_code = '$CLINIC_CODE'")
+VET_ID=$(query "SELECT id FROM veterinarians WHERE clinic_code = '$CLINIC_CODE'")
+
+ITEMS=$(for i in $(seq 1 20); do
+    printf '{"description":"Item %d","category":"OTHER","quantity":1,"unitPrice":5,"total":5}' "$i"
+    [ "$i" -lt 20 ] && printf ','
+done)
+for i in $(seq 1 "$INVOICES"); do
+    printf '{"invoiceNumber":"BENCH-%d","pet":{"id":%s},"owner":{"id":%s},"veterinarian":{"id":%s},"issueDate":"%s","dueDate":"%s","status":"DRAFT","items":[%s]}\n' \
+        "$i" "$PET_ID" "$OWNER_ID" "$VET_ID" "$(date +%F)" "$(date +%F)" "$ITEMS"
+done > "$WORK_DIR/invoices.ndjson"
+
+echo "firstName,lastName,email,pid" > "$WORK_DIR/owners.csv"
+echo "name,species,ownerPid" > "$WORK_DIR/pets.csv"
+for i in $(seq 1 "$IMPORT_ROWS"); do
+    echo "Import,Owner$i,import$i@example.com,BENCH-$i" >> "$WORK_DIR/owners.csv"
+    echo "Pet$i,CAT,BENCH-$i" >> "$WORK_DIR/pets.csv"
+done
+
+echo -e "${GREEN}⏱  $INVOICES invoices with 20 items, one request each${NC}"
+lines=$(log_lines)
+start=$(now_ms)
+while read -r invoice; do
+    curl -s -o /dev/null -X POST -H "Content-Type: application/json" -H "X-Clinic-Code: $CLINIC_CODE" \
+        -d "$invoice" "$BASE_URL/invoices"
+done < "$WORK_DIR/invoices.ndjson"
+end=$(now_ms)
+sleep 1
+printf "  %-25s %s\n" "throughput" "$(rate "$INVOICES" "$start" "$end")"
+printf "  %-25s %s\n" "invoices stored" "$(query "SELECT count(*) FROM invoices WHERE clinic_code = '$CLINIC_CODE'")"
+printf "  %-25s %s\n" "hibernate" "$(statements "$lines")"
+echo
+
+for entity in owners pets; do
+    echo -e "${GREEN}⏱  Bulk import of $IMPORT_ROWS $entity${NC}"
+    start=$(now_ms)
+    result=$(curl -s -X POST -H "Content-Type: text/csv" -H "X-Clinic-Code: $CLINIC_CODE" \
+        --data-binary "@$WORK_DIR/$entity.csv" "$BASE_URL/import/$entity.csv")
+    end=$(now_ms)
+    printf "  %-25s %s\n" "throughput" "$(rate "$IMPORT_ROWS" "$start" "$end")"
+    printf "  %-25s %s\n" "result" "$result"
+    echo
+done
+
+echo -e "${YELLOW}🧹 Removing benchmark data...${NC}"
+clean
\ No newline at end of file
@@ -2,8 +2,10 @@ package com.pawcare.hub;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class PawCareHubApplication {
     public static void main(String[] args) {
         SpringApplication.run(PawCareHubApplication.class, args);
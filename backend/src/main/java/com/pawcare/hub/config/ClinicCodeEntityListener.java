@@ -1,10 +1,10 @@
 package com.pawcare.hub.config;
 
+import com.pawcare.hub.entity.ClinicScoped;
 import com.pawcare.hub.service.ClinicContextService;
 import jakarta.persistence.PrePersist;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import java.lang.reflect.Field;
 
 @Component
 public class ClinicCodeEntityListener {
@@ -16,20 +16,13 @@ public class ClinicCodeEntityListener {
         ClinicCodeEntityListener.clinicContextService = clinicContextService;
     }
 
+    // Plain interface calls instead of field reflection: this runs for every inserted row
     @PrePersist
     public void setClinicCode(Object entity) {
-        if (clinicContextService != null) {
+        if (clinicContextService != null && entity instanceof ClinicScoped scoped && scoped.getClinicCode() == null) {
             String clinicCode = clinicContextService.getClinicCode();
             if (clinicCode != null) {
-                try {
-                    Field clinicCodeField = entity.getClass().getDeclaredField("clinicCode");
-                    clinicCodeField.setAccessible(true);
-                    if (clinicCodeField.get(entity) == null) {
-                        clinicCodeField.set(entity, clinicCode);
-                    }
-                } catch (NoSuchFieldException | IllegalAccessException e) {
-                    // Entity doesn't have clinicCode field, ignore
-                }
+                scoped.setClinicCode(clinicCode);
             }
         }
     }
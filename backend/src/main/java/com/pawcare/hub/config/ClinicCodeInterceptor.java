@@ -1,6 +1,8 @@
 package com.pawcare.hub.config;
 
+import com.pawcare.hub.service.ClinicContext;
 import com.pawcare.hub.service.ClinicContextService;
+import com.pawcare.hub.service.ClinicRegistry;
 import com.pawcare.hub.service.SettingsService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -16,17 +18,27 @@ public class ClinicCodeInterceptor implements HandlerInterceptor {
     
     @Autowired
     private SettingsService settingsService;
+    
+    @Autowired
+    private ClinicRegistry clinicRegistry;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         String clinicCode = request.getHeader("X-Clinic-Code");
         
-        if (clinicCode == null || clinicCode.isEmpty()) {
-            // Fallback to default clinic code from settings
-            clinicCode = settingsService.getClinicSettings().getClinicCode();
+        ClinicContext context;
+        if (clinicCode != null && !clinicCode.isEmpty()) {
+            context = clinicRegistry.resolve(clinicCode);
+        } else {
+            // Fallback to default clinic from settings
+            context = clinicRegistry.getDefaultClinic();
+            if (context == null) {
+                // No clinic yet: this creates the default settings, which registers them
+                context = clinicRegistry.resolve(settingsService.getClinicSettings().getClinicCode());
+            }
         }
         
-        clinicContextService.setClinicCode(clinicCode);
+        clinicContextService.setClinicContext(context);
         return true;
     }
 
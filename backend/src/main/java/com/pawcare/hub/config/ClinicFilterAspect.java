@@ -0,0 +1,45 @@
+package com.pawcare.hub.config;
+
+import com.pawcare.hub.entity.ClinicScoped;
+import com.pawcare.hub.service.ClinicContextService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Turns on the Hibernate clinic filter before every repository call, so JPQL, derived and
+// criteria queries on ClinicScoped entities only see the current clinic's rows.
+// Native SQL and lookups by primary key (findById) are not filtered by Hibernate;
+// use BaseClinicRepository.findScopedById for the latter.
+@Aspect
+@Component
+public class ClinicFilterAspect {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ClinicContextService clinicContextService;
+
+    @Before("execution(* org.springframework.data.repository.Repository+.*(..)) || " +
+            "execution(* org.springframework.data.jpa.repository.JpaSpecificationExecutor+.*(..))")
+    public void enableClinicFilter() {
+        // Without a bound session (no request, no transaction) each call gets a fresh one,
+        // which the filter would not carry over to
+        if (!TransactionSynchronizationManager.hasResource(entityManager.getEntityManagerFactory())) {
+            return;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        String clinicCode = clinicContextService.getClinicCode();
+        if (clinicCode == null) {
+            // Scheduled jobs and other callers without a clinic see every clinic
+            session.disableFilter(ClinicScoped.FILTER);
+        } else {
+            session.enableFilter(ClinicScoped.FILTER).setParameter(ClinicScoped.FILTER_PARAM, clinicCode);
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.pawcare.hub.config;
 
+import com.pawcare.hub.dto.ListPage;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,6 +37,9 @@ public class CorsConfig {
                 .forEach(configuration::addAllowedMethod);
         
         configuration.addAllowedHeader(allowedHeaders);
+        // Paging metadata of the list endpoints
+        configuration.addExposedHeader(ListPage.NEXT_CURSOR_HEADER);
+        configuration.addExposedHeader(ListPage.TOTAL_COUNT_HEADER);
         configuration.setAllowCredentials(allowCredentials);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,100 @@
+package com.pawcare.hub.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Reports access paths that have lost their index (dropped by hand, a failed migration, a restored
+// dump). An index counts when its leading key columns match, whatever it is called.
+@Component
+public class MissingIndexCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(MissingIndexCheck.class);
+
+    // table -> leading columns, kept in line with the db/migration scripts
+    private static final List<Map.Entry<String, String>> EXPECTED = List.of(
+        Map.entry("appointments", "clinic_code,date,time"),
+        Map.entry("appointments", "pet_id"),
+        Map.entry("appointments", "veterinarian_id,date"),
+        Map.entry("invoices", "clinic_code,paid_date"),
+        Map.entry("invoices", "clinic_code,status"),
+        Map.entry("invoices", "clinic_code,issue_date"),
+        Map.entry("invoices", "appointment_id"),
+        Map.entry("invoice_items", "invoice_id"),
+        Map.entry("payment_records", "invoice_id"),
+        Map.entry("activities", "timestamp,id"),
+        Map.entry("activities", "entity_type,entity_id"),
+        Map.entry("vaccinations", "clinic_code,next_due_date"),
+        Map.entry("vaccinations", "clinic_code,pet_id"),
+        Map.entry("vaccinations", "clinic_code,id"),
+        Map.entry("medical_records", "clinic_code,pet_id,date"),
+        Map.entry("medical_records", "search_vector"),
+        Map.entry("lab_tests", "clinic_code,requested_date"),
+        Map.entry("pets", "clinic_code,owner_id"),
+        Map.entry("owners", "clinic_code,id"),
+        Map.entry("pets", "clinic_code,id"),
+        Map.entry("invoices", "clinic_code,id"),
+        Map.entry("medical_records", "clinic_code,id"),
+        Map.entry("lab_tests", "clinic_code,id"),
+        Map.entry("prescriptions", "clinic_code,id"),
+        Map.entry("inventory_items", "clinic_code,id"),
+        Map.entry("appointments", "clinic_code,id"),
+        Map.entry("stock_movements", "inventory_item_id,id"),
+        Map.entry("stock_reservations", "source_type,source_id"),
+        Map.entry("stock_reservations", "inventory_item_id"),
+        Map.entry("invoice_items", "inventory_item_id"),
+        Map.entry("prescriptions", "inventory_item_id"),
+        Map.entry("inventory_items", "clinic_code,expiry_date"),
+        Map.entry("inventory_alerts", "clinic_code,type"),
+        Map.entry("inventory_alerts", "inventory_item_id,type")
+    );
+
+    private static final String INDEX_COLUMNS_SQL =
+        "SELECT t.relname AS table_name, array_to_string(ARRAY(" +
+        "  SELECT a.attname FROM unnest(ix.indkey) WITH ORDINALITY AS k(attnum, ord)" +
+        "  JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = k.attnum ORDER BY k.ord), ',') AS columns " +
+        "FROM pg_index ix JOIN pg_class t ON t.oid = ix.indrelid " +
+        "WHERE t.relnamespace = current_schema()::regnamespace";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${schema.index-check.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkOnStartup() {
+        List<String> missing = findMissingIndexes();
+        if (missing.isEmpty()) {
+            logger.info("Index check passed: {} access paths indexed", EXPECTED.size());
+            return;
+        }
+        logger.warn("Missing indexes, queries on these paths will scan: {}", missing);
+        if (failOnMissing) {
+            throw new IllegalStateException("Missing indexes: " + missing);
+        }
+    }
+
+    public List<String> findMissingIndexes() {
+        List<Map<String, Object>> indexes = jdbcTemplate.queryForList(INDEX_COLUMNS_SQL);
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, String> expected : EXPECTED) {
+            String prefix = expected.getValue();
+            boolean found = indexes.stream().anyMatch(index ->
+                expected.getKey().equals(index.get("table_name")) &&
+                (index.get("columns").equals(prefix) || ((String) index.get("columns")).startsWith(prefix + ",")));
+            if (!found) {
+                missing.add(expected.getKey() + "(" + prefix + ")");
+            }
+        }
+        return missing;
+    }
+}
\ No newline at end of file
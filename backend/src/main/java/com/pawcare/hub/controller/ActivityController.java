@@ -1,12 +1,23 @@
 package com.pawcare.hub.controller;
 
+import com.pawcare.hub.dto.ActivityCursor;
 import com.pawcare.hub.dto.ActivityDTO;
+import com.pawcare.hub.dto.ActivityPageDTO;
+import com.pawcare.hub.entity.Activity;
 import com.pawcare.hub.service.ActivityService;
+import com.pawcare.hub.service.ActivityStreamHub;
+import com.pawcare.hub.service.ActivityWriter;
+import com.pawcare.hub.service.ClinicContextService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -16,6 +27,39 @@ public class ActivityController {
     @Autowired
     private ActivityService activityService;
     
+    @Autowired
+    private ActivityWriter activityWriter;
+    
+    @Autowired
+    private ActivityStreamHub activityStreamHub;
+    
+    @Autowired
+    private ClinicContextService clinicContextService;
+    
+    private static final int MAX_PAGE_SIZE = 200;
+    
+    // Keyset pagination over (timestamp, id): pass the returned nextCursor to get the next page
+    @GetMapping
+    public ResponseEntity<ActivityPageDTO> getActivities(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(defaultValue = "50") int limit) {
+        ActivityCursor position;
+        try {
+            position = cursor != null ? ActivityCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Activity> activities = activityService.getActivityPage(position, since, entityType, entityId, pageSize);
+        Activity last = activities.isEmpty() ? null : activities.get(activities.size() - 1);
+        String nextCursor = activities.size() == pageSize ? new ActivityCursor(last.getTimestamp(), last.getId()).encode() : null;
+        return ResponseEntity.ok(new ActivityPageDTO(
+            activities.stream().map(ActivityDTO::new).collect(Collectors.toList()), nextCursor));
+    }
+    
     @GetMapping("/recent")
     public List<ActivityDTO> getRecentActivities(@RequestParam(defaultValue = "10") int limit) {
         return activityService.getRecentActivities(limit).stream()
@@ -45,4 +89,29 @@ public class ActivityController {
                 .map(ActivityDTO::new)
                 .collect(Collectors.toList());
     }
+    
+    // Live feed of activity, appointment status and stock events. EventSource cannot send
+    // headers, so the clinic can also be given as a query parameter.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamActivities(@RequestParam(required = false) String clinicCode) {
+        String clinic = clinicCode != null && !clinicCode.isEmpty() ? clinicCode : clinicContextService.getClinicCode();
+        if (clinic == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        SseEmitter emitter = activityStreamHub.subscribe(clinic);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+    
+    @GetMapping("/stream/stats")
+    public Map<String, Object> getStreamStats() {
+        return activityStreamHub.getStats();
+    }
+    
+    @GetMapping("/writer-stats")
+    public Map<String, Object> getWriterStats() {
+        return activityWriter.getStats();
+    }
 }
\ No newline at end of file
@@ -4,14 +4,20 @@ import com.pawcare.hub.entity.Appointment;
 import com.pawcare.hub.entity.Appointment.AppointmentStatus;
 import com.pawcare.hub.dto.AppointmentDTO;
 import com.pawcare.hub.dto.CreateAppointmentRequest;
+import com.pawcare.hub.service.AppointmentConflictException;
 import com.pawcare.hub.service.AppointmentService;
+import com.pawcare.hub.service.ClinicContextService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ArrayList;
 import java.util.stream.Collectors;
@@ -21,9 +27,15 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:3000")
 public class AppointmentController {
 
+    private static final int MAX_AVAILABILITY_DAYS = 31;
+    private static final int MAX_AVAILABILITY_RESULTS = 100;
+
     @Autowired
     private AppointmentService appointmentService;
 
+    @Autowired
+    private ClinicContextService clinicContextService;
+
     @GetMapping
     public List<AppointmentDTO> getAllAppointments(
             @RequestParam(required = false) Boolean upcoming,
@@ -31,26 +43,18 @@ public class AppointmentController {
             @RequestParam(required = false) Long ownerId) {
         
         if (ownerId != null) {
-            return appointmentService.getAppointmentsByOwner(ownerId).stream()
-                    .map(AppointmentDTO::new)
-                    .collect(Collectors.toList());
+            return appointmentService.getAppointmentsByOwner(ownerId);
         }
         
         if (Boolean.TRUE.equals(upcoming)) {
-            return appointmentService.getUpcomingAppointments().stream()
-                    .map(AppointmentDTO::new)
-                    .collect(Collectors.toList());
+            return appointmentService.getUpcomingAppointments();
         }
         
         if (Boolean.TRUE.equals(today)) {
-            return appointmentService.getAppointmentsByDate(LocalDate.now()).stream()
-                    .map(AppointmentDTO::new)
-                    .collect(Collectors.toList());
+            return appointmentService.getAppointmentsByDate(LocalDate.now());
         }
         
-        return appointmentService.getAllAppointments().stream()
-                .map(AppointmentDTO::new)
-                .collect(Collectors.toList());
+        return appointmentService.getAllAppointments();
     }
 
     @GetMapping("/{id}")
@@ -61,13 +65,50 @@ public class AppointmentController {
     }
 
     @PostMapping
-    public AppointmentDTO createAppointment(@RequestBody CreateAppointmentRequest request) {
-        Appointment saved = appointmentService.createAppointment(request);
-        return new AppointmentDTO(saved);
+    public ResponseEntity<?> createAppointment(@RequestBody CreateAppointmentRequest request) {
+        try {
+            Appointment saved = appointmentService.createAppointment(request);
+            return ResponseEntity.ok(new AppointmentDTO(saved));
+        } catch (AppointmentConflictException e) {
+            return conflictResponse(e);
+        }
+    }
+
+    // Lets the booking form flag a clash before submitting; excludeId is the appointment being edited
+    @GetMapping("/conflicts")
+    public List<AppointmentDTO> getConflicts(
+            @RequestParam Long veterinarianId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time,
+            @RequestParam(required = false) Integer duration,
+            @RequestParam(required = false) Long excludeId) {
+        return appointmentService.findConflicts(veterinarianId, date, time, duration, excludeId).stream()
+                .map(AppointmentDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    // First free slots across vets (or one vet), e.g. "next free 30 minutes next week"
+    @GetMapping("/availability")
+    public ResponseEntity<?> getAvailability(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer duration,
+            @RequestParam(required = false) Integer step,
+            @RequestParam(required = false) Long veterinarianId,
+            @RequestParam(defaultValue = "10") int limit) {
+        // "Today" is the clinic's, as in AvailabilityIndex, not the server's
+        LocalDate today = LocalDate.now(clinicContextService.getClinicContext().getTimezone());
+        LocalDate start = from != null && !from.isBefore(today) ? from : today;
+        LocalDate end = to != null ? to : start.plusDays(6);
+        if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) >= MAX_AVAILABILITY_DAYS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Range must cover 1 to " + MAX_AVAILABILITY_DAYS + " days"));
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_AVAILABILITY_RESULTS));
+        return ResponseEntity.ok(appointmentService.findFreeSlots(start, end, duration, step, veterinarianId, pageSize));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<AppointmentDTO> updateAppointment(@PathVariable Long id, @RequestBody Appointment appointmentDetails) {
+    public ResponseEntity<?> updateAppointment(@PathVariable Long id, @RequestBody Appointment appointmentDetails) {
         Optional<Appointment> appointment = appointmentService.getAppointmentById(id);
         if (appointment.isPresent()) {
             Appointment existing = appointment.get();
@@ -77,8 +118,12 @@ public class AppointmentController {
             existing.setType(appointmentDetails.getType());
             existing.setNotes(appointmentDetails.getNotes());
             existing.setStatus(appointmentDetails.getStatus());
-            Appointment saved = appointmentService.saveAppointment(existing);
-            return ResponseEntity.ok(new AppointmentDTO(saved));
+            try {
+                Appointment saved = appointmentService.saveAppointment(existing);
+                return ResponseEntity.ok(new AppointmentDTO(saved));
+            } catch (AppointmentConflictException e) {
+                return conflictResponse(e);
+            }
         }
         return ResponseEntity.notFound().build();
     }
@@ -94,39 +139,29 @@ public class AppointmentController {
 
     @GetMapping("/pet/{petId}")
     public List<AppointmentDTO> getAppointmentsByPet(@PathVariable Long petId) {
-        return appointmentService.getAppointmentsByPet(petId).stream()
-                .map(AppointmentDTO::new)
-                .collect(Collectors.toList());
+        return appointmentService.getAppointmentsByPet(petId);
     }
 
     @GetMapping("/owner/{ownerId}")
     public List<AppointmentDTO> getAppointmentsByOwner(@PathVariable Long ownerId) {
-        return appointmentService.getAppointmentsByOwner(ownerId).stream()
-                .map(AppointmentDTO::new)
-                .collect(Collectors.toList());
+        return appointmentService.getAppointmentsByOwner(ownerId);
     }
 
     @GetMapping("/upcoming")
     public List<AppointmentDTO> getUpcomingAppointments() {
-        return appointmentService.getUpcomingAppointments().stream()
-                .map(AppointmentDTO::new)
-                .collect(Collectors.toList());
+        return appointmentService.getUpcomingAppointments();
     }
 
     @GetMapping("/today")
     public List<AppointmentDTO> getTodayAppointments() {
-        return appointmentService.getAppointmentsByDate(LocalDate.now()).stream()
-                .map(AppointmentDTO::new)
-                .collect(Collectors.toList());
+        return appointmentService.getAppointmentsByDate(LocalDate.now());
     }
 
     @GetMapping("/date-range")
     public List<AppointmentDTO> getAppointmentsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
-        return appointmentService.getAppointmentsByDateRange(start, end).stream()
-                .map(AppointmentDTO::new)
-                .collect(Collectors.toList());
+        return appointmentService.getAppointmentsByDateRange(start, end);
     }
 
     @GetMapping("/test")
@@ -152,8 +187,19 @@ public class AppointmentController {
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<AppointmentDTO> updateAppointmentStatus(@PathVariable Long id, @RequestParam AppointmentStatus status) {
-        Appointment updated = appointmentService.updateAppointmentStatus(id, status);
-        return updated != null ? ResponseEntity.ok(new AppointmentDTO(updated)) : ResponseEntity.notFound().build();
+    public ResponseEntity<?> updateAppointmentStatus(@PathVariable Long id, @RequestParam AppointmentStatus status) {
+        try {
+            Appointment updated = appointmentService.updateAppointmentStatus(id, status);
+            return updated != null ? ResponseEntity.ok(new AppointmentDTO(updated)) : ResponseEntity.notFound().build();
+        } catch (AppointmentConflictException e) {
+            return conflictResponse(e);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> conflictResponse(AppointmentConflictException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", e.getMessage());
+        body.put("conflicts", e.getConflicts());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.pawcare.hub.controller;
+
+import com.pawcare.hub.dto.DispenseRequest;
+import com.pawcare.hub.service.DispensingService;
+import com.pawcare.hub.service.InsufficientStockException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dispensing")
+@CrossOrigin(origins = "http://localhost:3000")
+public class DispensingController {
+
+    @Autowired
+    private DispensingService dispensingService;
+
+    // Each takes {"invoiceIds": [...], "prescriptionIds": [...]} and applies to the stock linked
+    // to all of them in one transaction, e.g. a day's checkout in a single dispense call
+    @PostMapping("/reserve")
+    public ResponseEntity<?> reserve(@RequestBody DispenseRequest request) {
+        return apply(DispensingService.Action.RESERVE, request);
+    }
+
+    @PostMapping("/dispense")
+    public ResponseEntity<?> dispense(@RequestBody DispenseRequest request) {
+        return apply(DispensingService.Action.DISPENSE, request);
+    }
+
+    @PostMapping("/release")
+    public ResponseEntity<?> release(@RequestBody DispenseRequest request) {
+        return apply(DispensingService.Action.RELEASE, request);
+    }
+
+    private ResponseEntity<?> apply(DispensingService.Action action, DispenseRequest request) {
+        try {
+            return ResponseEntity.ok(dispensingService.apply(action, request.getInvoiceIds(), request.getPrescriptionIds()));
+        } catch (InsufficientStockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage(),
+                "inventoryItemId", e.getItemId(), "available", e.getAvailable(), "requested", e.getRequested()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.pawcare.hub.controller;
+
+import com.pawcare.hub.service.ClinicContextService;
+import com.pawcare.hub.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ClinicContextService clinicContextService;
+
+    // Bulk export of invoices (with their items), appointments, payments or medical-records as
+    // .ndjson or .csv, e.g. /api/export/invoices.csv?from=2024-01-01. The body is written while
+    // it is read, so there is no Content-Length and a failure midway ends it early.
+    @GetMapping("/{dataset}.{format}")
+    public void export(@PathVariable String dataset,
+                       @PathVariable String format,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                       HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat;
+        if (format.equals("ndjson")) {
+            exportFormat = ExportService.Format.NDJSON;
+            response.setContentType("application/x-ndjson");
+        } else if (format.equals("csv")) {
+            exportFormat = ExportService.Format.CSV;
+            response.setContentType("text/csv");
+        } else {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Unknown export format: " + format);
+            return;
+        }
+        if (!exportService.hasDataset(dataset)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Unknown export: " + dataset);
+            return;
+        }
+        String clinicCode = clinicContextService.getClinicCode();
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + dataset + "-" + clinicCode + "-" + LocalDate.now() + "." + format + "\"");
+        exportService.export(dataset, exportFormat, clinicCode, from, to, response.getOutputStream());
+    }
+}
\ No newline at end of file
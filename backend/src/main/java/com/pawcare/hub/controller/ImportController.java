@@ -0,0 +1,40 @@
+package com.pawcare.hub.controller;
+
+import com.pawcare.hub.dto.ImportResultDTO;
+import com.pawcare.hub.service.BulkImportService;
+import com.pawcare.hub.service.ImportReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ImportController {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    // Bulk import of owners, pets, appointments or medical-records from a .csv (header line with
+    // the field names) or .ndjson body, e.g. POST /api/import/pets.csv. Rows that fail validation
+    // are reported by line in the result while the rest are imported.
+    @PostMapping("/{entity}.{format}")
+    public ResponseEntity<ImportResultDTO> importRows(@PathVariable String entity,
+                                                      @PathVariable String format,
+                                                      InputStream body) throws IOException {
+        ImportReader.Format importFormat;
+        if (format.equals("csv")) {
+            importFormat = ImportReader.Format.CSV;
+        } else if (format.equals("ndjson")) {
+            importFormat = ImportReader.Format.NDJSON;
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+        if (!bulkImportService.supports(entity)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(bulkImportService.importRows(entity, importFormat, body));
+    }
+}
\ No newline at end of file
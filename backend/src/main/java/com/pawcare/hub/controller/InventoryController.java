@@ -1,11 +1,17 @@
 package com.pawcare.hub.controller;
 
+import com.pawcare.hub.dto.ListRequest;
+import com.pawcare.hub.entity.InventoryAlert;
 import com.pawcare.hub.entity.InventoryItem;
+import com.pawcare.hub.entity.StockMovement;
+import com.pawcare.hub.service.InsufficientStockException;
 import com.pawcare.hub.service.InventoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -16,9 +22,19 @@ public class InventoryController {
     @Autowired
     private InventoryService inventoryService;
 
+    // Paged, see ListEndpoints; sortable by id, name, category, sku, currentStock, unitPrice, expiryDate, status, createdAt
     @GetMapping
-    public List<InventoryItem> getAllInventoryItems() {
-        return inventoryService.getAllInventoryItems();
+    public ResponseEntity<?> getAllInventoryItems(@RequestParam(required = false) String category,
+                                                  @RequestParam(required = false) String status,
+                                                  @RequestParam(required = false) String search,
+                                                  ListRequest request) {
+        try {
+            return ListEndpoints.ok(inventoryService.listInventoryItems(
+                ListEndpoints.parseEnum(InventoryItem.ItemCategory.class, category),
+                ListEndpoints.parseEnum(InventoryItem.StockStatus.class, status), search, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
@@ -32,15 +48,15 @@ public class InventoryController {
         return inventoryService.saveInventoryItem(item);
     }
 
+    // A currentStock different from the stored one is recorded as a stock count
     @PutMapping("/{id}")
-    public ResponseEntity<InventoryItem> updateInventoryItem(@PathVariable Long id, @RequestBody InventoryItem itemDetails) {
+    public ResponseEntity<?> updateInventoryItem(@PathVariable Long id, @RequestBody InventoryItem itemDetails) {
         Optional<InventoryItem> item = inventoryService.getInventoryItemById(id);
         if (item.isPresent()) {
             InventoryItem existingItem = item.get();
             existingItem.setName(itemDetails.getName());
             existingItem.setCategory(itemDetails.getCategory());
             existingItem.setDescription(itemDetails.getDescription());
-            existingItem.setCurrentStock(itemDetails.getCurrentStock());
             existingItem.setMinStock(itemDetails.getMinStock());
             existingItem.setMaxStock(itemDetails.getMaxStock());
             existingItem.setUnitPrice(itemDetails.getUnitPrice());
@@ -49,7 +65,11 @@ public class InventoryController {
             existingItem.setExpiryDate(itemDetails.getExpiryDate());
             existingItem.setBatchNumber(itemDetails.getBatchNumber());
             existingItem.setNotes(itemDetails.getNotes());
-            return ResponseEntity.ok(inventoryService.saveInventoryItem(existingItem));
+            try {
+                return ResponseEntity.ok(inventoryService.saveInventoryItem(existingItem, itemDetails.getCurrentStock()));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
         }
         return ResponseEntity.notFound().build();
     }
@@ -88,12 +108,40 @@ public class InventoryController {
         return inventoryService.getExpiringItems(daysAhead);
     }
 
+    @GetMapping("/alerts")
+    public List<InventoryAlert> getAlerts(@RequestParam(required = false) InventoryAlert.AlertType type) {
+        return inventoryService.getAlerts(type);
+    }
+
     @PostMapping("/{id}/adjust-stock")
-    public ResponseEntity<InventoryItem> adjustStock(@PathVariable Long id, @RequestParam int quantity, @RequestParam String reason) {
-        InventoryItem item = inventoryService.adjustStock(id, quantity, reason);
-        if (item != null) {
-            return ResponseEntity.ok(item);
+    public ResponseEntity<?> adjustStock(@PathVariable Long id, @RequestParam int quantity, @RequestParam String reason) {
+        try {
+            InventoryItem item = inventoryService.adjustStock(id, quantity, reason);
+            if (item != null) {
+                return ResponseEntity.ok(item);
+            }
+            return ResponseEntity.notFound().build();
+        } catch (InsufficientStockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage(),
+                "available", e.getAvailable(), "requested", e.getRequested()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Stock ledger of one item, paged, see ListEndpoints; sortable by id, createdAt
+    @GetMapping("/{id}/movements")
+    public ResponseEntity<?> getStockMovements(@PathVariable Long id,
+                                               @RequestParam(required = false) String type,
+                                               ListRequest request) {
+        if (inventoryService.getInventoryItemById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ListEndpoints.ok(inventoryService.listStockMovements(id,
+                ListEndpoints.parseEnum(StockMovement.MovementType.class, type), request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
-        return ResponseEntity.notFound().build();
     }
 }
\ No newline at end of file
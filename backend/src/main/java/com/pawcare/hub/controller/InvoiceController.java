@@ -1,5 +1,6 @@
 package com.pawcare.hub.controller;
 
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.Invoice;
 import com.pawcare.hub.service.InvoiceService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -18,12 +20,18 @@ public class InvoiceController {
     @Autowired
     private InvoiceService invoiceService;
 
+    // Paged, see ListEndpoints; sortable by id, invoiceNumber, issueDate, dueDate, paidDate, total, status, createdAt
     @GetMapping
-    public List<Invoice> getAllInvoices(@RequestParam(required = false) Long ownerId) {
-        if (ownerId != null) {
-            return invoiceService.getInvoicesByOwner(ownerId);
+    public ResponseEntity<?> getAllInvoices(@RequestParam(required = false) Long ownerId,
+                                            @RequestParam(required = false) Long petId,
+                                            @RequestParam(required = false) String status,
+                                            ListRequest request) {
+        try {
+            return ListEndpoints.ok(invoiceService.listInvoices(ownerId, petId,
+                ListEndpoints.parseEnum(Invoice.InvoiceStatus.class, status), request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
-        return invoiceService.getAllInvoices();
     }
 
     @GetMapping("/{id}")
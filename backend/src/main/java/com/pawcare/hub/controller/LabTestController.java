@@ -1,13 +1,16 @@
 package com.pawcare.hub.controller;
 
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.LabTest;
 import com.pawcare.hub.repository.LabTestRepository;
+import com.pawcare.hub.service.LabTestService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -18,14 +21,26 @@ public class LabTestController {
     @Autowired
     private LabTestRepository labTestRepository;
 
+    @Autowired
+    private LabTestService labTestService;
+
+    // Paged, see ListEndpoints; sortable by id, testType, requestedDate, completedDate, status, createdAt
     @GetMapping
-    public List<LabTest> getAllLabTests() {
-        return labTestRepository.findAll();
+    public ResponseEntity<?> getAllLabTests(@RequestParam(required = false) Long petId,
+                                            @RequestParam(required = false) Long veterinarianId,
+                                            @RequestParam(required = false) String status,
+                                            ListRequest request) {
+        try {
+            return ListEndpoints.ok(labTestService.listLabTests(petId, veterinarianId,
+                ListEndpoints.parseEnum(LabTest.TestStatus.class, status), request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<LabTest> getLabTestById(@PathVariable Long id) {
-        Optional<LabTest> labTest = labTestRepository.findById(id);
+        Optional<LabTest> labTest = labTestRepository.findScopedById(id);
         return labTest.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
@@ -36,7 +51,7 @@ public class LabTestController {
 
     @PutMapping("/{id}")
     public ResponseEntity<LabTest> updateLabTest(@PathVariable Long id, @RequestBody LabTest labTestDetails) {
-        Optional<LabTest> labTest = labTestRepository.findById(id);
+        Optional<LabTest> labTest = labTestRepository.findScopedById(id);
         if (labTest.isPresent()) {
             LabTest existing = labTest.get();
             existing.setStatus(labTestDetails.getStatus());
@@ -50,7 +65,7 @@ public class LabTestController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteLabTest(@PathVariable Long id) {
-        if (labTestRepository.findById(id).isPresent()) {
+        if (labTestRepository.findScopedById(id).isPresent()) {
             labTestRepository.deleteById(id);
             return ResponseEntity.ok().build();
         }
@@ -0,0 +1,36 @@
+package com.pawcare.hub.controller;
+
+import com.pawcare.hub.dto.ListPage;
+import org.springframework.http.ResponseEntity;
+import java.util.List;
+import java.util.Locale;
+
+// Shared response shape of the list endpoints: the page's items as the JSON array body,
+// X-Next-Cursor while more pages follow and X-Total-Count when ?includeTotal=true
+final class ListEndpoints {
+
+    private ListEndpoints() {}
+
+    static <T> ResponseEntity<List<T>> ok(ListPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(ListPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        if (page.getTotal() != null) {
+            response.header(ListPage.TOTAL_COUNT_HEADER, String.valueOf(page.getTotal()));
+        }
+        return response.body(page.getItems());
+    }
+
+    // Enum filters as the frontend sends them ("in-progress", "all")
+    static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null || value.isBlank() || value.equalsIgnoreCase("all")) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + ": " + value);
+        }
+    }
+}
\ No newline at end of file
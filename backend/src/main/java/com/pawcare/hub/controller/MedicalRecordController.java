@@ -1,5 +1,7 @@
 package com.pawcare.hub.controller;
 
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.MedicalRecord;
 import com.pawcare.hub.entity.Pet;
 import com.pawcare.hub.entity.Veterinarian;
@@ -28,24 +30,28 @@ public class MedicalRecordController {
     @Autowired
     private VeterinarianService veterinarianService;
 
+    // Paged, see ListEndpoints; sortable by id, date, type, title, status, createdAt.
+    // A search is ranked by relevance and cannot be sorted.
     @GetMapping
-    public List<Map<String, Object>> getAllMedicalRecords(
+    public ResponseEntity<?> getAllMedicalRecords(
             @RequestHeader("x-clinic-code") String clinicCode,
             @RequestParam(required = false) Long ownerId,
             @RequestParam(required = false) Long petId,
-            @RequestParam(required = false) String search) {
-        List<MedicalRecord> records;
-        if (search != null && !search.trim().isEmpty()) {
-            records = medicalRecordService.searchMedicalRecordsByClinic(search.trim(), clinicCode);
-        } else if (petId != null) {
-            records = medicalRecordService.getMedicalRecordsByPetAndClinic(petId, clinicCode);
-        } else if (ownerId != null) {
-            records = medicalRecordService.getMedicalRecordsByOwnerAndClinic(ownerId, clinicCode);
-        } else {
-            records = medicalRecordService.getAllMedicalRecordsByClinic(clinicCode);
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String search,
+            ListRequest request) {
+        ListPage<MedicalRecord> records;
+        try {
+            if (search != null && !search.trim().isEmpty()) {
+                records = medicalRecordService.searchMedicalRecordsByClinic(search.trim(), clinicCode, request);
+            } else {
+                records = medicalRecordService.listMedicalRecords(clinicCode, petId, ownerId,
+                    ListEndpoints.parseEnum(MedicalRecord.RecordType.class, type), request);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
-        
-        return records.stream().map(this::convertToResponse).collect(java.util.stream.Collectors.toList());
+        return ListEndpoints.ok(records.map(this::convertToResponse));
     }
     
     private Map<String, Object> convertToResponse(MedicalRecord record) {
@@ -1,6 +1,7 @@
 package com.pawcare.hub.controller;
 
 import com.pawcare.hub.dto.AppointmentDTO;
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.dto.OwnerDTO;
 import com.pawcare.hub.entity.Owner;
 import com.pawcare.hub.service.AppointmentService;
@@ -9,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,11 +24,16 @@ public class OwnerController {
     @Autowired
     private AppointmentService appointmentService;
 
+    // Paged, see ListEndpoints; sortable by id, firstName, lastName, email, createdAt
     @GetMapping
-    public List<OwnerDTO> getAllOwners() {
-        return ownerService.getAllOwners().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public ResponseEntity<?> getAllOwners(@RequestParam(required = false) String name,
+                                          @RequestParam(required = false) String email,
+                                          ListRequest request) {
+        try {
+            return ListEndpoints.ok(ownerService.listOwners(name, email, request).map(this::convertToDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
@@ -79,9 +86,7 @@ public class OwnerController {
 
     @GetMapping("/{id}/appointments")
     public List<AppointmentDTO> getOwnerAppointments(@PathVariable Long id) {
-        return appointmentService.getAppointmentsByOwner(id).stream()
-                .map(AppointmentDTO::new)
-                .collect(Collectors.toList());
+        return appointmentService.getAppointmentsByOwner(id);
     }
 
     @GetMapping("/{id}/total-spent")
@@ -1,5 +1,6 @@
 package com.pawcare.hub.controller;
 
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.dto.PetDTO;
 import com.pawcare.hub.entity.Pet;
 import com.pawcare.hub.service.PetService;
@@ -7,8 +8,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/pets")
@@ -17,17 +18,18 @@ public class PetController {
     @Autowired
     private PetService petService;
 
+    // Paged, see ListEndpoints; sortable by id, name, species, breed, dateOfBirth, createdAt
     @GetMapping
-    public List<PetDTO> getAllPets(@RequestHeader("x-clinic-code") String clinicCode, @RequestParam(required = false) Long ownerId) {
-        List<Pet> pets;
-        if (ownerId != null) {
-            pets = petService.getPetsByOwnerIdAndClinic(ownerId, clinicCode);
-        } else {
-            pets = petService.getAllPetsByClinic(clinicCode);
+    public ResponseEntity<?> getAllPets(@RequestHeader("x-clinic-code") String clinicCode,
+                                        @RequestParam(required = false) Long ownerId,
+                                        @RequestParam(required = false) String species,
+                                        @RequestParam(required = false) String search,
+                                        ListRequest request) {
+        try {
+            return ListEndpoints.ok(petService.listPets(clinicCode, ownerId, species, search, request).map(this::convertToDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
-        return pets.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
     }
 
     @GetMapping("/{id}")
@@ -1,11 +1,15 @@
 package com.pawcare.hub.controller;
 
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.Prescription;
 import com.pawcare.hub.repository.PrescriptionRepository;
+import com.pawcare.hub.service.DispensingService;
+import com.pawcare.hub.service.PrescriptionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -16,14 +20,29 @@ public class PrescriptionController {
     @Autowired
     private PrescriptionRepository prescriptionRepository;
 
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    @Autowired
+    private DispensingService dispensingService;
+
+    // Paged, see ListEndpoints; sortable by id, medicationName, prescribedDate, status, createdAt
     @GetMapping
-    public List<Prescription> getAllPrescriptions() {
-        return prescriptionRepository.findAll();
+    public ResponseEntity<?> getAllPrescriptions(@RequestParam(required = false) Long petId,
+                                                 @RequestParam(required = false) Long veterinarianId,
+                                                 @RequestParam(required = false) String status,
+                                                 ListRequest request) {
+        try {
+            return ListEndpoints.ok(prescriptionService.listPrescriptions(petId, veterinarianId,
+                ListEndpoints.parseEnum(Prescription.PrescriptionStatus.class, status), request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Prescription> getPrescriptionById(@PathVariable Long id) {
-        Optional<Prescription> prescription = prescriptionRepository.findById(id);
+        Optional<Prescription> prescription = prescriptionRepository.findScopedById(id);
         return prescription.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
@@ -34,20 +53,30 @@ public class PrescriptionController {
 
     @PutMapping("/{id}")
     public ResponseEntity<Prescription> updatePrescription(@PathVariable Long id, @RequestBody Prescription prescriptionDetails) {
-        Optional<Prescription> prescription = prescriptionRepository.findById(id);
+        Optional<Prescription> prescription = prescriptionRepository.findScopedById(id);
         if (prescription.isPresent()) {
             Prescription existing = prescription.get();
             existing.setStatus(prescriptionDetails.getStatus());
             existing.setRefillsRemaining(prescriptionDetails.getRefillsRemaining());
             existing.setNotes(prescriptionDetails.getNotes());
-            return ResponseEntity.ok(prescriptionRepository.save(existing));
+            if (prescriptionDetails.getInventoryItemId() != null) {
+                existing.setInventoryItemId(prescriptionDetails.getInventoryItemId());
+                existing.setQuantity(prescriptionDetails.getQuantity());
+            }
+            Prescription saved = prescriptionRepository.save(existing);
+            // Stock held for a cancelled prescription goes back to the shelf
+            if (saved.getStatus() == Prescription.PrescriptionStatus.CANCELLED) {
+                dispensingService.apply(DispensingService.Action.RELEASE, List.of(), List.of(id));
+            }
+            return ResponseEntity.ok(saved);
         }
         return ResponseEntity.notFound().build();
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePrescription(@PathVariable Long id) {
-        if (prescriptionRepository.findById(id).isPresent()) {
+        if (prescriptionRepository.findScopedById(id).isPresent()) {
+            dispensingService.apply(DispensingService.Action.RELEASE, List.of(), List.of(id));
             prescriptionRepository.deleteById(id);
             return ResponseEntity.ok().build();
         }
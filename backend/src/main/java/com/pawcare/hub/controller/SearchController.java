@@ -0,0 +1,32 @@
+package com.pawcare.hub.controller;
+
+import com.pawcare.hub.dto.QuickSearchResultDTO;
+import com.pawcare.hub.service.ClinicContextService;
+import com.pawcare.hub.service.QuickSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    @Autowired
+    private QuickSearchIndex quickSearchIndex;
+
+    @Autowired
+    private ClinicContextService clinicContextService;
+
+    // Typeahead for the reception desk: owners and pets of the current clinic, best matches first
+    @GetMapping("/quick")
+    public List<QuickSearchResultDTO> quickSearch(@RequestParam String q,
+                                                  @RequestParam(defaultValue = "10") int limit) {
+        return quickSearchIndex.search(clinicContextService.getClinicCode(), q, limit);
+    }
+
+    @GetMapping("/quick/stats")
+    public Map<String, Object> getQuickSearchStats() {
+        return quickSearchIndex.getStats(clinicContextService.getClinicCode());
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.pawcare.hub.controller;
 
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.dto.VaccinationDTO;
 import com.pawcare.hub.entity.Vaccination;
 import com.pawcare.hub.entity.Pet;
@@ -7,14 +8,18 @@ import com.pawcare.hub.entity.Veterinarian;
 import com.pawcare.hub.repository.VaccinationRepository;
 import com.pawcare.hub.repository.PetRepository;
 import com.pawcare.hub.repository.VeterinarianRepository;
+import com.pawcare.hub.service.ClinicContextService;
+import com.pawcare.hub.service.VaccinationService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.ArrayList;
 
 @RestController
 @RequestMapping("/api/vaccinations")
@@ -29,41 +34,54 @@ public class VaccinationController {
     
     @Autowired
     private VeterinarianRepository veterinarianRepository;
+    
+    @Autowired
+    private ClinicContextService clinicContextService;
+
+    @Autowired
+    private VaccinationService vaccinationService;
 
+    // Paged, see ListEndpoints; sortable by id, nextDueDate, administeredDate, vaccineType, status,
+    // createdAt. dueFrom and dueTo bound nextDueDate, both inclusive.
     @GetMapping
-    public ResponseEntity<List<VaccinationDTO>> getAllVaccinations() {
+    public ResponseEntity<?> getAllVaccinations(
+            @RequestParam(required = false) Long petId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            ListRequest request) {
         try {
-            List<Object[]> results = vaccinationRepository.findAllWithRelations();
-            List<VaccinationDTO> vaccinationDTOs = new ArrayList<>();
-            
-            for (Object[] row : results) {
-                VaccinationDTO dto = new VaccinationDTO();
-                dto.setId(((Number) row[0]).longValue());
-                dto.setPetId(row[1] != null ? ((Number) row[1]).longValue() : null);
-                dto.setVaccineType((String) row[2]);
-                dto.setAdministeredDate(row[3] != null ? ((java.sql.Date) row[3]).toLocalDate() : null);
-                dto.setNextDueDate(row[4] != null ? ((java.sql.Date) row[4]).toLocalDate() : null);
-                dto.setVeterinarianId(row[5] != null ? ((Number) row[5]).longValue() : null);
-                dto.setBatchNumber((String) row[6]);
-                dto.setNotes((String) row[7]);
-                dto.setStatus((String) row[8]);
-                dto.setCreatedAt(row[9] != null ? ((java.sql.Timestamp) row[9]).toLocalDateTime() : null);
-                dto.setUpdatedAt(row[10] != null ? ((java.sql.Timestamp) row[10]).toLocalDateTime() : null);
-                dto.setPetName((String) row[11]);
-                dto.setVeterinarianName((String) row[12]);
-                vaccinationDTOs.add(dto);
-            }
-            
-            return ResponseEntity.ok(vaccinationDTOs);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.ok(new ArrayList<>());
+            return ListEndpoints.ok(vaccinationService.listVaccinations(clinicContextService.getClinicCode(), petId,
+                ListEndpoints.parseEnum(Vaccination.VaccinationStatus.class, status), dueFrom, dueTo, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // The same filters without paging, as NDJSON in due date order. The body is written while it
+    // is read, so there is no Content-Length and a failure midway ends it early.
+    @GetMapping("/stream")
+    public void streamVaccinations(@RequestParam(required = false) Long petId,
+                                   @RequestParam(required = false) String status,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                   HttpServletResponse response) throws IOException {
+        Vaccination.VaccinationStatus vaccinationStatus;
+        try {
+            vaccinationStatus = ListEndpoints.parseEnum(Vaccination.VaccinationStatus.class, status);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
         }
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        vaccinationService.streamVaccinations(clinicContextService.getClinicCode(), petId, vaccinationStatus,
+            dueFrom, dueTo, response.getOutputStream());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Vaccination> getVaccinationById(@PathVariable Long id) {
-        Optional<Vaccination> vaccination = vaccinationRepository.findById(id);
+        Optional<Vaccination> vaccination = vaccinationRepository.findScopedById(id);
         return vaccination.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
@@ -73,7 +91,7 @@ public class VaccinationController {
             Vaccination vaccination = new Vaccination();
             
             // Set Pet
-            Optional<Pet> pet = petRepository.findById(request.getPetId());
+            Optional<Pet> pet = petRepository.findScopedById(request.getPetId());
             if (pet.isPresent()) {
                 vaccination.setPet(pet.get());
             } else {
@@ -81,7 +99,7 @@ public class VaccinationController {
             }
             
             // Set Veterinarian
-            Optional<Veterinarian> vet = veterinarianRepository.findById(request.getVeterinarianId());
+            Optional<Veterinarian> vet = veterinarianRepository.findScopedById(request.getVeterinarianId());
             if (vet.isPresent()) {
                 vaccination.setVeterinarian(vet.get());
             } else {
@@ -134,7 +152,7 @@ public class VaccinationController {
 
     @PutMapping("/{id}")
     public ResponseEntity<Vaccination> updateVaccination(@PathVariable Long id, @RequestBody Vaccination vaccinationDetails) {
-        Optional<Vaccination> vaccination = vaccinationRepository.findById(id);
+        Optional<Vaccination> vaccination = vaccinationRepository.findScopedById(id);
         if (vaccination.isPresent()) {
             Vaccination existing = vaccination.get();
             existing.setStatus(vaccinationDetails.getStatus());
@@ -149,7 +167,7 @@ public class VaccinationController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteVaccination(@PathVariable Long id) {
-        if (vaccinationRepository.findById(id).isPresent()) {
+        if (vaccinationRepository.findScopedById(id).isPresent()) {
             vaccinationRepository.deleteById(id);
             return ResponseEntity.ok().build();
         }
@@ -164,14 +182,14 @@ public class VaccinationController {
     @GetMapping("/due")
     public List<Vaccination> getDueVaccinations(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         LocalDate checkDate = date != null ? date : LocalDate.now();
-        return vaccinationRepository.findDueVaccinations(checkDate);
+        return vaccinationRepository.findDueVaccinations(clinicContextService.getClinicCode(), checkDate);
     }
 
     @GetMapping("/upcoming")
     public List<Vaccination> getUpcomingVaccinations(@RequestParam(defaultValue = "30") int daysAhead) {
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(daysAhead);
-        return vaccinationRepository.findUpcomingVaccinations(startDate, endDate);
+        return vaccinationRepository.findUpcomingVaccinations(clinicContextService.getClinicCode(), startDate, endDate);
     }
 
     private VaccinationDTO convertToDTO(Vaccination vaccination) {
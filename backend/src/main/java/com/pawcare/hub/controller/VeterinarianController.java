@@ -1,11 +1,13 @@
 package com.pawcare.hub.controller;
 
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.Veterinarian;
 import com.pawcare.hub.service.VeterinarianService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -16,9 +18,17 @@ public class VeterinarianController {
     @Autowired
     private VeterinarianService veterinarianService;
 
+    // Paged, see ListEndpoints; sortable by id, name, specialization, createdAt
     @GetMapping
-    public List<Veterinarian> getAllVeterinarians(@RequestHeader("x-clinic-code") String clinicCode) {
-        return veterinarianService.getAllVeterinariansByClinic(clinicCode);
+    public ResponseEntity<?> getAllVeterinarians(@RequestHeader("x-clinic-code") String clinicCode,
+                                                 @RequestParam(required = false) String specialization,
+                                                 @RequestParam(required = false) String search,
+                                                 ListRequest request) {
+        try {
+            return ListEndpoints.ok(veterinarianService.listVeterinarians(clinicCode, specialization, search, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,40 @@
+package com.pawcare.hub.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Opaque keyset position in the activity log: the (timestamp, id) of the last row a client saw
+public class ActivityCursor {
+
+    public static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    public static final ActivityCursor END = new ActivityCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public ActivityCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public static ActivityCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new ActivityCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                                      Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid activity cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+
+    public Long getId() { return id; }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.pawcare.hub.dto;
+
+import java.util.List;
+
+public class ActivityPageDTO {
+    private List<ActivityDTO> activities;
+    private String nextCursor;
+    
+    public ActivityPageDTO() {}
+    
+    public ActivityPageDTO(List<ActivityDTO> activities, String nextCursor) {
+        this.activities = activities;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and Setters
+    public List<ActivityDTO> getActivities() { return activities; }
+    public void setActivities(List<ActivityDTO> activities) { this.activities = activities; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
\ No newline at end of file
@@ -55,6 +55,31 @@ public class AppointmentDTO {
         }
     }
 
+    // Used by the constructor expressions in AppointmentRepository, which read these columns in one query
+    public AppointmentDTO(Long id, LocalDate date, LocalTime time, Integer duration, Appointment.AppointmentType type,
+                          Appointment.AppointmentStatus status, String notes, Long petId, String petName, String petSpecies,
+                          Long ownerId, String ownerFirstName, String ownerLastName, Long veterinarianId, String veterinarianName,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.date = date;
+        this.time = time;
+        this.duration = duration;
+        this.type = type != null ? type.toString() : "CHECKUP";
+        this.status = status != null ? status.toString() : "SCHEDULED";
+        this.notes = notes;
+        this.petId = petId;
+        this.petName = petName;
+        this.petSpecies = petSpecies;
+        this.ownerId = ownerId;
+        if (ownerId != null) {
+            this.ownerName = ownerFirstName + " " + ownerLastName;
+        }
+        this.veterinarianId = veterinarianId;
+        this.veterinarianName = veterinarianName;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,38 @@
+package com.pawcare.hub.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class AvailableSlotDTO {
+    private LocalDate date;
+    private LocalTime time;
+    private Integer duration;
+    private Long veterinarianId;
+    private String veterinarianName;
+
+    public AvailableSlotDTO() {}
+
+    public AvailableSlotDTO(LocalDate date, LocalTime time, Integer duration, Long veterinarianId, String veterinarianName) {
+        this.date = date;
+        this.time = time;
+        this.duration = duration;
+        this.veterinarianId = veterinarianId;
+        this.veterinarianName = veterinarianName;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public LocalTime getTime() { return time; }
+    public void setTime(LocalTime time) { this.time = time; }
+
+    public Integer getDuration() { return duration; }
+    public void setDuration(Integer duration) { this.duration = duration; }
+
+    public Long getVeterinarianId() { return veterinarianId; }
+    public void setVeterinarianId(Long veterinarianId) { this.veterinarianId = veterinarianId; }
+
+    public String getVeterinarianName() { return veterinarianName; }
+    public void setVeterinarianName(String veterinarianName) { this.veterinarianName = veterinarianName; }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.pawcare.hub.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DispenseRequest {
+    private List<Long> invoiceIds = new ArrayList<>();
+    private List<Long> prescriptionIds = new ArrayList<>();
+
+    public DispenseRequest() {}
+
+    public DispenseRequest(List<Long> invoiceIds, List<Long> prescriptionIds) {
+        this.invoiceIds = invoiceIds;
+        this.prescriptionIds = prescriptionIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getInvoiceIds() { return invoiceIds; }
+    public void setInvoiceIds(List<Long> invoiceIds) { this.invoiceIds = invoiceIds; }
+
+    public List<Long> getPrescriptionIds() { return prescriptionIds; }
+    public void setPrescriptionIds(List<Long> prescriptionIds) { this.prescriptionIds = prescriptionIds; }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.pawcare.hub.dto;
+
+import com.pawcare.hub.entity.InventoryItem;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DispenseResultDTO {
+    private String action;
+    private List<Line> lines = new ArrayList<>();
+    // The changed inventory items as left by the action
+    private List<InventoryItem> items = new ArrayList<>();
+
+    // One invoice or prescription's hold on an inventory item
+    public static class Line {
+        private String sourceType;
+        private Long sourceId;
+        private Long inventoryItemId;
+        private int quantity;
+        private String status;
+
+        public Line(String sourceType, Long sourceId, Long inventoryItemId, int quantity, String status) {
+            this.sourceType = sourceType;
+            this.sourceId = sourceId;
+            this.inventoryItemId = inventoryItemId;
+            this.quantity = quantity;
+            this.status = status;
+        }
+
+        // Getters and Setters
+        public String getSourceType() { return sourceType; }
+        public void setSourceType(String sourceType) { this.sourceType = sourceType; }
+        public Long getSourceId() { return sourceId; }
+        public void setSourceId(Long sourceId) { this.sourceId = sourceId; }
+        public Long getInventoryItemId() { return inventoryItemId; }
+        public void setInventoryItemId(Long inventoryItemId) { this.inventoryItemId = inventoryItemId; }
+        public int getQuantity() { return quantity; }
+        public void setQuantity(int quantity) { this.quantity = quantity; }
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+    }
+
+    public DispenseResultDTO() {}
+
+    public DispenseResultDTO(String action) {
+        this.action = action;
+    }
+
+    // Getters and Setters
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public List<Line> getLines() { return lines; }
+    public void setLines(List<Line> lines) { this.lines = lines; }
+
+    public List<InventoryItem> getItems() { return items; }
+    public void setItems(List<InventoryItem> items) { this.items = items; }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.pawcare.hub.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResultDTO {
+    private String entity;
+    private long imported;
+    private long rejected;
+    // The first rejected rows only, see import.max-reported-errors
+    private List<RowError> errors = new ArrayList<>();
+
+    public static class RowError {
+        private long line;
+        private String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    public ImportResultDTO() {}
+
+    public ImportResultDTO(String entity) {
+        this.entity = entity;
+    }
+
+    // Getters and Setters
+    public String getEntity() { return entity; }
+    public void setEntity(String entity) { this.entity = entity; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+}
\ No newline at end of file
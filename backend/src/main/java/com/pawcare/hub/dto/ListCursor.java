@@ -0,0 +1,52 @@
+package com.pawcare.hub.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque keyset position in a sorted list: the sort it was issued for and the (sort value, id)
+// of the last row a client saw. The value is kept as text and a null value stays null.
+public class ListCursor {
+
+    private final String property;
+    private final boolean descending;
+    private final String value;
+    private final Long id;
+
+    public ListCursor(String property, boolean descending, String value, Long id) {
+        this.property = property;
+        this.descending = descending;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static ListCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 4);
+            String value = parts[3].startsWith("=") ? parts[3].substring(1) : null;
+            if (value == null && !parts[3].equals("~")) {
+                throw new IllegalArgumentException();
+            }
+            return new ListCursor(parts[0], "desc".equals(parts[1]), value, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid list cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = property + "|" + (descending ? "desc" : "asc") + "|" + id + "|" + (value != null ? "=" + value : "~");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean matches(String property, boolean descending) {
+        return this.property.equals(property) && this.descending == descending;
+    }
+
+    public String getProperty() { return property; }
+
+    public boolean isDescending() { return descending; }
+
+    public String getValue() { return value; }
+
+    public Long getId() { return id; }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.pawcare.hub.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// One page of a list endpoint. The items are the response body; the cursor and the total
+// travel in headers so the body stays the plain JSON array clients already expect.
+public class ListPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private List<T> items;
+    private String nextCursor;
+    private Long total;
+
+    public ListPage() {}
+
+    public ListPage(List<T> items, String nextCursor, Long total) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    public <R> ListPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new ListPage<>(items.stream().map(mapper).collect(Collectors.toList()), nextCursor, total);
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    // Null on the last page
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    // Only counted when the request asked for it
+    public Long getTotal() { return total; }
+    public void setTotal(Long total) { this.total = total; }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.pawcare.hub.dto;
+
+// Paging and sorting query parameters shared by the list endpoints:
+// ?limit=100&sort=issueDate,desc&cursor=<X-Next-Cursor of the previous page>&includeTotal=true
+public class ListRequest {
+    private Integer limit;
+    private String sort;
+    private String cursor;
+    private boolean includeTotal;
+
+    public ListRequest() {}
+
+    // Getters and Setters
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
+
+    public String getSort() { return sort; }
+    public void setSort(String sort) { this.sort = sort; }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+
+    public boolean isIncludeTotal() { return includeTotal; }
+    public void setIncludeTotal(boolean includeTotal) { this.includeTotal = includeTotal; }
+}
\ No newline at end of file
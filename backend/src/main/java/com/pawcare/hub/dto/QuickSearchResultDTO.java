@@ -0,0 +1,35 @@
+package com.pawcare.hub.dto;
+
+public class QuickSearchResultDTO {
+    private String type;
+    private Long id;
+    private String label;
+    private String detail;
+    private Long ownerId;
+
+    public QuickSearchResultDTO() {}
+
+    public QuickSearchResultDTO(String type, Long id, String label, String detail, Long ownerId) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+        this.detail = detail;
+        this.ownerId = ownerId;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+
+    public String getDetail() { return detail; }
+    public void setDetail(String detail) { this.detail = detail; }
+
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.pawcare.hub.dto;
 
+import com.pawcare.hub.entity.Vaccination;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -21,6 +22,47 @@ public class VaccinationDTO {
     // Constructors
     public VaccinationDTO() {}
 
+    public VaccinationDTO(Vaccination vaccination) {
+        this.id = vaccination.getId();
+        this.vaccineType = vaccination.getVaccineType();
+        this.administeredDate = vaccination.getAdministeredDate();
+        this.nextDueDate = vaccination.getNextDueDate();
+        this.batchNumber = vaccination.getBatchNumber();
+        this.notes = vaccination.getNotes();
+        this.status = vaccination.getStatus() != null ? vaccination.getStatus().toString() : null;
+        this.createdAt = vaccination.getCreatedAt();
+        this.updatedAt = vaccination.getUpdatedAt();
+
+        if (vaccination.getPet() != null) {
+            this.petId = vaccination.getPet().getId();
+            this.petName = vaccination.getPet().getName();
+        }
+
+        if (vaccination.getVeterinarian() != null) {
+            this.veterinarianId = vaccination.getVeterinarian().getId();
+            this.veterinarianName = vaccination.getVeterinarian().getName();
+        }
+    }
+
+    // Used by the constructor expression in VaccinationService, which reads these columns in one query
+    public VaccinationDTO(Long id, Long petId, String petName, String vaccineType, LocalDate administeredDate,
+                          LocalDate nextDueDate, Long veterinarianId, String veterinarianName, String batchNumber,
+                          String notes, Vaccination.VaccinationStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.petId = petId;
+        this.petName = petName;
+        this.vaccineType = vaccineType;
+        this.administeredDate = administeredDate;
+        this.nextDueDate = nextDueDate;
+        this.veterinarianId = veterinarianId;
+        this.veterinarianName = veterinarianName;
+        this.batchNumber = batchNumber;
+        this.notes = notes;
+        this.status = status != null ? status.toString() : null;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
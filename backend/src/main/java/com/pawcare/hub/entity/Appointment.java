@@ -1,17 +1,23 @@
 package com.pawcare.hub.entity;
 
+import com.pawcare.hub.config.ClinicCodeEntityListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
 @Table(name = "appointments")
-public class Appointment {
+@EntityListeners(ClinicCodeEntityListener.class)
+@Filter(name = ClinicScoped.FILTER)
+public class Appointment implements ClinicScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_id_seq")
+    @SequenceGenerator(name = "appointments_id_seq", sequenceName = "appointments_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -51,6 +57,11 @@ public class Appointment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Date as last read from the database, so a reschedule can refresh the day it moved away from
+    @Transient
+    @JsonIgnore
+    private LocalDate loadedDate;
+
     public enum AppointmentType {
         CHECKUP, VACCINATION, SURGERY, GROOMING, EMERGENCY, FOLLOW_UP
     }
@@ -73,6 +84,11 @@ public class Appointment {
         updatedAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    protected void onLoad() {
+        loadedDate = date;
+    }
+
     // Constructors
     public Appointment() {}
 
@@ -120,4 +136,6 @@ public class Appointment {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDate getLoadedDate() { return loadedDate; }
 }
\ No newline at end of file
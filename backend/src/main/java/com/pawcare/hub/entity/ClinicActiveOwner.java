@@ -0,0 +1,47 @@
+package com.pawcare.hub.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// One row per owner seen in a clinic's appointments for a month; counting rows with
+// firstVisitDate <= day gives the distinct active clients month-to-date.
+@Entity
+@Table(name = "clinic_active_owners",
+       uniqueConstraints = @UniqueConstraint(name = "uk_clinic_active_owners_month_owner", columnNames = {"clinic_code", "month_start", "owner_id"}))
+public class ClinicActiveOwner {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "clinic_code", nullable = false, length = 20)
+    private String clinicCode;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "first_visit_date", nullable = false)
+    private LocalDate firstVisitDate;
+
+    // Constructors
+    public ClinicActiveOwner() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getClinicCode() { return clinicCode; }
+    public void setClinicCode(String clinicCode) { this.clinicCode = clinicCode; }
+
+    public LocalDate getMonthStart() { return monthStart; }
+    public void setMonthStart(LocalDate monthStart) { this.monthStart = monthStart; }
+
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+
+    public LocalDate getFirstVisitDate() { return firstVisitDate; }
+    public void setFirstVisitDate(LocalDate firstVisitDate) { this.firstVisitDate = firstVisitDate; }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.pawcare.hub.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "clinic_daily_stats",
+       uniqueConstraints = @UniqueConstraint(name = "uk_clinic_daily_stats_clinic_date", columnNames = {"clinic_code", "stat_date"}))
+public class ClinicDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "clinic_code", nullable = false, length = 20)
+    private String clinicCode;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "revenue_paid", nullable = false)
+    private BigDecimal revenuePaid = BigDecimal.ZERO;
+
+    @Column(name = "invoices_issued", nullable = false)
+    private Integer invoicesIssued = 0;
+
+    @Column(name = "appointments_total", nullable = false)
+    private Integer appointmentsTotal = 0;
+
+    @Column(name = "appointments_scheduled", nullable = false)
+    private Integer appointmentsScheduled = 0;
+
+    @Column(name = "appointments_checked_in", nullable = false)
+    private Integer appointmentsCheckedIn = 0;
+
+    @Column(name = "appointments_in_progress", nullable = false)
+    private Integer appointmentsInProgress = 0;
+
+    @Column(name = "appointments_completed", nullable = false)
+    private Integer appointmentsCompleted = 0;
+
+    @Column(name = "appointments_cancelled", nullable = false)
+    private Integer appointmentsCancelled = 0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ClinicDailyStats() {}
+
+    public ClinicDailyStats(String clinicCode, LocalDate statDate) {
+        this.clinicCode = clinicCode;
+        this.statDate = statDate;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getClinicCode() { return clinicCode; }
+    public void setClinicCode(String clinicCode) { this.clinicCode = clinicCode; }
+
+    public LocalDate getStatDate() { return statDate; }
+    public void setStatDate(LocalDate statDate) { this.statDate = statDate; }
+
+    public BigDecimal getRevenuePaid() { return revenuePaid; }
+    public void setRevenuePaid(BigDecimal revenuePaid) { this.revenuePaid = revenuePaid; }
+
+    public Integer getInvoicesIssued() { return invoicesIssued; }
+    public void setInvoicesIssued(Integer invoicesIssued) { this.invoicesIssued = invoicesIssued; }
+
+    public Integer getAppointmentsTotal() { return appointmentsTotal; }
+    public void setAppointmentsTotal(Integer appointmentsTotal) { this.appointmentsTotal = appointmentsTotal; }
+
+    public Integer getAppointmentsScheduled() { return appointmentsScheduled; }
+    public void setAppointmentsScheduled(Integer appointmentsScheduled) { this.appointmentsScheduled = appointmentsScheduled; }
+
+    public Integer getAppointmentsCheckedIn() { return appointmentsCheckedIn; }
+    public void setAppointmentsCheckedIn(Integer appointmentsCheckedIn) { this.appointmentsCheckedIn = appointmentsCheckedIn; }
+
+    public Integer getAppointmentsInProgress() { return appointmentsInProgress; }
+    public void setAppointmentsInProgress(Integer appointmentsInProgress) { this.appointmentsInProgress = appointmentsInProgress; }
+
+    public Integer getAppointmentsCompleted() { return appointmentsCompleted; }
+    public void setAppointmentsCompleted(Integer appointmentsCompleted) { this.appointmentsCompleted = appointmentsCompleted; }
+
+    public Integer getAppointmentsCancelled() { return appointmentsCancelled; }
+    public void setAppointmentsCancelled(Integer appointmentsCancelled) { this.appointmentsCancelled = appointmentsCancelled; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.pawcare.hub.entity;
+
+// Entities owned by a single clinic. ClinicCodeEntityListener stamps the current request's
+// clinic code on persist when none was set, and the clinic filter limits queries to that clinic.
+public interface ClinicScoped {
+    String FILTER = "clinicFilter";
+    String FILTER_PARAM = "clinicCode";
+
+    String getClinicCode();
+    void setClinicCode(String clinicCode);
+}
\ No newline at end of file
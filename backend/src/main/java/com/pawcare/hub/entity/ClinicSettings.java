@@ -8,7 +8,8 @@ import java.time.LocalTime;
 @Table(name = "clinic_settings")
 public class ClinicSettings {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clinic_settings_id_seq")
+    @SequenceGenerator(name = "clinic_settings_id_seq", sequenceName = "clinic_settings_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,85 @@
+package com.pawcare.hub.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// An open alert on an inventory item. Rows are written only by InventoryAlertService and
+// removed once the condition clears; stock and expiry are copied from the item at that time.
+@Entity
+@Immutable
+@Table(name = "inventory_alerts")
+@Filter(name = ClinicScoped.FILTER)
+public class InventoryAlert implements ClinicScoped {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "clinic_code", nullable = false, length = 20)
+    private String clinicCode;
+
+    @Column(name = "inventory_item_id", nullable = false)
+    private Long inventoryItemId;
+
+    @Column(name = "item_name")
+    private String itemName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AlertType type;
+
+    @Column(name = "current_stock")
+    private Integer currentStock;
+
+    @Column(name = "min_stock")
+    private Integer minStock;
+
+    @Column(name = "expiry_date")
+    private LocalDate expiryDate;
+
+    @Column(name = "raised_at", nullable = false)
+    private LocalDateTime raisedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum AlertType {
+        LOW_STOCK, OUT_OF_STOCK, EXPIRING, EXPIRED
+    }
+
+    // Constructors
+    public InventoryAlert() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getClinicCode() { return clinicCode; }
+    public void setClinicCode(String clinicCode) { this.clinicCode = clinicCode; }
+
+    public Long getInventoryItemId() { return inventoryItemId; }
+    public void setInventoryItemId(Long inventoryItemId) { this.inventoryItemId = inventoryItemId; }
+
+    public String getItemName() { return itemName; }
+    public void setItemName(String itemName) { this.itemName = itemName; }
+
+    public AlertType getType() { return type; }
+    public void setType(AlertType type) { this.type = type; }
+
+    public Integer getCurrentStock() { return currentStock; }
+    public void setCurrentStock(Integer currentStock) { this.currentStock = currentStock; }
+
+    public Integer getMinStock() { return minStock; }
+    public void setMinStock(Integer minStock) { this.minStock = minStock; }
+
+    public LocalDate getExpiryDate() { return expiryDate; }
+    public void setExpiryDate(LocalDate expiryDate) { this.expiryDate = expiryDate; }
+
+    public LocalDateTime getRaisedAt() { return raisedAt; }
+    public void setRaisedAt(LocalDateTime raisedAt) { this.raisedAt = raisedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
\ No newline at end of file
@@ -1,16 +1,22 @@
 package com.pawcare.hub.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pawcare.hub.config.ClinicCodeEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Filter;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "inventory_items")
-public class InventoryItem {
+@EntityListeners(ClinicCodeEntityListener.class)
+@Filter(name = ClinicScoped.FILTER)
+public class InventoryItem implements ClinicScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_items_id_seq")
+    @SequenceGenerator(name = "inventory_items_id_seq", sequenceName = "inventory_items_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -24,9 +30,15 @@ public class InventoryItem {
     @Column(unique = true)
     private String sku;
 
-    @Column(name = "current_stock")
+    // Changed only through StockService once the item exists
+    @Column(name = "current_stock", updatable = false)
     private Integer currentStock;
 
+    // Held for undispensed invoices and prescriptions, written only by DispensingService
+    @Column(name = "reserved_stock", insertable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer reservedStock = 0;
+
     @Column(name = "min_stock")
     private Integer minStock;
 
@@ -51,6 +63,7 @@ public class InventoryItem {
     private LocalDate lastRestocked;
 
     @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
     private StockStatus status;
 
     @Column(name = "created_at")
@@ -80,7 +93,6 @@ public class InventoryItem {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
-        updateStatus();
     }
 
     private void updateStatus() {
@@ -117,6 +129,13 @@ public class InventoryItem {
     public Integer getCurrentStock() { return currentStock; }
     public void setCurrentStock(Integer currentStock) { this.currentStock = currentStock; }
 
+    public Integer getReservedStock() { return reservedStock; }
+    public void setReservedStock(Integer reservedStock) { this.reservedStock = reservedStock; }
+
+    public Integer getAvailableStock() {
+        return (currentStock != null ? currentStock : 0) - (reservedStock != null ? reservedStock : 0);
+    }
+
     public Integer getMinStock() { return minStock; }
     public void setMinStock(Integer minStock) { this.minStock = minStock; }
 
@@ -1,8 +1,12 @@
 package com.pawcare.hub.entity;
 
+import com.pawcare.hub.config.ClinicCodeEntityListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Filter;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -10,9 +14,12 @@ import java.util.List;
 
 @Entity
 @Table(name = "invoices")
-public class Invoice {
+@EntityListeners(ClinicCodeEntityListener.class)
+@Filter(name = ClinicScoped.FILTER)
+public class Invoice implements ClinicScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoices_id_seq")
+    @SequenceGenerator(name = "invoices_id_seq", sequenceName = "invoices_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "invoice_number", unique = true)
@@ -55,6 +62,12 @@ public class Invoice {
     private BigDecimal discount;
     private BigDecimal total;
 
+    // Sum of the invoice's payments. Only PaymentRecordService changes it, in place and under a
+    // lock on the invoice row, so saving the entity never writes it.
+    @Column(name = "amount_paid", insertable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private BigDecimal amountPaid = BigDecimal.ZERO;
+
     @Enumerated(EnumType.STRING)
     private InvoiceStatus status;
 
@@ -73,6 +86,15 @@ public class Invoice {
     @Column(name = "clinic_code")
     private String clinicCode;
 
+    // Dates as last read from the database, so edits can refresh the days they moved away from
+    @Transient
+    @JsonIgnore
+    private LocalDate loadedIssueDate;
+
+    @Transient
+    @JsonIgnore
+    private LocalDate loadedPaidDate;
+
     public enum InvoiceStatus {
         DRAFT, SENT, PAID, OVERDUE, CANCELLED
     }
@@ -95,6 +117,12 @@ public class Invoice {
         updatedAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    protected void onLoad() {
+        loadedIssueDate = issueDate;
+        loadedPaidDate = paidDate;
+    }
+
     // Constructors
     public Invoice() {}
 
@@ -141,6 +169,13 @@ public class Invoice {
     public BigDecimal getTotal() { return total; }
     public void setTotal(BigDecimal total) { this.total = total; }
 
+    public BigDecimal getAmountPaid() { return amountPaid; }
+    public void setAmountPaid(BigDecimal amountPaid) { this.amountPaid = amountPaid; }
+
+    public BigDecimal getBalanceDue() {
+        return (total != null ? total : BigDecimal.ZERO).subtract(amountPaid != null ? amountPaid : BigDecimal.ZERO);
+    }
+
     public InvoiceStatus getStatus() { return status; }
     public void setStatus(InvoiceStatus status) { this.status = status; }
 
@@ -158,4 +193,8 @@ public class Invoice {
 
     public String getClinicCode() { return clinicCode; }
     public void setClinicCode(String clinicCode) { this.clinicCode = clinicCode; }
+
+    public LocalDate getLoadedIssueDate() { return loadedIssueDate; }
+
+    public LocalDate getLoadedPaidDate() { return loadedPaidDate; }
 }
\ No newline at end of file
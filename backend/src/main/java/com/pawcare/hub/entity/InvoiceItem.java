@@ -9,7 +9,8 @@ import java.math.BigDecimal;
 @Table(name = "invoice_items")
 public class InvoiceItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_items_id_seq")
+    @SequenceGenerator(name = "invoice_items_id_seq", sequenceName = "invoice_items_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,6 +31,10 @@ public class InvoiceItem {
 
     private BigDecimal total;
 
+    // Stock this line dispenses, see DispensingService
+    @Column(name = "inventory_item_id")
+    private Long inventoryItemId;
+
     public enum ItemCategory {
         CONSULTATION, PROCEDURE, MEDICATION, SUPPLIES, BOARDING, GROOMING, OTHER
     }
@@ -67,4 +72,7 @@ public class InvoiceItem {
 
     public BigDecimal getTotal() { return total; }
     public void setTotal(BigDecimal total) { this.total = total; }
+
+    public Long getInventoryItemId() { return inventoryItemId; }
+    public void setInventoryItemId(Long inventoryItemId) { this.inventoryItemId = inventoryItemId; }
 }
\ No newline at end of file
@@ -1,15 +1,20 @@
 package com.pawcare.hub.entity;
 
+import com.pawcare.hub.config.ClinicCodeEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "lab_tests")
-public class LabTest {
+@EntityListeners(ClinicCodeEntityListener.class)
+@Filter(name = ClinicScoped.FILTER)
+public class LabTest implements ClinicScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lab_tests_id_seq")
+    @SequenceGenerator(name = "lab_tests_id_seq", sequenceName = "lab_tests_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
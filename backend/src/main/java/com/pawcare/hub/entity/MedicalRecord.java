@@ -1,16 +1,21 @@
 package com.pawcare.hub.entity;
 
+import com.pawcare.hub.config.ClinicCodeEntityListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "medical_records")
-public class MedicalRecord {
+@EntityListeners(ClinicCodeEntityListener.class)
+@Filter(name = ClinicScoped.FILTER)
+public class MedicalRecord implements ClinicScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_records_id_seq")
+    @SequenceGenerator(name = "medical_records_id_seq", sequenceName = "medical_records_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.EAGER)
@@ -1,17 +1,22 @@
 package com.pawcare.hub.entity;
 
+import com.pawcare.hub.config.ClinicCodeEntityListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "owners")
-public class Owner {
+@EntityListeners(ClinicCodeEntityListener.class)
+@Filter(name = ClinicScoped.FILTER)
+public class Owner implements ClinicScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "owners_id_seq")
+    @SequenceGenerator(name = "owners_id_seq", sequenceName = "owners_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
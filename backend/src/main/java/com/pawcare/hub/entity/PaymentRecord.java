@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 @Table(name = "payment_records")
 public class PaymentRecord {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_records_id_seq")
+    @SequenceGenerator(name = "payment_records_id_seq", sequenceName = "payment_records_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,9 +15,11 @@ import java.util.List;
 @Entity
 @Table(name = "pets")
 @EntityListeners(ClinicCodeEntityListener.class)
-public class Pet {
+@Filter(name = ClinicScoped.FILTER)
+public class Pet implements ClinicScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pets_id_seq")
+    @SequenceGenerator(name = "pets_id_seq", sequenceName = "pets_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -1,15 +1,20 @@
 package com.pawcare.hub.entity;
 
+import com.pawcare.hub.config.ClinicCodeEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "prescriptions")
-public class Prescription {
+@EntityListeners(ClinicCodeEntityListener.class)
+@Filter(name = ClinicScoped.FILTER)
+public class Prescription implements ClinicScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prescriptions_id_seq")
+    @SequenceGenerator(name = "prescriptions_id_seq", sequenceName = "prescriptions_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,6 +44,12 @@ public class Prescription {
     @Column(name = "refills_remaining")
     private Integer refillsRemaining;
 
+    // Stock dispensed for the prescription, see DispensingService
+    @Column(name = "inventory_item_id")
+    private Long inventoryItemId;
+
+    private Integer quantity;
+
     private String notes;
 
     @Column(name = "created_at")
@@ -47,6 +58,9 @@ public class Prescription {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "clinic_code")
+    private String clinicCode;
+
     public enum PrescriptionStatus {
         ACTIVE, COMPLETED, CANCELLED
     }
@@ -102,6 +116,12 @@ public class Prescription {
     public Integer getRefillsRemaining() { return refillsRemaining; }
     public void setRefillsRemaining(Integer refillsRemaining) { this.refillsRemaining = refillsRemaining; }
 
+    public Long getInventoryItemId() { return inventoryItemId; }
+    public void setInventoryItemId(Long inventoryItemId) { this.inventoryItemId = inventoryItemId; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
 
@@ -110,4 +130,7 @@ public class Prescription {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public String getClinicCode() { return clinicCode; }
+    public void setClinicCode(String clinicCode) { this.clinicCode = clinicCode; }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.pawcare.hub.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDateTime;
+
+// One change to an inventory item's stock. Rows are only ever inserted, by StockService in the same
+// statement that changes the stock.
+@Entity
+@Immutable
+@Table(name = "stock_movements")
+@Filter(name = ClinicScoped.FILTER)
+public class StockMovement implements ClinicScoped {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "clinic_code", nullable = false, length = 20)
+    private String clinicCode;
+
+    @Column(name = "inventory_item_id", nullable = false)
+    private Long inventoryItemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MovementType type;
+
+    // Signed: negative for stock taken out
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "stock_after", nullable = false)
+    private Integer stockAfter;
+
+    private String reason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum MovementType {
+        STOCK_IN, STOCK_OUT, COUNT, DISPENSE
+    }
+
+    // Constructors
+    public StockMovement() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getClinicCode() { return clinicCode; }
+    public void setClinicCode(String clinicCode) { this.clinicCode = clinicCode; }
+
+    public Long getInventoryItemId() { return inventoryItemId; }
+    public void setInventoryItemId(Long inventoryItemId) { this.inventoryItemId = inventoryItemId; }
+
+    public MovementType getType() { return type; }
+    public void setType(MovementType type) { this.type = type; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public Integer getStockAfter() { return stockAfter; }
+    public void setStockAfter(Integer stockAfter) { this.stockAfter = stockAfter; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
\ No newline at end of file
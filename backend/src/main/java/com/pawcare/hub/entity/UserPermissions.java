@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 @Table(name = "user_permissions")
 public class UserPermissions {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_permissions_id_seq")
+    @SequenceGenerator(name = "user_permissions_id_seq", sequenceName = "user_permissions_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
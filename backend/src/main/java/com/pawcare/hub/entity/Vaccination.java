@@ -1,17 +1,22 @@
 package com.pawcare.hub.entity;
 
+import com.pawcare.hub.config.ClinicCodeEntityListener;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "vaccinations")
-public class Vaccination {
+@EntityListeners(ClinicCodeEntityListener.class)
+@Filter(name = ClinicScoped.FILTER)
+public class Vaccination implements ClinicScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vaccinations_id_seq")
+    @SequenceGenerator(name = "vaccinations_id_seq", sequenceName = "vaccinations_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -49,6 +54,9 @@ public class Vaccination {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "clinic_code")
+    private String clinicCode;
+
     public enum VaccinationStatus {
         SCHEDULED, ADMINISTERED, OVERDUE
     }
@@ -103,4 +111,7 @@ public class Vaccination {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public String getClinicCode() { return clinicCode; }
+    public void setClinicCode(String clinicCode) { this.clinicCode = clinicCode; }
 }
\ No newline at end of file
@@ -1,17 +1,22 @@
 package com.pawcare.hub.entity;
 
+import com.pawcare.hub.config.ClinicCodeEntityListener;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "veterinarians")
-public class Veterinarian {
+@EntityListeners(ClinicCodeEntityListener.class)
+@Filter(name = ClinicScoped.FILTER)
+public class Veterinarian implements ClinicScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "veterinarians_id_seq")
+    @SequenceGenerator(name = "veterinarians_id_seq", sequenceName = "veterinarians_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -0,0 +1,8 @@
+// Enabled per session by ClinicFilterAspect with the clinic of the current request
+@FilterDef(name = ClinicScoped.FILTER,
+           parameters = @ParamDef(name = ClinicScoped.FILTER_PARAM, type = String.class),
+           defaultCondition = "clinic_code = :" + ClinicScoped.FILTER_PARAM)
+package com.pawcare.hub.entity;
+
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
\ No newline at end of file
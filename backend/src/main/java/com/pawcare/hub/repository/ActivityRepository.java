@@ -12,13 +12,27 @@ import java.util.List;
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
     
-    List<Activity> findByEntityTypeAndEntityIdOrderByTimestampDesc(String entityType, Long entityId);
+    List<Activity> findByEntityTypeAndEntityIdOrderByTimestampDescIdDesc(String entityType, Long entityId);
     
-    List<Activity> findByUserIdOrderByTimestampDesc(String userId);
+    List<Activity> findByUserIdOrderByTimestampDescIdDesc(String userId);
     
-    @Query("SELECT a FROM Activity a WHERE a.timestamp >= :since ORDER BY a.timestamp DESC")
+    @Query("SELECT a FROM Activity a WHERE a.timestamp >= :since ORDER BY a.timestamp DESC, a.id DESC")
     List<Activity> findRecentActivities(@Param("since") LocalDateTime since, Pageable pageable);
     
-    @Query("SELECT a FROM Activity a ORDER BY a.timestamp DESC")
+    @Query("SELECT a FROM Activity a ORDER BY a.timestamp DESC, a.id DESC")
     List<Activity> findAllOrderByTimestampDesc(Pageable pageable);
+    
+    // Keyset pages: everything strictly before the (timestamp, id) cursor and not older than since.
+    // The plain timestamp bounds let PostgreSQL prune partitions outside the window.
+    @Query("SELECT a FROM Activity a WHERE (a.timestamp < :beforeTimestamp OR (a.timestamp = :beforeTimestamp AND a.id < :beforeId)) " +
+           "AND a.timestamp <= :beforeTimestamp AND a.timestamp >= :since ORDER BY a.timestamp DESC, a.id DESC")
+    List<Activity> findPageBefore(@Param("beforeTimestamp") LocalDateTime beforeTimestamp, @Param("beforeId") Long beforeId,
+                                  @Param("since") LocalDateTime since, Pageable pageable);
+    
+    @Query("SELECT a FROM Activity a WHERE a.entityType = :entityType AND a.entityId = :entityId " +
+           "AND (a.timestamp < :beforeTimestamp OR (a.timestamp = :beforeTimestamp AND a.id < :beforeId)) " +
+           "AND a.timestamp <= :beforeTimestamp AND a.timestamp >= :since ORDER BY a.timestamp DESC, a.id DESC")
+    List<Activity> findEntityPageBefore(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                        @Param("beforeTimestamp") LocalDateTime beforeTimestamp, @Param("beforeId") Long beforeId,
+                                        @Param("since") LocalDateTime since, Pageable pageable);
 }
\ No newline at end of file
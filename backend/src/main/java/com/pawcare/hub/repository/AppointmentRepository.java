@@ -1,7 +1,9 @@
 package com.pawcare.hub.repository;
 
+import com.pawcare.hub.dto.AppointmentDTO;
 import com.pawcare.hub.entity.Appointment;
 import com.pawcare.hub.entity.Appointment.AppointmentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,20 +13,57 @@ import java.util.List;
 @Repository
 public interface AppointmentRepository extends BaseClinicRepository<Appointment, Long> {
     
-    List<Appointment> findByPetIdAndClinicCode(Long petId, String clinicCode);
+    // Read model for list views: the AppointmentDTO columns of the appointment, its pet, owner and vet
+    // in one statement, instead of a query per lazy pet and vet and per eager owner
+    String DTO_SELECT = "SELECT new com.pawcare.hub.dto.AppointmentDTO(a.id, a.date, a.time, a.duration, a.type, a.status, " +
+           "a.notes, p.id, p.name, p.species, o.id, o.firstName, o.lastName, v.id, v.name, a.createdAt, a.updatedAt) " +
+           "FROM Appointment a LEFT JOIN a.pet p LEFT JOIN p.owner o LEFT JOIN a.veterinarian v ";
     
-    @Query("SELECT a FROM Appointment a WHERE a.pet.owner.id = :ownerId AND a.clinicCode = :clinicCode")
-    List<Appointment> findByPetOwnerIdAndClinicCode(@Param("ownerId") Long ownerId, @Param("clinicCode") String clinicCode);
+    @Query(DTO_SELECT + "WHERE a.clinicCode = :clinicCode")
+    List<AppointmentDTO> findDTOsByClinicCode(@Param("clinicCode") String clinicCode);
+    
+    @Query(DTO_SELECT + "WHERE p.id = :petId AND a.clinicCode = :clinicCode")
+    List<AppointmentDTO> findDTOsByPetIdAndClinicCode(@Param("petId") Long petId, @Param("clinicCode") String clinicCode);
+    
+    @Query(DTO_SELECT + "WHERE o.id = :ownerId AND a.clinicCode = :clinicCode")
+    List<AppointmentDTO> findDTOsByPetOwnerIdAndClinicCode(@Param("ownerId") Long ownerId, @Param("clinicCode") String clinicCode);
     
     List<Appointment> findByStatusAndClinicCode(AppointmentStatus status, String clinicCode);
     
     List<Appointment> findByVeterinarianIdAndClinicCode(Long veterinarianId, String clinicCode);
     
-    List<Appointment> findByDateAndClinicCode(LocalDate date, String clinicCode);
+    @Query(DTO_SELECT + "WHERE a.date = :date AND a.clinicCode = :clinicCode")
+    List<AppointmentDTO> findDTOsByDateAndClinicCode(@Param("date") LocalDate date, @Param("clinicCode") String clinicCode);
+    
+    @Query(DTO_SELECT + "WHERE a.date BETWEEN :start AND :end AND a.clinicCode = :clinicCode")
+    List<AppointmentDTO> findDTOsByDateBetweenAndClinicCode(@Param("start") LocalDate start, @Param("end") LocalDate end, @Param("clinicCode") String clinicCode);
+    
+    @Query(DTO_SELECT + "WHERE a.date >= :date AND a.clinicCode = :clinicCode ORDER BY a.date ASC, a.time ASC")
+    List<AppointmentDTO> findUpcomingDTOsByClinicCode(@Param("date") LocalDate date, @Param("clinicCode") String clinicCode);
+    
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.pet p JOIN FETCH p.owner WHERE a.date > :since AND a.clinicCode = :clinicCode ORDER BY a.date DESC")
+    List<Appointment> findRecentWithPetAndOwner(@Param("since") LocalDate since, @Param("clinicCode") String clinicCode, Pageable pageable);
+    
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.pet p JOIN FETCH p.owner WHERE a.date BETWEEN :start AND :end " +
+           "AND a.status NOT IN :excludedStatuses AND a.clinicCode = :clinicCode ORDER BY a.date ASC, a.time ASC")
+    List<Appointment> findUpcomingWithPetAndOwner(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                                  @Param("excludedStatuses") List<AppointmentStatus> excludedStatuses,
+                                                  @Param("clinicCode") String clinicCode, Pageable pageable);
     
-    @Query("SELECT a FROM Appointment a WHERE a.date BETWEEN :start AND :end AND a.clinicCode = :clinicCode")
-    List<Appointment> findByDateBetweenAndClinicCode(@Param("start") LocalDate start, @Param("end") LocalDate end, @Param("clinicCode") String clinicCode);
+    // Overlap of [startMinute, endMinute) with each appointment of the vet that day, in minutes since
+    // midnight so slots running up to or past midnight compare correctly
+    @Query(value = "SELECT a.* FROM appointments a WHERE a.veterinarian_id = :veterinarianId AND a.date = :date " +
+           "AND (a.status IS NULL OR a.status <> 'CANCELLED') " +
+           "AND (CAST(:excludeId AS bigint) IS NULL OR a.id <> :excludeId) " +
+           "AND EXTRACT(EPOCH FROM a.time) / 60 < :endMinute " +
+           "AND EXTRACT(EPOCH FROM a.time) / 60 + COALESCE(a.duration, :defaultDuration) > :startMinute " +
+           "ORDER BY a.time", nativeQuery = true)
+    List<Appointment> findOverlapping(@Param("veterinarianId") Long veterinarianId, @Param("date") LocalDate date,
+                                      @Param("startMinute") int startMinute, @Param("endMinute") int endMinute,
+                                      @Param("defaultDuration") int defaultDuration, @Param("excludeId") Long excludeId);
     
-    @Query("SELECT a FROM Appointment a WHERE a.date >= :date AND a.clinicCode = :clinicCode ORDER BY a.date ASC, a.time ASC")
-    List<Appointment> findUpcomingAppointmentsByClinicCode(@Param("date") LocalDate date, @Param("clinicCode") String clinicCode);
+    @Query("SELECT a.id, a.veterinarian.id, a.date, a.time, a.duration FROM Appointment a " +
+           "WHERE a.clinicCode = :clinicCode AND a.date BETWEEN :start AND :end AND (a.status IS NULL OR a.status <> :excluded)")
+    List<Object[]> findBookedSlots(@Param("clinicCode") String clinicCode, @Param("start") LocalDate start,
+                                   @Param("end") LocalDate end, @Param("excluded") AppointmentStatus excluded);
 }
\ No newline at end of file
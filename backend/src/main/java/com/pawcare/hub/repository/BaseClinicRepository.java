@@ -1,6 +1,7 @@
 package com.pawcare.hub.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
@@ -9,9 +10,13 @@ import java.util.List;
 import java.util.Optional;
 
 @NoRepositoryBean
-public interface BaseClinicRepository<T, ID> extends JpaRepository<T, ID> {
+public interface BaseClinicRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
     List<T> findByClinicCode(String clinicCode);
     
+    // findById bypasses Hibernate filters; as a query this one is limited to the current clinic
+    @Query("SELECT e FROM #{#entityName} e WHERE e.id = ?1")
+    Optional<T> findScopedById(ID id);
+    
     @Query("SELECT e FROM #{#entityName} e WHERE e.id = ?1 AND e.clinicCode = ?2")
     Optional<T> findByIdAndClinicCode(ID id, String clinicCode);
     
@@ -0,0 +1,65 @@
+package com.pawcare.hub.repository;
+
+import com.pawcare.hub.entity.ClinicActiveOwner;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ClinicActiveOwnerRepository extends JpaRepository<ClinicActiveOwner, Long> {
+
+    @Query("SELECT COUNT(o) FROM ClinicActiveOwner o WHERE o.clinicCode = :clinicCode AND o.monthStart = :monthStart AND o.firstVisitDate <= :asOf")
+    long countActiveOwners(@Param("clinicCode") String clinicCode, @Param("monthStart") LocalDate monthStart, @Param("asOf") LocalDate asOf);
+
+    // Returns [monthStart, count] pairs for every month in the window in one round trip
+    @Query("SELECT o.monthStart, COUNT(o) FROM ClinicActiveOwner o WHERE o.clinicCode = :clinicCode " +
+           "AND o.monthStart BETWEEN :fromMonth AND :toMonth AND o.firstVisitDate <= :asOf GROUP BY o.monthStart")
+    List<Object[]> countActiveOwnersByMonth(@Param("clinicCode") String clinicCode, @Param("fromMonth") LocalDate fromMonth,
+                                            @Param("toMonth") LocalDate toMonth, @Param("asOf") LocalDate asOf);
+
+    @Modifying
+    @Query("DELETE FROM ClinicActiveOwner o WHERE o.clinicCode = :clinicCode AND o.monthStart = :monthStart AND o.ownerId = :ownerId")
+    void deleteOwnerMonth(@Param("clinicCode") String clinicCode, @Param("monthStart") LocalDate monthStart, @Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query("DELETE FROM ClinicActiveOwner o WHERE o.clinicCode = :clinicCode AND o.monthStart = :monthStart")
+    void deleteMonth(@Param("clinicCode") String clinicCode, @Param("monthStart") LocalDate monthStart);
+
+    @Modifying
+    @Query(value = "INSERT INTO clinic_active_owners (clinic_code, month_start, owner_id, first_visit_date) " +
+           "SELECT :clinicCode, :monthStart, p.owner_id, MIN(a.date) " +
+           "FROM appointments a JOIN pets p ON p.id = a.pet_id " +
+           "WHERE a.clinic_code = :clinicCode AND a.date BETWEEN :monthStart AND :monthEnd AND p.owner_id = :ownerId " +
+           "GROUP BY p.owner_id " +
+           "ON CONFLICT (clinic_code, month_start, owner_id) DO UPDATE SET first_visit_date = EXCLUDED.first_visit_date",
+           nativeQuery = true)
+    void insertOwnerMonth(@Param("clinicCode") String clinicCode, @Param("monthStart") LocalDate monthStart,
+                          @Param("monthEnd") LocalDate monthEnd, @Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query(value = "INSERT INTO clinic_active_owners (clinic_code, month_start, owner_id, first_visit_date) " +
+           "SELECT :clinicCode, :monthStart, p.owner_id, MIN(a.date) " +
+           "FROM appointments a JOIN pets p ON p.id = a.pet_id " +
+           "WHERE a.clinic_code = :clinicCode AND a.date BETWEEN :monthStart AND :monthEnd " +
+           "GROUP BY p.owner_id " +
+           "ON CONFLICT (clinic_code, month_start, owner_id) DO UPDATE SET first_visit_date = EXCLUDED.first_visit_date",
+           nativeQuery = true)
+    void insertMonth(@Param("clinicCode") String clinicCode, @Param("monthStart") LocalDate monthStart, @Param("monthEnd") LocalDate monthEnd);
+
+    @Transactional
+    default void refreshOwnerMonth(String clinicCode, LocalDate monthStart, Long ownerId) {
+        deleteOwnerMonth(clinicCode, monthStart, ownerId);
+        insertOwnerMonth(clinicCode, monthStart, monthStart.plusMonths(1).minusDays(1), ownerId);
+    }
+
+    @Transactional
+    default void rebuildMonth(String clinicCode, LocalDate monthStart) {
+        deleteMonth(clinicCode, monthStart);
+        insertMonth(clinicCode, monthStart, monthStart.plusMonths(1).minusDays(1));
+    }
+}
\ No newline at end of file
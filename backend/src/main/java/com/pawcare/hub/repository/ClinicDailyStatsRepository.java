@@ -0,0 +1,67 @@
+package com.pawcare.hub.repository;
+
+import com.pawcare.hub.entity.ClinicDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ClinicDailyStatsRepository extends JpaRepository<ClinicDailyStats, Long> {
+
+    @Query("SELECT s FROM ClinicDailyStats s WHERE s.clinicCode = :clinicCode AND s.statDate BETWEEN :start AND :end ORDER BY s.statDate")
+    List<ClinicDailyStats> findByClinicCodeAndDateRange(@Param("clinicCode") String clinicCode, @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Recomputes every day in [start, end] with one grouped pass over invoices; days without
+    // invoices are written as zero so stale values are cleared.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO clinic_daily_stats (clinic_code, stat_date, revenue_paid, invoices_issued, " +
+           "appointments_total, appointments_scheduled, appointments_checked_in, appointments_in_progress, " +
+           "appointments_completed, appointments_cancelled, updated_at) " +
+           "SELECT :clinicCode, CAST(d.day AS date), COALESCE(paid.revenue, 0), COALESCE(issued.invoices, 0), " +
+           "0, 0, 0, 0, 0, 0, now() " +
+           "FROM generate_series(CAST(:start AS date), CAST(:end AS date), interval '1 day') AS d(day) " +
+           "LEFT JOIN (SELECT i.paid_date AS day, SUM(i.total) AS revenue FROM invoices i " +
+           "           WHERE i.clinic_code = :clinicCode AND i.paid_date BETWEEN :start AND :end GROUP BY i.paid_date) paid " +
+           "       ON paid.day = CAST(d.day AS date) " +
+           "LEFT JOIN (SELECT i.issue_date AS day, COUNT(*) AS invoices FROM invoices i " +
+           "           WHERE i.clinic_code = :clinicCode AND i.issue_date BETWEEN :start AND :end GROUP BY i.issue_date) issued " +
+           "       ON issued.day = CAST(d.day AS date) " +
+           "ON CONFLICT (clinic_code, stat_date) DO UPDATE SET " +
+           "revenue_paid = EXCLUDED.revenue_paid, invoices_issued = EXCLUDED.invoices_issued, updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    void refreshInvoiceStats(@Param("clinicCode") String clinicCode, @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO clinic_daily_stats (clinic_code, stat_date, revenue_paid, invoices_issued, " +
+           "appointments_total, appointments_scheduled, appointments_checked_in, appointments_in_progress, " +
+           "appointments_completed, appointments_cancelled, updated_at) " +
+           "SELECT :clinicCode, CAST(d.day AS date), 0, 0, COALESCE(a.total, 0), COALESCE(a.scheduled, 0), " +
+           "COALESCE(a.checked_in, 0), COALESCE(a.in_progress, 0), COALESCE(a.completed, 0), COALESCE(a.cancelled, 0), now() " +
+           "FROM generate_series(CAST(:start AS date), CAST(:end AS date), interval '1 day') AS d(day) " +
+           "LEFT JOIN (SELECT ap.date AS day, COUNT(*) AS total, " +
+           "           COUNT(*) FILTER (WHERE ap.status = 'SCHEDULED') AS scheduled, " +
+           "           COUNT(*) FILTER (WHERE ap.status = 'CHECKED_IN') AS checked_in, " +
+           "           COUNT(*) FILTER (WHERE ap.status = 'IN_PROGRESS') AS in_progress, " +
+           "           COUNT(*) FILTER (WHERE ap.status = 'COMPLETED') AS completed, " +
+           "           COUNT(*) FILTER (WHERE ap.status = 'CANCELLED') AS cancelled " +
+           "           FROM appointments ap WHERE ap.clinic_code = :clinicCode AND ap.date BETWEEN :start AND :end " +
+           "           GROUP BY ap.date) a " +
+           "       ON a.day = CAST(d.day AS date) " +
+           "ON CONFLICT (clinic_code, stat_date) DO UPDATE SET " +
+           "appointments_total = EXCLUDED.appointments_total, " +
+           "appointments_scheduled = EXCLUDED.appointments_scheduled, " +
+           "appointments_checked_in = EXCLUDED.appointments_checked_in, " +
+           "appointments_in_progress = EXCLUDED.appointments_in_progress, " +
+           "appointments_completed = EXCLUDED.appointments_completed, " +
+           "appointments_cancelled = EXCLUDED.appointments_cancelled, " +
+           "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    void refreshAppointmentStats(@Param("clinicCode") String clinicCode, @Param("start") LocalDate start, @Param("end") LocalDate end);
+}
\ No newline at end of file
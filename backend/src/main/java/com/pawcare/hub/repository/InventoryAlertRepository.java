@@ -0,0 +1,17 @@
+package com.pawcare.hub.repository;
+
+import com.pawcare.hub.entity.InventoryAlert;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InventoryAlertRepository extends BaseClinicRepository<InventoryAlert, Long> {
+
+    @Query("SELECT a FROM InventoryAlert a WHERE a.clinicCode = ?1 AND a.type IN ?2 ORDER BY a.currentStock, a.id")
+    List<InventoryAlert> findByClinicCodeAndTypes(String clinicCode, Collection<InventoryAlert.AlertType> types);
+
+    @Query("SELECT COUNT(a) FROM InventoryAlert a WHERE a.clinicCode = ?1 AND a.type IN ?2")
+    long countByClinicCodeAndTypes(String clinicCode, Collection<InventoryAlert.AlertType> types);
+}
\ No newline at end of file
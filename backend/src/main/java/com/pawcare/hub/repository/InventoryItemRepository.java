@@ -1,39 +1,32 @@
 package com.pawcare.hub.repository;
 
+import com.pawcare.hub.entity.InventoryAlert;
 import com.pawcare.hub.entity.InventoryItem;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long> {
+public interface InventoryItemRepository extends BaseClinicRepository<InventoryItem, Long> {
     
     List<InventoryItem> findByCategory(InventoryItem.ItemCategory category);
-    List<InventoryItem> findByCategoryAndClinicCode(InventoryItem.ItemCategory category, String clinicCode);
     
     List<InventoryItem> findByStatus(InventoryItem.StockStatus status);
-    List<InventoryItem> findByStatusAndClinicCode(InventoryItem.StockStatus status, String clinicCode);
     
     List<InventoryItem> findByNameContainingIgnoreCase(String name);
-    List<InventoryItem> findByNameContainingIgnoreCaseAndClinicCode(String name, String clinicCode);
     
-    List<InventoryItem> findByClinicCode(String clinicCode);
+    @Query("SELECT i FROM InventoryItem i WHERE i.clinicCode = :clinicCode AND i.id IN " +
+           "(SELECT a.inventoryItemId FROM InventoryAlert a WHERE a.clinicCode = :clinicCode AND a.type IN :types)")
+    List<InventoryItem> findAlerted(@Param("clinicCode") String clinicCode,
+                                    @Param("types") Collection<InventoryAlert.AlertType> types, Sort sort);
     
-    @Query("SELECT i FROM InventoryItem i WHERE i.currentStock <= i.minStock")
-    List<InventoryItem> findLowStockItems();
-    
-    @Query("SELECT i FROM InventoryItem i WHERE i.currentStock <= i.minStock AND i.clinicCode = :clinicCode")
-    List<InventoryItem> findLowStockItemsByClinicCode(@Param("clinicCode") String clinicCode);
-    
-    @Query("SELECT i FROM InventoryItem i WHERE i.expiryDate <= :date")
-    List<InventoryItem> findExpiringItems(@Param("date") LocalDate date);
-    
-    @Query("SELECT i FROM InventoryItem i WHERE i.expiryDate <= :date AND i.clinicCode = :clinicCode")
-    List<InventoryItem> findExpiringItemsByClinicCode(@Param("date") LocalDate date, @Param("clinicCode") String clinicCode);
+    // Past the alert window; a range scan on (clinic_code, expiry_date)
+    @Query("SELECT i FROM InventoryItem i WHERE i.clinicCode = :clinicCode AND i.expiryDate <= :date ORDER BY i.expiryDate, i.id")
+    List<InventoryItem> findExpiringItems(@Param("clinicCode") String clinicCode, @Param("date") LocalDate date);
     
     InventoryItem findBySku(String sku);
-    InventoryItem findBySkuAndClinicCode(String sku, String clinicCode);
 }
\ No newline at end of file
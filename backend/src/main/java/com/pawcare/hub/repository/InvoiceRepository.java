@@ -1,39 +1,45 @@
 package com.pawcare.hub.repository;
 
 import com.pawcare.hub.entity.Invoice;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends BaseClinicRepository<Invoice, Long> {
     
     List<Invoice> findByStatus(Invoice.InvoiceStatus status);
-    List<Invoice> findByStatusAndClinicCode(Invoice.InvoiceStatus status, String clinicCode);
+
+    // Holds the invoice row until the transaction ends, so changes to its payments go one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Invoice i WHERE i.id = ?1")
+    Optional<Invoice> findScopedByIdForUpdate(Long id);
+
+    @Modifying
+    @Query("UPDATE Invoice i SET i.amountPaid = i.amountPaid + ?2 WHERE i.id = ?1")
+    int addToAmountPaid(Long id, BigDecimal amount);
+    long countByStatusAndClinicCode(Invoice.InvoiceStatus status, String clinicCode);
     
     List<Invoice> findByOwnerId(Long ownerId);
-    List<Invoice> findByOwnerIdAndClinicCode(Long ownerId, String clinicCode);
     
     List<Invoice> findByPetId(Long petId);
-    List<Invoice> findByPetIdAndClinicCode(Long petId, String clinicCode);
-    
-    List<Invoice> findByClinicCode(String clinicCode);
     
     @Query("SELECT i FROM Invoice i WHERE i.issueDate BETWEEN :startDate AND :endDate")
     List<Invoice> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT i FROM Invoice i WHERE i.issueDate BETWEEN :startDate AND :endDate AND i.clinicCode = :clinicCode")
-    List<Invoice> findByDateRangeAndClinicCode(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("clinicCode") String clinicCode);
-    
     @Query("SELECT i FROM Invoice i WHERE i.dueDate < :currentDate AND i.status != 'PAID'")
     List<Invoice> findOverdueInvoices(@Param("currentDate") LocalDate currentDate);
     
-    @Query("SELECT i FROM Invoice i WHERE i.dueDate < :currentDate AND i.status != 'PAID' AND i.clinicCode = :clinicCode")
-    List<Invoice> findOverdueInvoicesByClinicCode(@Param("currentDate") LocalDate currentDate, @Param("clinicCode") String clinicCode);
+    @Query("SELECT i FROM Invoice i JOIN FETCH i.pet JOIN FETCH i.owner WHERE i.issueDate > :since AND i.clinicCode = :clinicCode ORDER BY i.issueDate DESC")
+    List<Invoice> findRecentWithPetAndOwner(@Param("since") LocalDate since, @Param("clinicCode") String clinicCode, Pageable pageable);
     
     Invoice findByInvoiceNumber(String invoiceNumber);
-    Invoice findByInvoiceNumberAndClinicCode(String invoiceNumber, String clinicCode);
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.pawcare.hub.repository;
+
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.Locale;
+
+// Building blocks for the optional filters of the list endpoints. A filter whose value is absent
+// matches everything, so services can chain them without null checks. Paths may be dotted
+// ("owner.id"); a foreign key comparison like that does not join the owner table.
+public final class ListSpecifications {
+
+    private ListSpecifications() {}
+
+    public static <T> Specification<T> equal(String path, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(path(root, path), value);
+    }
+
+    // Inclusive range; either bound may be absent
+    public static <T, Y extends Comparable<? super Y>> Specification<T> between(String path, Y from, Y to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Y> value = path(root, path);
+            if (from == null) {
+                return cb.lessThanOrEqualTo(value, to);
+            }
+            return to == null ? cb.greaterThanOrEqualTo(value, from) : cb.between(value, from, to);
+        };
+    }
+
+    // Case-insensitive substring match on any of the given attributes
+    public static <T> Specification<T> contains(String text, String... paths) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + text.trim().toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> {
+            Predicate[] matches = new Predicate[paths.length];
+            for (int i = 0; i < paths.length; i++) {
+                matches[i] = cb.like(cb.lower(path(root, paths[i])), pattern, '\\');
+            }
+            return cb.or(matches);
+        };
+    }
+
+    // Loads a to-one association with the rows instead of one select per row. Skipped for the
+    // count query, which cannot fetch.
+    public static <T> Specification<T> fetch(String attribute) {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch(attribute, JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Y> Path<Y> path(From<?, ?> root, String path) {
+        Path<?> current = root;
+        for (String attribute : path.split("\\.")) {
+            current = current.get(attribute);
+        }
+        return (Path<Y>) current;
+    }
+}
\ No newline at end of file
@@ -1,20 +1,19 @@
 package com.pawcare.hub.repository;
 
 import com.pawcare.hub.entity.MedicalRecord;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
+public interface MedicalRecordRepository extends BaseClinicRepository<MedicalRecord, Long> {
     
     List<MedicalRecord> findByPetId(Long petId);
     
-    List<MedicalRecord> findByClinicCode(String clinicCode);
-    
     List<MedicalRecord> findByPetIdAndClinicCode(Long petId, String clinicCode);
     
     @Query("SELECT mr FROM MedicalRecord mr WHERE mr.pet.owner.id = :ownerId")
@@ -44,9 +43,35 @@ public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Lo
            "LOWER(mr.description) LIKE LOWER(CONCAT('%', :search, '%'))")
     List<MedicalRecord> searchByMultipleFields(@Param("search") String search);
     
-    @Query("SELECT mr FROM MedicalRecord mr WHERE mr.clinicCode = :clinicCode AND (" +
-           "LOWER(mr.pet.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(mr.title) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(mr.description) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<MedicalRecord> searchByMultipleFieldsAndClinicCode(@Param("search") String search, @Param("clinicCode") String clinicCode);
+    // Kept in line with V5__medical_record_search.sql
+    String SEARCH_VECTOR =
+        "setweight(to_tsvector('english', coalesce(p.name, '')), 'A') || " +
+        "setweight(to_tsvector('english', coalesce(mr.title, '')), 'A') || " +
+        "setweight(to_tsvector('english', coalesce(mr.description, '')), 'B')";
+
+    @Query(value = "SELECT mr.* FROM medical_records mr, to_tsquery('english', :query) q " +
+           "WHERE mr.clinic_code = :clinicCode AND mr.search_vector @@ q " +
+           "ORDER BY ts_rank_cd(mr.search_vector, q) DESC, mr.date DESC, mr.id DESC " +
+           "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<MedicalRecord> searchFullText(@Param("query") String query, @Param("clinicCode") String clinicCode,
+                                       @Param("limit") int limit, @Param("offset") int offset);
+
+    @Query(value = "SELECT count(*) FROM medical_records mr " +
+           "WHERE mr.clinic_code = :clinicCode AND mr.search_vector @@ to_tsquery('english', :query)",
+           nativeQuery = true)
+    long countFullText(@Param("query") String query, @Param("clinicCode") String clinicCode);
+
+    // Flushes first so the vector is built from the record or pet just saved in the same transaction
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE medical_records mr SET search_vector = " + SEARCH_VECTOR + " " +
+           "FROM pets p WHERE p.id = mr.pet_id AND mr.id = :id", nativeQuery = true)
+    int refreshSearchVector(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE medical_records mr SET search_vector = " + SEARCH_VECTOR + " " +
+           "FROM pets p WHERE p.id = mr.pet_id AND mr.pet_id = :petId", nativeQuery = true)
+    int refreshSearchVectorsForPet(@Param("petId") Long petId);
 }
\ No newline at end of file
@@ -18,4 +18,7 @@ public interface OwnerRepository extends BaseClinicRepository<Owner, Long> {
     
     @Query("SELECT o FROM Owner o WHERE (o.firstName LIKE %:name% OR o.lastName LIKE %:name%) AND o.clinicCode = :clinicCode")
     List<Owner> findByNameContainingAndClinicCode(@Param("name") String name, @Param("clinicCode") String clinicCode);
+    
+    @Query("SELECT o.id, o.firstName, o.lastName, o.email, o.phone, o.pid FROM Owner o WHERE o.clinicCode = :clinicCode")
+    List<Object[]> findSearchFieldsByClinicCode(@Param("clinicCode") String clinicCode);
 }
\ No newline at end of file
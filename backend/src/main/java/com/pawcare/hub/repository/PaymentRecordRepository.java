@@ -2,6 +2,7 @@ package com.pawcare.hub.repository;
 
 import com.pawcare.hub.entity.PaymentRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -21,4 +22,9 @@ public interface PaymentRecordRepository extends JpaRepository<PaymentRecord, Lo
     
     @Query("SELECT p FROM PaymentRecord p ORDER BY p.paidDate DESC")
     List<PaymentRecord> findAllOrderByPaidDateDesc();
+
+    // 0 when the record was already gone
+    @Modifying
+    @Query("DELETE FROM PaymentRecord p WHERE p.id = ?1")
+    int deletePaymentRecord(Long id);
 }
\ No newline at end of file
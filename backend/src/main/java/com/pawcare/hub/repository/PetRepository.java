@@ -1,9 +1,11 @@
 package com.pawcare.hub.repository;
 
 import com.pawcare.hub.entity.Pet;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,5 +22,13 @@ public interface PetRepository extends BaseClinicRepository<Pet, Long> {
     @Query("SELECT p FROM Pet p JOIN p.owner o WHERE o.lastName LIKE %:ownerName% AND p.clinicCode = :clinicCode")
     List<Pet> findByOwnerLastNameContainingAndClinicCode(@Param("ownerName") String ownerName, @Param("clinicCode") String clinicCode);
     
+    @Query("SELECT p.id, p.name, p.species, p.breed, p.microchipId, p.owner.id FROM Pet p WHERE p.clinicCode = :clinicCode")
+    List<Object[]> findSearchFieldsByClinicCode(@Param("clinicCode") String clinicCode);
+    
     Optional<Pet> findByMicrochipIdAndClinicCode(String microchipId, String clinicCode);
+    
+    long countByClinicCode(String clinicCode);
+    
+    @Query("SELECT p FROM Pet p JOIN FETCH p.owner WHERE p.createdAt >= :since AND p.clinicCode = :clinicCode ORDER BY p.createdAt DESC")
+    List<Pet> findRecentWithOwner(@Param("since") LocalDateTime since, @Param("clinicCode") String clinicCode, Pageable pageable);
 }
\ No newline at end of file
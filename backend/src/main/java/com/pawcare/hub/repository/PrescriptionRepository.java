@@ -1,14 +1,13 @@
 package com.pawcare.hub.repository;
 
 import com.pawcare.hub.entity.Prescription;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface PrescriptionRepository extends JpaRepository<Prescription, Long> {
+public interface PrescriptionRepository extends BaseClinicRepository<Prescription, Long> {
     
     List<Prescription> findByPetId(Long petId);
     
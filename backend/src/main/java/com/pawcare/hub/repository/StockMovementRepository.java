@@ -0,0 +1,8 @@
+package com.pawcare.hub.repository;
+
+import com.pawcare.hub.entity.StockMovement;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockMovementRepository extends BaseClinicRepository<StockMovement, Long> {
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.pawcare.hub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+// Maintains the monthly partitions of the activities table (see V3__partition_activities.sql):
+// creates upcoming months ahead of time and drops months older than the retention period.
+@Service
+public class ActivityPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityPartitionService.class);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${activity.partitions.months-ahead:2}")
+    private int monthsAhead;
+
+    @Value("${activity.retention.months:12}")
+    private int retentionMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${activity.partitions.cron:0 15 2 * * *}")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+        if (retentionMonths > 0) {
+            dropPartitionsBefore(current.minusMonths(retentionMonths));
+        }
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+            "WHERE c.relname = 'activities' AND c.relnamespace = 'public'::regnamespace", Integer.class);
+        return count != null && count > 0;
+    }
+
+    private void createPartition(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) +
+                " PARTITION OF activities FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        } catch (RuntimeException e) {
+            // Usually rows for this month already landed in activities_default
+            logger.error("Could not create activity partition for {}", month, e);
+        }
+    }
+
+    private void dropPartitionsBefore(YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'activities' AND c.relname ~ '^activities_[0-9]{4}_[0-9]{2}$'",
+            String.class);
+        String cutoff = partitionName(oldestKept);
+        for (String partition : partitions) {
+            // Names sort chronologically, so anything before the cutoff is past retention
+            if (partition.compareTo(cutoff) < 0) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                logger.info("Dropped expired activity partition {}", partition);
+            }
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "activities_" + month.format(PARTITION_SUFFIX);
+    }
+}
\ No newline at end of file
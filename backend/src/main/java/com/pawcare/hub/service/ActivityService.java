@@ -1,5 +1,7 @@
 package com.pawcare.hub.service;
 
+import com.pawcare.hub.dto.ActivityCursor;
+import com.pawcare.hub.dto.ActivityDTO;
 import com.pawcare.hub.entity.Activity;
 import com.pawcare.hub.repository.ActivityRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,16 +16,33 @@ public class ActivityService {
     @Autowired
     private ActivityRepository activityRepository;
     
+    @Autowired
+    private ActivityWriter activityWriter;
+    
+    @Autowired
+    private ActivityStreamHub activityStreamHub;
+    
+    @Autowired
+    private ClinicContextService clinicContextService;
+    
+    // Activities are written asynchronously in batches, so the returned activity has no id yet
     public Activity logActivity(String action, String entityType, Long entityId, String entityName, String description) {
         Activity activity = new Activity(action, entityType, entityId, entityName, description);
-        return activityRepository.save(activity);
+        submit(activity);
+        return activity;
     }
     
     public Activity logActivity(String action, String entityType, Long entityId, String entityName, String description, String userId, String userName) {
         Activity activity = new Activity(action, entityType, entityId, entityName, description);
         activity.setUserId(userId);
         activity.setUserName(userName);
-        return activityRepository.save(activity);
+        submit(activity);
+        return activity;
+    }
+    
+    private void submit(Activity activity) {
+        activityWriter.submit(activity);
+        activityStreamHub.publish(clinicContextService.getClinicCode(), ActivityStreamHub.ACTIVITY_APPENDED, new ActivityDTO(activity));
     }
     
     public List<Activity> getRecentActivities(int limit) {
@@ -35,10 +54,22 @@ public class ActivityService {
     }
     
     public List<Activity> getActivitiesForEntity(String entityType, Long entityId) {
-        return activityRepository.findByEntityTypeAndEntityIdOrderByTimestampDesc(entityType, entityId);
+        return activityRepository.findByEntityTypeAndEntityIdOrderByTimestampDescIdDesc(entityType, entityId);
     }
     
     public List<Activity> getActivitiesForUser(String userId) {
-        return activityRepository.findByUserIdOrderByTimestampDesc(userId);
+        return activityRepository.findByUserIdOrderByTimestampDescIdDesc(userId);
+    }
+    
+    // Newest first, starting strictly after the given cursor (null for the first page)
+    public List<Activity> getActivityPage(ActivityCursor cursor, LocalDateTime since, String entityType, Long entityId, int limit) {
+        LocalDateTime beforeTimestamp = cursor != null ? cursor.getTimestamp() : ActivityCursor.END.getTimestamp();
+        Long beforeId = cursor != null ? cursor.getId() : ActivityCursor.END.getId();
+        LocalDateTime from = since != null ? since : ActivityCursor.START;
+        PageRequest page = PageRequest.of(0, limit);
+        if (entityType != null && entityId != null) {
+            return activityRepository.findEntityPageBefore(entityType, entityId, beforeTimestamp, beforeId, from, page);
+        }
+        return activityRepository.findPageBefore(beforeTimestamp, beforeId, from, page);
     }
 }
\ No newline at end of file
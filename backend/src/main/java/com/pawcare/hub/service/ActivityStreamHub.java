@@ -0,0 +1,285 @@
+package com.pawcare.hub.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process fan-out of small change events to Server-Sent Events subscribers, grouped by clinic.
+// SseEmitter runs on servlet async support, so an idle connection holds a socket but no thread.
+// One dispatcher thread, fed through a bounded queue, only hands each event to the bounded queue
+// of every matching connection; a small pool of sender threads does the blocking writes, draining
+// one connection at a time so its events stay in order. A client that falls behind until its
+// queue overflows, or whose write hangs past the send timeout, is disconnected rather than
+// allowed to hold up the others; it reconnects and reloads through /api/activities.
+@Service
+public class ActivityStreamHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityStreamHub.class);
+
+    public static final String ACTIVITY_APPENDED = "activity";
+    public static final String APPOINTMENT_STATUS_CHANGED = "appointment-status";
+    public static final String STOCK_ADJUSTED = "stock-adjusted";
+    public static final String INVENTORY_ALERT = "inventory-alert";
+
+    private final Map<String, Set<Connection>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong disconnects = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+    private final AtomicLong stalled = new AtomicLong();
+
+    @Value("${activity.stream.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${activity.stream.max-connections:5000}")
+    private int maxConnections;
+
+    @Value("${activity.stream.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${activity.stream.connection-queue-capacity:1000}")
+    private int connectionQueueCapacity;
+
+    @Value("${activity.stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${activity.stream.send-timeout:PT10S}")
+    private Duration sendTimeout;
+
+    private ThreadPoolExecutor dispatcher;
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void start() {
+        // A full dispatcher queue rejects the event, which is then dropped and counted
+        dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> daemon(runnable, "activity-stream"));
+        // Holds at most one drain task per connection
+        AtomicInteger senderIds = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads,
+            runnable -> daemon(runnable, "activity-stream-sender-" + senderIds.incrementAndGet()));
+    }
+
+    // Returns null when the connection limit is reached. Every connection belongs to one clinic.
+    public SseEmitter subscribe(String clinicCode) {
+        if (clinicCode == null) {
+            throw new IllegalArgumentException("clinicCode is required");
+        }
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejected.incrementAndGet();
+            return null;
+        }
+        Connection connection = new Connection(clinicCode, new SseEmitter(timeout.toMillis()), connectionQueueCapacity);
+        // compute() keeps add and the empty-set removal in unsubscribe from racing
+        subscribers.compute(clinicCode, (code, set) -> {
+            Set<Connection> connectionSet = set != null ? set : ConcurrentHashMap.newKeySet();
+            connectionSet.add(connection);
+            return connectionSet;
+        });
+        Runnable remove = () -> unsubscribe(connection);
+        connection.emitter.onCompletion(remove);
+        connection.emitter.onTimeout(remove);
+        connection.emitter.onError(error -> remove.run());
+        enqueue(connection, SseEmitter.event().comment("connected").reconnectTime(5000), false);
+        return connection.emitter;
+    }
+
+    // Sends an event to the clinic's subscribers. Events without a clinic (raised outside a request)
+    // are not sent at all, since there is no telling whose they are.
+    // Inside a transaction the event goes out after commit, so clients never see rolled back changes.
+    public void publish(String clinicCode, String eventName, Object data) {
+        if (clinicCode == null || connections.get() == 0) {
+            return;
+        }
+        AfterCommit.run(() -> dispatch(() -> broadcast(clinicCode, eventName, data)));
+    }
+
+    // Keeps proxies from closing idle connections, detects clients that went away and
+    // disconnects those whose last write has been hanging for longer than the send timeout
+    @Scheduled(fixedDelayString = "${activity.stream.heartbeat-interval:PT20S}")
+    public void heartbeat() {
+        if (connections.get() == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        dispatch(() -> subscribers.values().forEach(set -> set.forEach(connection -> {
+            long since = connection.sendingSince;
+            if (since != 0 && now - since > sendTimeout.toNanos()) {
+                stalled.incrementAndGet();
+                logger.info("Activity stream client of clinic '{}' stalled, disconnecting", connection.clinicCode);
+                close(connection);
+            } else {
+                enqueue(connection, SseEmitter.event().comment("heartbeat"), false);
+            }
+        })));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("connections", connections.get());
+        stats.put("maxConnections", maxConnections);
+        stats.put("clinics", subscribers.size());
+        stats.put("published", published.get());
+        stats.put("delivered", delivered.get());
+        stats.put("disconnects", disconnects.get());
+        stats.put("rejected", rejected.get());
+        stats.put("dropped", dropped.get());
+        stats.put("overflows", overflows.get());
+        stats.put("stalled", stalled.get());
+        stats.put("dispatchQueued", dispatcher.getQueue().size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(connection -> connection.emitter.complete()));
+    }
+
+    private void broadcast(String clinicCode, String eventName, Object data) {
+        published.incrementAndGet();
+        String id = Long.toString(eventIds.incrementAndGet());
+        Set<Connection> set = subscribers.get(clinicCode);
+        if (set != null) {
+            set.forEach(connection -> enqueue(connection, SseEmitter.event().id(id).name(eventName).data(data), true));
+        }
+    }
+
+    // Never blocks: a connection whose queue is full is disconnected instead
+    private void enqueue(Connection connection, SseEmitter.SseEventBuilder event, boolean counted) {
+        if (connection.closed.get()) {
+            return;
+        }
+        if (!connection.queue.offer(new Outgoing(event, counted))) {
+            overflows.incrementAndGet();
+            logger.info("Activity stream client of clinic '{}' fell {} events behind, disconnecting",
+                connection.clinicCode, connectionQueueCapacity);
+            close(connection);
+            return;
+        }
+        if (connection.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(connection));
+            } catch (RejectedExecutionException e) {
+                connection.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Connection connection) {
+        while (true) {
+            Outgoing outgoing;
+            while (!connection.closed.get() && (outgoing = connection.queue.poll()) != null) {
+                connection.sendingSince = System.nanoTime();
+                try {
+                    connection.emitter.send(outgoing.event());
+                    if (outgoing.counted()) {
+                        delivered.incrementAndGet();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away
+                    close(connection);
+                } finally {
+                    connection.sendingSince = 0;
+                }
+            }
+            if (connection.closed.get()) {
+                // Completing releases the async request; draining stays set so nothing runs after this
+                connection.emitter.complete();
+                return;
+            }
+            connection.draining.set(false);
+            // An event queued after the last poll but before the flag was cleared is picked up here
+            if (connection.queue.isEmpty() || !connection.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    // The emitter is completed by the connection's drain task, after a stalled write if there is one,
+    // since completing waits for the write in progress
+    private void close(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        unsubscribe(connection);
+        connection.queue.clear();
+        if (connection.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(connection));
+            } catch (RejectedExecutionException e) {
+                connection.emitter.complete();
+            }
+        }
+    }
+
+    private void unsubscribe(Connection connection) {
+        subscribers.computeIfPresent(connection.clinicCode, (code, set) -> {
+            if (set.remove(connection)) {
+                connections.decrementAndGet();
+                disconnects.incrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            dropped.incrementAndGet();
+            logger.debug("Activity stream dispatch queue full or shut down, event dropped");
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private record Outgoing(SseEmitter.SseEventBuilder event, boolean counted) {}
+
+    private static final class Connection {
+        final String clinicCode;
+        final SseEmitter emitter;
+        final Queue<Outgoing> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() when the write in progress started, 0 when idle
+        volatile long sendingSince;
+
+        Connection(String clinicCode, SseEmitter emitter, int capacity) {
+            this.clinicCode = clinicCode;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
\ No newline at end of file
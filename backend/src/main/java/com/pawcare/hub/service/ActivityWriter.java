@@ -0,0 +1,194 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.entity.Activity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Writes audit activities off the request thread. Activities are queued in a bounded buffer and
+// a single flusher thread inserts them with JDBC batches, either when a batch fills up or when
+// the flush interval elapses. What happens when the buffer is full is set by the backpressure policy.
+@Service
+public class ActivityWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO activities (action, entity_type, entity_id, entity_name, " +
+        "description, user_id, user_name, timestamp, metadata) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum BackpressurePolicy {
+        // Wait up to block-timeout for space, then write on the caller so nothing is lost
+        BLOCK,
+        // Discard the activity and count it
+        DROP,
+        // Write on the caller immediately
+        CALLER_RUNS
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${activity.writer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${activity.writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${activity.writer.flush-interval:PT0.5S}")
+    private Duration flushInterval;
+
+    @Value("${activity.writer.backpressure:BLOCK}")
+    private BackpressurePolicy backpressure;
+
+    @Value("${activity.writer.block-timeout:PT1S}")
+    private Duration blockTimeout;
+
+    private BlockingQueue<Activity> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong callerWrites = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::runFlusher, "activity-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Activities logged inside a transaction are only queued once it commits, so a rollback
+    // does not leave an audit row for a write that never happened.
+    public void submit(Activity activity) {
+        AfterCommit.run(() -> enqueue(activity));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever the flusher did not get to is written here before the datasource goes away
+        List<Activity> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        while (!remaining.isEmpty()) {
+            List<Activity> batch = remaining.subList(0, Math.min(batchSize, remaining.size()));
+            writeBatch(new ArrayList<>(batch));
+            batch.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("backpressure", backpressure);
+        stats.put("enqueued", enqueued.get());
+        stats.put("written", written.get());
+        stats.put("batches", batches.get());
+        stats.put("dropped", dropped.get());
+        stats.put("callerWrites", callerWrites.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    private void enqueue(Activity activity) {
+        if (running && queue.offer(activity)) {
+            enqueued.incrementAndGet();
+            return;
+        }
+        switch (backpressure) {
+            case DROP -> dropped.incrementAndGet();
+            case CALLER_RUNS -> writeOnCaller(activity);
+            case BLOCK -> {
+                try {
+                    if (running && queue.offer(activity, blockTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                        enqueued.incrementAndGet();
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                writeOnCaller(activity);
+            }
+        }
+    }
+
+    private void writeOnCaller(Activity activity) {
+        callerWrites.incrementAndGet();
+        writeBatch(List.of(activity));
+    }
+
+    private void runFlusher() {
+        List<Activity> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Activity activity = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (activity == null) {
+                        break;
+                    }
+                    batch.add(activity);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: flush what we have, the rest is drained by shutdown()
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Activity> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, activity) -> {
+                ps.setString(1, activity.getAction());
+                ps.setString(2, activity.getEntityType());
+                ps.setObject(3, activity.getEntityId());
+                ps.setString(4, activity.getEntityName());
+                ps.setString(5, activity.getDescription());
+                ps.setString(6, activity.getUserId());
+                ps.setString(7, activity.getUserName());
+                ps.setTimestamp(8, Timestamp.valueOf(activity.getTimestamp()));
+                ps.setString(9, activity.getMetadata());
+            });
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            logger.error("Failed to write {} activities", batch.size(), e);
+        }
+    }
+}
\ No newline at end of file
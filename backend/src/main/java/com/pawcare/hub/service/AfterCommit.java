@@ -0,0 +1,25 @@
+package com.pawcare.hub.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Defers in-memory changes (caches, indexes, events) until the surrounding transaction commits,
+// so a rollback leaves no trace and concurrent readers never see uncommitted state. Outside a
+// transaction the action runs immediately.
+public final class AfterCommit {
+
+    private AfterCommit() {}
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.dto.AppointmentDTO;
+import java.util.List;
+
+// Carries DTOs rather than entities: the booking transaction has rolled back by the time this is
+// handled, which detaches the conflicting appointments and their lazy pet and vet
+public class AppointmentConflictException extends RuntimeException {
+
+    private final List<AppointmentDTO> conflicts;
+
+    public AppointmentConflictException(List<AppointmentDTO> conflicts) {
+        super("Veterinarian already has " + conflicts.size() + " appointment(s) in this time slot");
+        this.conflicts = conflicts;
+    }
+
+    public List<AppointmentDTO> getConflicts() {
+        return conflicts;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.dto.AppointmentDTO;
+import com.pawcare.hub.entity.Appointment;
+import com.pawcare.hub.entity.Appointment.AppointmentStatus;
+import com.pawcare.hub.repository.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Keeps a veterinarian's appointments from overlapping. Bookings for the same vet and day are
+// serialized with a transaction-scoped advisory lock, so the check and the insert cannot interleave
+// across threads or instances; bookings for other vets or days never wait on each other.
+// The overlap query only reads that vet-day through idx_appointments_veterinarian_date.
+@Service
+public class AppointmentScheduler {
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ClinicRegistry clinicRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Appointments without a duration take the clinic's default length
+    public List<Appointment> findConflicts(String clinicCode, Long veterinarianId, LocalDate date,
+                                           LocalTime time, Integer duration, Long excludeId) {
+        if (veterinarianId == null || date == null || time == null) {
+            return Collections.emptyList();
+        }
+        int defaultDuration = clinicRegistry.resolve(clinicCode).getAppointmentDuration();
+        int start = time.toSecondOfDay() / 60;
+        int end = start + (duration != null && duration > 0 ? duration : defaultDuration);
+        return appointmentRepository.findOverlapping(veterinarianId, date, start, end, defaultDuration, excludeId);
+    }
+
+    // Saves the appointment unless it overlaps another one of the same vet. Cancelled
+    // appointments free their slot and are saved without a check.
+    @Transactional
+    public Appointment book(Appointment appointment) {
+        if (appointment.getVeterinarian() != null && appointment.getStatus() != AppointmentStatus.CANCELLED) {
+            Long veterinarianId = appointment.getVeterinarian().getId();
+            lockVetDay(veterinarianId, appointment.getDate());
+            List<Appointment> conflicts = findConflicts(appointment.getClinicCode(), veterinarianId, appointment.getDate(),
+                appointment.getTime(), appointment.getDuration(), appointment.getId());
+            if (!conflicts.isEmpty()) {
+                throw new AppointmentConflictException(conflicts.stream().map(AppointmentDTO::new).collect(Collectors.toList()));
+            }
+        }
+        return appointmentRepository.save(appointment);
+    }
+
+    // Held until commit or rollback. A hash collision only makes two unrelated bookings wait for each other.
+    private void lockVetDay(Long veterinarianId, LocalDate date) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?))", rs -> {},
+            "appointment-slot:" + veterinarianId + ":" + date);
+    }
+}
\ No newline at end of file
@@ -4,13 +4,17 @@ import com.pawcare.hub.entity.Appointment;
 import com.pawcare.hub.entity.Pet;
 import com.pawcare.hub.entity.Veterinarian;
 import com.pawcare.hub.entity.Appointment.AppointmentStatus;
+import com.pawcare.hub.dto.AppointmentDTO;
+import com.pawcare.hub.dto.AvailableSlotDTO;
 import com.pawcare.hub.dto.CreateAppointmentRequest;
 import com.pawcare.hub.repository.AppointmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -30,10 +34,25 @@ public class AppointmentService {
     
     @Autowired
     private ClinicContextService clinicContextService;
+    
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private ActivityStreamHub activityStreamHub;
+
+    @Autowired
+    private AppointmentScheduler appointmentScheduler;
 
-    public List<Appointment> getAllAppointments() {
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    public List<AppointmentDTO> getAllAppointments() {
         String clinicCode = clinicContextService.getClinicCode();
-        return appointmentRepository.findByClinicCode(clinicCode);
+        return appointmentRepository.findDTOsByClinicCode(clinicCode);
     }
 
     public Optional<Appointment> getAppointmentById(Long id) {
@@ -45,10 +64,13 @@ public class AppointmentService {
         String clinicCode = clinicContextService.getClinicCode();
         appointment.setClinicCode(clinicCode);
         
-        Appointment saved = appointmentRepository.save(appointment);
+        Appointment saved = appointmentScheduler.book(appointment);
+        availabilityIndex.put(saved);
         String petName = saved.getPet() != null ? saved.getPet().getName() : "Unknown Pet";
         activityService.logActivity("UPDATE", "APPOINTMENT", saved.getId(), 
             "Appointment for " + petName, "Appointment updated");
+        dashboardRollupService.refreshForAppointment(saved);
+        dashboardCache.invalidate(saved.getClinicCode(), DashboardCache.DataSource.APPOINTMENTS);
         return saved;
     }
 
@@ -58,45 +80,74 @@ public class AppointmentService {
         if (appointment.isPresent()) {
             String petName = appointment.get().getPet() != null ? appointment.get().getPet().getName() : "Unknown Pet";
             appointmentRepository.deleteByIdAndClinicCode(id, clinicCode);
+            availabilityIndex.remove(clinicCode, id);
             activityService.logActivity("DELETE", "APPOINTMENT", id, 
                 "Appointment for " + petName, "Appointment cancelled");
+            dashboardRollupService.refreshForAppointment(appointment.get());
+            dashboardCache.invalidate(clinicCode, DashboardCache.DataSource.APPOINTMENTS);
         }
     }
 
-    public List<Appointment> getAppointmentsByPet(Long petId) {
+    public List<AppointmentDTO> getAppointmentsByPet(Long petId) {
+        String clinicCode = clinicContextService.getClinicCode();
+        return appointmentRepository.findDTOsByPetIdAndClinicCode(petId, clinicCode);
+    }
+
+    public List<AppointmentDTO> getAppointmentsByOwner(Long ownerId) {
+        String clinicCode = clinicContextService.getClinicCode();
+        return appointmentRepository.findDTOsByPetOwnerIdAndClinicCode(ownerId, clinicCode);
+    }
+
+    public List<AppointmentDTO> getUpcomingAppointments() {
         String clinicCode = clinicContextService.getClinicCode();
-        return appointmentRepository.findByPetIdAndClinicCode(petId, clinicCode);
+        return appointmentRepository.findUpcomingDTOsByClinicCode(LocalDate.now(), clinicCode);
     }
 
-    public List<Appointment> getAppointmentsByOwner(Long ownerId) {
+    public List<AppointmentDTO> getAppointmentsByDateRange(LocalDate start, LocalDate end) {
         String clinicCode = clinicContextService.getClinicCode();
-        return appointmentRepository.findByPetOwnerIdAndClinicCode(ownerId, clinicCode);
+        return appointmentRepository.findDTOsByDateBetweenAndClinicCode(start, end, clinicCode);
     }
 
-    public List<Appointment> getUpcomingAppointments() {
+    public List<AppointmentDTO> getAppointmentsByDate(LocalDate date) {
         String clinicCode = clinicContextService.getClinicCode();
-        return appointmentRepository.findUpcomingAppointmentsByClinicCode(LocalDate.now(), clinicCode);
+        return appointmentRepository.findDTOsByDateAndClinicCode(date, clinicCode);
     }
 
-    public List<Appointment> getAppointmentsByDateRange(LocalDate start, LocalDate end) {
+    public List<Appointment> findConflicts(Long veterinarianId, LocalDate date, LocalTime time, Integer duration, Long excludeId) {
         String clinicCode = clinicContextService.getClinicCode();
-        return appointmentRepository.findByDateBetweenAndClinicCode(start, end, clinicCode);
+        return appointmentScheduler.findConflicts(clinicCode, veterinarianId, date, time, duration, excludeId);
     }
 
-    public List<Appointment> getAppointmentsByDate(LocalDate date) {
+    public List<AvailableSlotDTO> findFreeSlots(LocalDate from, LocalDate to, Integer duration, Integer step,
+                                                Long veterinarianId, int limit) {
         String clinicCode = clinicContextService.getClinicCode();
-        return appointmentRepository.findByDateAndClinicCode(date, clinicCode);
+        int defaultDuration = clinicContextService.getClinicContext().getAppointmentDuration();
+        int length = duration != null && duration > 0 ? duration : defaultDuration;
+        int stride = step != null && step > 0 ? step : length;
+        return availabilityIndex.findFreeSlots(clinicCode, from, to, length, stride, veterinarianId, limit);
     }
 
     public Appointment updateAppointmentStatus(Long id, AppointmentStatus status) {
         String clinicCode = clinicContextService.getClinicCode();
         Optional<Appointment> appointment = appointmentRepository.findByIdAndClinicCode(id, clinicCode);
         if (appointment.isPresent()) {
+            // Only reopening a cancelled appointment takes its slot back; other status changes keep it
+            boolean reopened = appointment.get().getStatus() == AppointmentStatus.CANCELLED && status != AppointmentStatus.CANCELLED;
             appointment.get().setStatus(status);
-            Appointment saved = appointmentRepository.save(appointment.get());
+            Appointment saved = reopened ? appointmentScheduler.book(appointment.get()) : appointmentRepository.save(appointment.get());
+            availabilityIndex.put(saved);
             String petName = saved.getPet() != null ? saved.getPet().getName() : "Unknown Pet";
             activityService.logActivity("STATUS_UPDATE", "APPOINTMENT", saved.getId(), 
                 "Appointment for " + petName, "Status changed to " + status.toString().toLowerCase());
+            dashboardRollupService.refreshForAppointment(saved);
+            dashboardCache.invalidate(saved.getClinicCode(), DashboardCache.DataSource.APPOINTMENTS);
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("appointmentId", saved.getId());
+            event.put("status", saved.getStatus());
+            event.put("date", saved.getDate());
+            event.put("time", saved.getTime());
+            event.put("petName", petName);
+            activityStreamHub.publish(saved.getClinicCode(), ActivityStreamHub.APPOINTMENT_STATUS_CHANGED, event);
             return saved;
         }
         return null;
@@ -121,10 +172,13 @@ public class AppointmentService {
         appointment.setPet(pet);
         appointment.setVeterinarian(veterinarian);
         
-        Appointment saved = appointmentRepository.save(appointment);
+        Appointment saved = appointmentScheduler.book(appointment);
+        availabilityIndex.put(saved);
         String petName = pet != null ? pet.getName() : "Unknown Pet";
         activityService.logActivity("CREATE", "APPOINTMENT", saved.getId(), 
             "Appointment for " + petName, "New appointment scheduled");
+        dashboardRollupService.refreshForAppointment(saved);
+        dashboardCache.invalidate(saved.getClinicCode(), DashboardCache.DataSource.APPOINTMENTS);
         return saved;
     }
 }
\ No newline at end of file
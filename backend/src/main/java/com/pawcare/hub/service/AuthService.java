@@ -28,6 +28,9 @@ public class AuthService {
     
     @Autowired
     private ClinicContextService clinicContextService;
+    
+    @Autowired
+    private ClinicRegistry clinicRegistry;
 
     private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
@@ -91,12 +94,9 @@ public class AuthService {
             return clinicCode;
         }
         
-        // Fallback to database lookup
-        return clinicSettingsRepository.findAll()
-            .stream()
-            .findFirst()
-            .map(ClinicSettings::getClinicCode)
-            .orElse("00000000");
+        // Fallback to the default clinic
+        ClinicContext defaultClinic = clinicRegistry.getDefaultClinic();
+        return defaultClinic != null ? defaultClinic.getClinicCode() : "00000000";
     }
     
     public User signup(String clinicCode, String name, String email, String password, String role) {
@@ -0,0 +1,318 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.dto.AvailableSlotDTO;
+import com.pawcare.hub.entity.Appointment;
+import com.pawcare.hub.entity.Appointment.AppointmentStatus;
+import com.pawcare.hub.entity.Veterinarian;
+import com.pawcare.hub.repository.AppointmentRepository;
+import com.pawcare.hub.repository.VeterinarianRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// Occupancy of each veterinarian's day as a bitmap of 5-minute slots (288 bits in five longs),
+// derived from the non-cancelled appointments. Days are loaded per clinic the first time a query
+// covers them and kept current by AppointmentService writes; everything is dropped every
+// availability.refresh-interval to pick up writes from other instances. An appointment that runs
+// past midnight also occupies the start of the next day, so loading a day reads the bookings of
+// the day before as well. Answers are advisory: AppointmentScheduler still checks for overlaps
+// when the slot is actually booked.
+@Service
+public class AvailabilityIndex {
+
+    private static final int SLOT_MINUTES = 5;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int SLOTS_PER_DAY = MINUTES_PER_DAY / SLOT_MINUTES;
+    private static final int WORDS = (SLOTS_PER_DAY + 63) / 64;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRegistry clinicRegistry;
+
+    private final Map<String, ClinicOccupancy> clinics = new ConcurrentHashMap<>();
+
+    // Free slots within working hours from now on, earliest first and by vet id within a time.
+    // Candidate start times are spaced by step minutes from the start of working hours.
+    public List<AvailableSlotDTO> findFreeSlots(String clinicCode, LocalDate from, LocalDate to, int duration, int step,
+                                                Long veterinarianId, int limit) {
+        ClinicContext clinic = clinicRegistry.resolve(clinicCode);
+        int opens = clinic.getWorkingHoursStart().toSecondOfDay() / 60;
+        int closes = clinic.getWorkingHoursEnd().toSecondOfDay() / 60;
+        LocalDateTime now = LocalDateTime.now(clinic.getTimezone());
+        ClinicOccupancy occupancy = clinics.computeIfAbsent(clinicCode, code -> new ClinicOccupancy());
+        while (true) {
+            occupancy.load(clinicCode, from, to, clinic.getAppointmentDuration());
+            occupancy.lock.readLock().lock();
+            try {
+                if (occupancy.veterinarians == null || !occupancy.isLoaded(from, to)) {
+                    // Evicted between loading and reading
+                    continue;
+                }
+                List<AvailableSlotDTO> slots = new ArrayList<>();
+                for (LocalDate date = from; !date.isAfter(to) && slots.size() < limit; date = date.plusDays(1)) {
+                    if (date.isBefore(now.toLocalDate())) {
+                        continue;
+                    }
+                    Map<Long, VetDay> day = occupancy.days.get(date);
+                    int earliest = date.equals(now.toLocalDate()) ? now.toLocalTime().toSecondOfDay() / 60 + 1 : 0;
+                    for (int start = opens; start + duration <= closes && slots.size() < limit; start += step) {
+                        if (start < earliest) {
+                            continue;
+                        }
+                        int fromSlot = start / SLOT_MINUTES;
+                        int toSlot = ceilSlot(start + duration);
+                        for (Map.Entry<Long, String> vet : occupancy.veterinarians.entrySet()) {
+                            if (veterinarianId != null && !veterinarianId.equals(vet.getKey())) {
+                                continue;
+                            }
+                            VetDay vetDay = day.get(vet.getKey());
+                            if (vetDay == null || vetDay.isFree(fromSlot, toSlot)) {
+                                slots.add(new AvailableSlotDTO(date, LocalTime.ofSecondOfDay(start * 60L), duration, vet.getKey(), vet.getValue()));
+                                if (slots.size() >= limit) {
+                                    break;
+                                }
+                            }
+                        }
+                    }
+                }
+                return slots;
+            } finally {
+                occupancy.lock.readLock().unlock();
+            }
+        }
+    }
+
+    public void put(Appointment appointment) {
+        String clinicCode = appointment.getClinicCode();
+        Long id = appointment.getId();
+        if (appointment.getStatus() == AppointmentStatus.CANCELLED || appointment.getVeterinarian() == null) {
+            remove(clinicCode, id);
+            return;
+        }
+        Long veterinarianId = appointment.getVeterinarian().getId();
+        LocalDate date = appointment.getDate();
+        LocalTime time = appointment.getTime();
+        Integer duration = appointment.getDuration();
+        afterCommit(clinicCode, occupancy -> {
+            int length = duration != null && duration > 0 ? duration : clinicRegistry.resolve(clinicCode).getAppointmentDuration();
+            occupancy.put(id, veterinarianId, date, time, length);
+        });
+    }
+
+    public void remove(String clinicCode, Long appointmentId) {
+        afterCommit(clinicCode, occupancy -> occupancy.remove(appointmentId));
+    }
+
+    // A vet added or removed; the list is reloaded on the next query
+    public void veterinariansChanged(String clinicCode) {
+        afterCommit(clinicCode, occupancy -> {
+            occupancy.lock.writeLock().lock();
+            try {
+                occupancy.veterinarians = null;
+            } finally {
+                occupancy.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${availability.refresh-interval:PT5M}",
+               fixedDelayString = "${availability.refresh-interval:PT5M}")
+    public void evict() {
+        clinics.values().forEach(occupancy -> {
+            occupancy.lock.writeLock().lock();
+            try {
+                occupancy.days.clear();
+                occupancy.bookings.clear();
+                occupancy.veterinarians = null;
+            } finally {
+                occupancy.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void afterCommit(String clinicCode, Consumer<ClinicOccupancy> change) {
+        if (clinicCode == null) {
+            return;
+        }
+        Runnable apply = () -> {
+            ClinicOccupancy occupancy = clinics.get(clinicCode);
+            if (occupancy != null) {
+                change.accept(occupancy);
+            }
+        };
+        AfterCommit.run(apply);
+    }
+
+    private static int ceilSlot(int minute) {
+        return Math.min(SLOTS_PER_DAY, (minute + SLOT_MINUTES - 1) / SLOT_MINUTES);
+    }
+
+    private record Booking(LocalDate date, Long veterinarianId, int fromSlot, int toSlot) {}
+
+    private static final class VetDay {
+        private final Map<Long, Booking> bookings = new HashMap<>();
+        private final long[] bits = new long[WORDS];
+
+        // Rebuilt from the bookings rather than cleared bit by bit, so overlapping legacy
+        // appointments do not free each other's slots
+        void rebuild() {
+            Arrays.fill(bits, 0L);
+            for (Booking booking : bookings.values()) {
+                for (int slot = booking.fromSlot(); slot < booking.toSlot(); slot++) {
+                    bits[slot >>> 6] |= 1L << slot;
+                }
+            }
+        }
+
+        boolean isFree(int fromSlot, int toSlot) {
+            for (int word = fromSlot >>> 6; word <= (toSlot - 1) >>> 6; word++) {
+                long mask = -1L;
+                if (word == fromSlot >>> 6) {
+                    mask &= -1L << fromSlot;
+                }
+                if (word == (toSlot - 1) >>> 6) {
+                    mask &= -1L >>> (63 - ((toSlot - 1) & 63));
+                }
+                if ((bits[word] & mask) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final class ClinicOccupancy {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // Loaded days only: date -> vet id -> occupancy
+        private final Map<LocalDate, Map<Long, VetDay>> days = new HashMap<>();
+        // id -> one booking per day the appointment covers
+        private final Map<Long, List<Booking>> bookings = new HashMap<>();
+        // id -> name, in id order; null until loaded
+        private Map<Long, String> veterinarians;
+
+        // Loads under the write lock, so a write committed meanwhile is applied after the load
+        // instead of being skipped as "day not loaded"
+        void load(String clinicCode, LocalDate from, LocalDate to, int defaultDuration) {
+            lock.readLock().lock();
+            try {
+                if (veterinarians != null && isLoaded(from, to)) {
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            lock.writeLock().lock();
+            try {
+                if (veterinarians == null) {
+                    Map<Long, String> vets = new TreeMap<>();
+                    for (Veterinarian vet : veterinarianRepository.findByClinicCode(clinicCode)) {
+                        vets.put(vet.getId(), vet.getName());
+                    }
+                    veterinarians = vets;
+                }
+                LocalDate first = null;
+                LocalDate last = null;
+                for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                    if (!days.containsKey(date)) {
+                        first = first == null ? date : first;
+                        last = date;
+                    }
+                }
+                if (first == null) {
+                    return;
+                }
+                for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+                    days.putIfAbsent(date, new HashMap<>());
+                }
+                // From the day before, for appointments running past midnight into the first day
+                for (Object[] row : appointmentRepository.findBookedSlots(clinicCode, first.minusDays(1), last, AppointmentStatus.CANCELLED)) {
+                    Integer duration = (Integer) row[4];
+                    put((Long) row[0], (Long) row[1], (LocalDate) row[2], (LocalTime) row[3],
+                        duration != null && duration > 0 ? duration : defaultDuration);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private boolean isLoaded(LocalDate from, LocalDate to) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (!days.containsKey(date)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Split at midnight into one booking per day; only days that are loaded are marked
+        void put(Long id, Long veterinarianId, LocalDate date, LocalTime time, int duration) {
+            lock.writeLock().lock();
+            try {
+                remove(id);
+                if (date == null || veterinarianId == null || time == null) {
+                    return;
+                }
+                List<Booking> parts = new ArrayList<>();
+                int start = time.toSecondOfDay() / 60;
+                int end = start + duration;
+                for (int offset = 0; offset * MINUTES_PER_DAY < end; offset++) {
+                    LocalDate partDate = date.plusDays(offset);
+                    Map<Long, VetDay> day = days.get(partDate);
+                    if (day == null) {
+                        continue;
+                    }
+                    int dayStart = offset * MINUTES_PER_DAY;
+                    Booking booking = new Booking(partDate, veterinarianId,
+                        Math.max(start - dayStart, 0) / SLOT_MINUTES, ceilSlot(end - dayStart));
+                    VetDay vetDay = day.computeIfAbsent(veterinarianId, vet -> new VetDay());
+                    vetDay.bookings.put(id, booking);
+                    vetDay.rebuild();
+                    parts.add(booking);
+                }
+                if (!parts.isEmpty()) {
+                    bookings.put(id, parts);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                List<Booking> old = bookings.remove(id);
+                if (old == null) {
+                    return;
+                }
+                for (Booking booking : old) {
+                    Map<Long, VetDay> day = days.get(booking.date());
+                    VetDay vetDay = day != null ? day.get(booking.veterinarianId()) : null;
+                    if (vetDay != null) {
+                        vetDay.bookings.remove(id);
+                        vetDay.rebuild();
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
\ No newline at end of file
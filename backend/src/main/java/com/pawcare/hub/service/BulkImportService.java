@@ -0,0 +1,506 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.dto.ImportResultDTO;
+import com.pawcare.hub.entity.Appointment;
+import com.pawcare.hub.entity.MedicalRecord;
+import com.pawcare.hub.repository.MedicalRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Bulk import of owners, pets and historical appointments and medical records. Rows are validated
+// as they are read, references are resolved against maps loaded once per import (owner pid, pet
+// microchip, veterinarian email), and valid rows go in as JDBC batches of import.batch-size with
+// ids reserved from the table sequence up front. Each batch commits on its own; a batch the database
+// refuses is retried row by row so only the offending rows are rejected. The import is audited as
+// one activity, and the search index, availability and dashboard rollups are refreshed once at the end.
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClinicContextService clinicContextService;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private QuickSearchIndex quickSearchIndex;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Value("${import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public boolean supports(String entity) {
+        return List.of("owners", "pets", "appointments", "medical-records").contains(entity);
+    }
+
+    public ImportResultDTO importRows(String entity, ImportReader.Format format, InputStream in) throws IOException {
+        String clinicCode = clinicContextService.getClinicCode();
+        long start = System.currentTimeMillis();
+        Target target = switch (entity) {
+            case "owners" -> new OwnerTarget(clinicCode);
+            case "pets" -> new PetTarget(clinicCode);
+            case "appointments" -> new AppointmentTarget(clinicCode);
+            case "medical-records" -> new MedicalRecordTarget(clinicCode);
+            default -> throw new IllegalArgumentException("Unknown import: " + entity);
+        };
+
+        ImportResultDTO result = new ImportResultDTO(entity);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<ImportReader.Row> rows = new ArrayList<>(batchSize);
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        ImportReader reader = new ImportReader(in, format);
+        ImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            if (row.error() != null) {
+                reject(result, row.line(), row.error());
+                continue;
+            }
+            try {
+                batch.add(target.map(row));
+                rows.add(row);
+            } catch (IllegalArgumentException e) {
+                reject(result, row.line(), e.getMessage());
+                continue;
+            }
+            if (batch.size() >= batchSize) {
+                insert(target, transaction, rows, batch, result);
+                rows.clear();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(target, transaction, rows, batch, result);
+        }
+
+        if (result.getImported() > 0) {
+            target.finish();
+        }
+        // Audited once for the whole import, against the first row it created
+        activityService.logActivity("IMPORT", target.entityType, target.firstId != null ? target.firstId : 0L, "Bulk import",
+            "Imported " + result.getImported() + " " + entity + ", " + result.getRejected() + " rows rejected");
+        logger.info("Imported {} {} for clinic {} in {} ms, {} rows rejected",
+            result.getImported(), entity, clinicCode, System.currentTimeMillis() - start, result.getRejected());
+        return result;
+    }
+
+    private void insert(Target target, TransactionTemplate transaction, List<ImportReader.Row> rows,
+                        List<Object[]> batch, ImportResultDTO result) {
+        List<Long> ids = allocateIds(target, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i)[0] = ids.get(i);
+        }
+        try {
+            transaction.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(target.insertSql, batch);
+                target.inserted(ids);
+            });
+            target.created(ids.get(0));
+            result.setImported(result.getImported() + batch.size());
+        } catch (DataAccessException e) {
+            // Find the rows the database refused; the others still go in
+            for (int i = 0; i < batch.size(); i++) {
+                Object[] values = batch.get(i);
+                try {
+                    transaction.executeWithoutResult(status -> {
+                        jdbcTemplate.update(target.insertSql, values);
+                        target.inserted(List.of((Long) values[0]));
+                    });
+                    target.created((Long) values[0]);
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException rowError) {
+                    target.forget(values);
+                    reject(result, rows.get(i).line(), rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    // Takes ids the way Hibernate's pooled generator does, so both can draw from the same sequence:
+    // every value handed out is the last of the idStep ids it reserves
+    private List<Long> allocateIds(Target target, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (int) ((count - ids.size() + target.idStep - 1) / target.idStep);
+            for (Long last : jdbcTemplate.queryForList(
+                    "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)",
+                    Long.class, target.table, blocks)) {
+                // A new sequence starts at 1, below a full block
+                for (long id = Math.max(last - target.idStep + 1, 1); id <= last && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void reject(ImportResultDTO result, long line, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportResultDTO.RowError(line, message));
+        }
+    }
+
+    // One kind of row: its table, the INSERT whose first parameter is the id, and the mapping from
+    // a row to the remaining parameters. map throws IllegalArgumentException to reject a row.
+    private abstract class Target {
+        final String table;
+        final String entityType;
+        final String insertSql;
+        final String clinicCode;
+        final LocalDateTime now = LocalDateTime.now();
+        final long idStep;
+        Long firstId;
+
+        Target(String table, String entityType, String insertSql, String clinicCode) {
+            this.table = table;
+            this.entityType = entityType;
+            this.insertSql = insertSql;
+            this.clinicCode = clinicCode;
+            this.idStep = jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences " +
+                "WHERE schemaname || '.' || sequencename = pg_get_serial_sequence(?, 'id')", Long.class, table);
+        }
+
+        abstract Object[] map(ImportReader.Row row);
+
+        void created(Long id) {
+            if (firstId == null) {
+                firstId = id;
+            }
+        }
+
+        // Runs in the transaction that inserted the rows
+        void inserted(List<Long> ids) {}
+
+        // A mapped row the database then refused
+        void forget(Object[] values) {}
+
+        void finish() {}
+    }
+
+    private class OwnerTarget extends Target {
+        private final Set<String> pids = new HashSet<>();
+
+        OwnerTarget(String clinicCode) {
+            super("owners", "OWNER",
+                "INSERT INTO owners (id, first_name, last_name, email, pid, phone, address, city, state, zip_code, " +
+                "clinic_code, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", clinicCode);
+            pids.addAll(jdbcTemplate.queryForList(
+                "SELECT pid FROM owners WHERE clinic_code = ? AND pid IS NOT NULL", String.class, clinicCode));
+        }
+
+        @Override
+        Object[] map(ImportReader.Row row) {
+            String firstName = required(row, "firstName");
+            String lastName = required(row, "lastName");
+            String email = row.get("email");
+            if (email != null && !EMAIL.matcher(email).matches()) {
+                throw new IllegalArgumentException("Invalid email: " + email);
+            }
+            String pid = row.get("pid");
+            if (pid != null && !pids.add(pid)) {
+                throw new IllegalArgumentException("Duplicate pid: " + pid);
+            }
+            return new Object[] {null, firstName, lastName, email, pid, row.get("phone"), row.get("address"),
+                row.get("city"), row.get("state"), row.get("zipCode"), clinicCode, now, now};
+        }
+
+        @Override
+        void forget(Object[] values) {
+            pids.remove(values[4]);
+        }
+
+        @Override
+        void finish() {
+            quickSearchIndex.reload(clinicCode);
+        }
+    }
+
+    private class PetTarget extends Target {
+        private final References owners;
+        private final Set<String> microchips = new HashSet<>();
+
+        PetTarget(String clinicCode) {
+            super("pets", "PET",
+                "INSERT INTO pets (id, name, species, breed, color, date_of_birth, gender, weight, microchip_id, " +
+                "owner_id, clinic_code, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", clinicCode);
+            owners = new References("owner", "ownerId", "ownerPid", false,
+                "SELECT id, pid FROM owners WHERE clinic_code = ?", clinicCode);
+            microchips.addAll(jdbcTemplate.queryForList(
+                "SELECT microchip_id FROM pets WHERE clinic_code = ? AND microchip_id IS NOT NULL", String.class, clinicCode));
+        }
+
+        @Override
+        Object[] map(ImportReader.Row row) {
+            String name = required(row, "name");
+            String species = required(row, "species");
+            Long ownerId = owners.resolve(row);
+            LocalDate dateOfBirth = date(row, "dateOfBirth");
+            Double weight = decimal(row, "weight");
+            String microchipId = row.get("microchipId");
+            if (microchipId != null && !microchips.add(microchipId)) {
+                throw new IllegalArgumentException("Duplicate microchipId: " + microchipId);
+            }
+            return new Object[] {null, name, species, row.get("breed"), row.get("color"), dateOfBirth,
+                row.get("gender"), weight, microchipId, ownerId, clinicCode, now, now};
+        }
+
+        @Override
+        void forget(Object[] values) {
+            microchips.remove(values[8]);
+        }
+
+        @Override
+        void finish() {
+            quickSearchIndex.reload(clinicCode);
+            dashboardCache.invalidate(clinicCode, DashboardCache.DataSource.PETS);
+        }
+    }
+
+    // Historical appointments are taken as they were; they are not checked for overlaps
+    private class AppointmentTarget extends Target {
+        private final References pets;
+        private final References veterinarians;
+        private LocalDate firstDate;
+        private LocalDate lastDate;
+
+        AppointmentTarget(String clinicCode) {
+            super("appointments", "APPOINTMENT",
+                "INSERT INTO appointments (id, date, time, duration, type, status, notes, pet_id, veterinarian_id, " +
+                "clinic_code, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", clinicCode);
+            pets = petReferences(clinicCode);
+            veterinarians = veterinarianReferences(clinicCode);
+        }
+
+        @Override
+        Object[] map(ImportReader.Row row) {
+            LocalDate date = requiredDate(row, "date");
+            LocalTime time = requiredTime(row, "time");
+            Integer duration = integer(row, "duration");
+            if (duration != null && duration <= 0) {
+                throw new IllegalArgumentException("duration must be positive");
+            }
+            Appointment.AppointmentType type = requiredEnum(Appointment.AppointmentType.class, row, "type");
+            Appointment.AppointmentStatus status = enumValue(Appointment.AppointmentStatus.class, row, "status");
+            Object[] values = new Object[] {null, date, time, duration, type.name(),
+                (status != null ? status : Appointment.AppointmentStatus.SCHEDULED).name(), row.get("notes"),
+                pets.resolve(row), veterinarians.resolve(row), clinicCode, now, now};
+            firstDate = firstDate == null || date.isBefore(firstDate) ? date : firstDate;
+            lastDate = lastDate == null || date.isAfter(lastDate) ? date : lastDate;
+            return values;
+        }
+
+        @Override
+        void finish() {
+            dashboardRollupService.rebuild(clinicCode, firstDate, lastDate);
+            availabilityIndex.evict();
+        }
+    }
+
+    private class MedicalRecordTarget extends Target {
+        private final References pets;
+        private final References veterinarians;
+
+        MedicalRecordTarget(String clinicCode) {
+            super("medical_records", "MEDICAL_RECORD",
+                "INSERT INTO medical_records (id, date, type, status, title, description, notes, attachments, pet_id, " +
+                "veterinarian_id, clinic_code, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", clinicCode);
+            pets = petReferences(clinicCode);
+            veterinarians = veterinarianReferences(clinicCode);
+        }
+
+        @Override
+        Object[] map(ImportReader.Row row) {
+            LocalDate date = requiredDate(row, "date");
+            MedicalRecord.RecordType type = requiredEnum(MedicalRecord.RecordType.class, row, "type");
+            MedicalRecord.RecordStatus status = enumValue(MedicalRecord.RecordStatus.class, row, "status");
+            String title = required(row, "title");
+            return new Object[] {null, date, type.name(),
+                (status != null ? status : MedicalRecord.RecordStatus.PENDING).name(), title, row.get("description"),
+                row.get("notes"), row.get("attachments"), pets.resolve(row), veterinarians.resolve(row), clinicCode, now, now};
+        }
+
+        @Override
+        void inserted(List<Long> ids) {
+            jdbcTemplate.update(con -> {
+                PreparedStatement statement = con.prepareStatement(
+                    "UPDATE medical_records mr SET search_vector = " + MedicalRecordRepository.SEARCH_VECTOR + " " +
+                    "FROM pets p WHERE p.id = mr.pet_id AND mr.id = ANY(?)");
+                statement.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+                return statement;
+            });
+        }
+    }
+
+    private References petReferences(String clinicCode) {
+        return new References("pet", "petId", "petMicrochipId", false,
+            "SELECT id, microchip_id FROM pets WHERE clinic_code = ?", clinicCode);
+    }
+
+    private References veterinarianReferences(String clinicCode) {
+        return new References("veterinarian", "veterinarianId", "veterinarianEmail", true,
+            "SELECT id, lower(email) FROM veterinarians WHERE clinic_code = ?", clinicCode);
+    }
+
+    // The ids of one clinic's rows in a referenced table and their natural keys, so a row can
+    // name its owner, pet or veterinarian either way without a query per row
+    private class References {
+        private final String name;
+        private final String idField;
+        private final String keyField;
+        private final boolean ignoreCase;
+        private final Set<Long> ids = new HashSet<>();
+        private final Map<String, Long> byKey = new HashMap<>();
+
+        References(String name, String idField, String keyField, boolean ignoreCase, String sql, String clinicCode) {
+            this.name = name;
+            this.idField = idField;
+            this.keyField = keyField;
+            this.ignoreCase = ignoreCase;
+            jdbcTemplate.query(sql, rs -> {
+                long id = rs.getLong(1);
+                ids.add(id);
+                if (rs.getString(2) != null) {
+                    byKey.put(rs.getString(2), id);
+                }
+            }, clinicCode);
+        }
+
+        Long resolve(ImportReader.Row row) {
+            String id = row.get(idField);
+            if (id != null) {
+                Long value = parseLong(id, idField);
+                if (!ids.contains(value)) {
+                    throw new IllegalArgumentException("Unknown " + name + " " + idField + ": " + id);
+                }
+                return value;
+            }
+            String key = row.get(keyField);
+            if (key != null) {
+                Long value = byKey.get(ignoreCase ? key.toLowerCase() : key);
+                if (value == null) {
+                    throw new IllegalArgumentException("Unknown " + name + " " + keyField + ": " + key);
+                }
+                return value;
+            }
+            throw new IllegalArgumentException(idField + " or " + keyField + " is required");
+        }
+    }
+
+    private static String required(ImportReader.Row row, String field) {
+        String value = row.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value;
+    }
+
+    private static LocalDate requiredDate(ImportReader.Row row, String field) {
+        required(row, field);
+        return date(row, field);
+    }
+
+    private static LocalDate date(ImportReader.Row row, String field) {
+        String value = row.get(field);
+        try {
+            return value != null ? LocalDate.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static LocalTime requiredTime(ImportReader.Row row, String field) {
+        String value = required(row, field);
+        try {
+            return LocalTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static Integer integer(ImportReader.Row row, String field) {
+        String value = row.get(field);
+        try {
+            return value != null ? Integer.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static Double decimal(ImportReader.Row row, String field) {
+        String value = row.get(field);
+        try {
+            return value != null ? Double.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static Long parseLong(String value, String field) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E requiredEnum(Class<E> type, ImportReader.Row row, String field) {
+        required(row, field);
+        return enumValue(type, row, field);
+    }
+
+    // Accepts any case and dashes for underscores, e.g. "follow-up"
+    private static <E extends Enum<E>> E enumValue(Class<E> type, ImportReader.Row row, String field) {
+        String value = row.get(field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.entity.ClinicSettings;
+import java.time.DateTimeException;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+// Immutable snapshot of the clinic settings a request runs against. Built once per settings
+// change by ClinicRegistry and shared by all requests for that clinic.
+public final class ClinicContext {
+
+    private static final ZoneId DEFAULT_TIMEZONE = ZoneId.of("UTC");
+    private static final LocalTime DEFAULT_WORKING_HOURS_START = LocalTime.of(9, 0);
+    private static final LocalTime DEFAULT_WORKING_HOURS_END = LocalTime.of(17, 0);
+    private static final int DEFAULT_APPOINTMENT_DURATION = 30;
+
+    private final String clinicCode;
+    private final String clinicName;
+    private final ZoneId timezone;
+    private final LocalTime workingHoursStart;
+    private final LocalTime workingHoursEnd;
+    private final int appointmentDuration;
+    private final boolean reminders;
+    private final boolean emailNotifications;
+    private final boolean smsNotifications;
+
+    private ClinicContext(String clinicCode, String clinicName, ZoneId timezone,
+                          LocalTime workingHoursStart, LocalTime workingHoursEnd, int appointmentDuration,
+                          boolean reminders, boolean emailNotifications, boolean smsNotifications) {
+        this.clinicCode = clinicCode;
+        this.clinicName = clinicName;
+        this.timezone = timezone;
+        this.workingHoursStart = workingHoursStart;
+        this.workingHoursEnd = workingHoursEnd;
+        this.appointmentDuration = appointmentDuration;
+        this.reminders = reminders;
+        this.emailNotifications = emailNotifications;
+        this.smsNotifications = smsNotifications;
+    }
+
+    public static ClinicContext from(ClinicSettings settings) {
+        String code = settings.getClinicCode();
+        if (code == null || code.isBlank()) {
+            throw new IllegalArgumentException("Clinic settings " + settings.getId() + " have no clinic code");
+        }
+        ZoneId timezone;
+        try {
+            timezone = settings.getTimezone() != null ? ZoneId.of(settings.getTimezone()) : DEFAULT_TIMEZONE;
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid timezone '" + settings.getTimezone() + "' for clinic " + code);
+        }
+        LocalTime start = settings.getWorkingHoursStart() != null ? settings.getWorkingHoursStart() : DEFAULT_WORKING_HOURS_START;
+        LocalTime end = settings.getWorkingHoursEnd() != null ? settings.getWorkingHoursEnd() : DEFAULT_WORKING_HOURS_END;
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Working hours of clinic " + code + " end before they start");
+        }
+        Integer duration = settings.getAppointmentDuration();
+        if (duration != null && duration <= 0) {
+            throw new IllegalArgumentException("Appointment duration of clinic " + code + " must be positive");
+        }
+        return new ClinicContext(code, settings.getClinicName(), timezone, start, end,
+            duration != null ? duration : DEFAULT_APPOINTMENT_DURATION,
+            !Boolean.FALSE.equals(settings.getAppointmentReminders()),
+            !Boolean.FALSE.equals(settings.getEmailNotifications()),
+            Boolean.TRUE.equals(settings.getSmsNotifications()));
+    }
+
+    // For a clinic code that has no settings row: the code is used as sent, everything else is defaulted
+    public static ClinicContext unregistered(String clinicCode) {
+        return new ClinicContext(clinicCode, null, DEFAULT_TIMEZONE, DEFAULT_WORKING_HOURS_START,
+            DEFAULT_WORKING_HOURS_END, DEFAULT_APPOINTMENT_DURATION, true, true, false);
+    }
+
+    public String getClinicCode() { return clinicCode; }
+
+    public String getClinicName() { return clinicName; }
+
+    public ZoneId getTimezone() { return timezone; }
+
+    public LocalTime getWorkingHoursStart() { return workingHoursStart; }
+
+    public LocalTime getWorkingHoursEnd() { return workingHoursEnd; }
+
+    public int getAppointmentDuration() { return appointmentDuration; }
+
+    public boolean isReminders() { return reminders; }
+
+    public boolean isEmailNotifications() { return emailNotifications; }
+
+    public boolean isSmsNotifications() { return smsNotifications; }
+}
\ No newline at end of file
@@ -4,17 +4,22 @@ import org.springframework.stereotype.Service;
 
 @Service
 public class ClinicContextService {
-    private static final ThreadLocal<String> clinicCodeContext = new ThreadLocal<>();
+    private static final ThreadLocal<ClinicContext> clinicContext = new ThreadLocal<>();
     
-    public void setClinicCode(String clinicCode) {
-        clinicCodeContext.set(clinicCode);
+    public void setClinicContext(ClinicContext context) {
+        clinicContext.set(context);
+    }
+    
+    public ClinicContext getClinicContext() {
+        return clinicContext.get();
     }
     
     public String getClinicCode() {
-        return clinicCodeContext.get();
+        ClinicContext context = clinicContext.get();
+        return context != null ? context.getClinicCode() : null;
     }
     
     public void clear() {
-        clinicCodeContext.remove();
+        clinicContext.remove();
     }
 }
\ No newline at end of file
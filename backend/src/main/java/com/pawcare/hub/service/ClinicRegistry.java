@@ -0,0 +1,118 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.entity.ClinicSettings;
+import com.pawcare.hub.repository.ClinicSettingsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// In-memory view of clinic_settings keyed by clinic code, so resolving the clinic of a request
+// needs no database round trip. Loaded on first use, updated by SettingsService and ClinicService
+// when they write settings, and reloaded periodically to pick up changes made elsewhere.
+@Service
+public class ClinicRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClinicRegistry.class);
+
+    @Autowired
+    private ClinicSettingsRepository clinicSettingsRepository;
+
+    // Copy-on-write: settings change rarely, and readers never see a half-applied reload
+    private record Snapshot(Map<String, ClinicContext> clinics, Map<String, Long> settingsIds, ClinicContext defaultClinic) {}
+
+    private volatile Snapshot snapshot;
+
+    public ClinicContext resolve(String clinicCode) {
+        ClinicContext context = current().clinics().get(clinicCode);
+        return context != null ? context : ClinicContext.unregistered(clinicCode);
+    }
+
+    public Optional<ClinicContext> find(String clinicCode) {
+        return Optional.ofNullable(current().clinics().get(clinicCode));
+    }
+
+    // The clinic with the lowest settings id, which is what requests without a clinic header use.
+    // Null when no clinic settings exist yet.
+    public ClinicContext getDefaultClinic() {
+        return current().defaultClinic();
+    }
+
+    public Set<String> getClinicCodes() {
+        return current().clinics().keySet();
+    }
+
+    // Inside a transaction the registry is only updated once the settings are committed
+    public void register(ClinicSettings settings) {
+        AfterCommit.run(() -> put(settings));
+    }
+
+    public synchronized void remove(String clinicCode) {
+        Map<String, ClinicContext> clinics = new HashMap<>(current().clinics());
+        Map<String, Long> settingsIds = new HashMap<>(current().settingsIds());
+        clinics.remove(clinicCode);
+        settingsIds.remove(clinicCode);
+        publish(clinics, settingsIds);
+    }
+
+    @Scheduled(initialDelayString = "${clinic.registry.refresh-interval:PT5M}",
+               fixedDelayString = "${clinic.registry.refresh-interval:PT5M}")
+    public synchronized void reload() {
+        Map<String, ClinicContext> clinics = new HashMap<>();
+        Map<String, Long> settingsIds = new HashMap<>();
+        clinicSettingsRepository.findAll().forEach(settings -> add(settings, clinics, settingsIds));
+        publish(clinics, settingsIds);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private synchronized void put(ClinicSettings settings) {
+        Map<String, ClinicContext> clinics = new HashMap<>(current().clinics());
+        Map<String, Long> settingsIds = new HashMap<>(current().settingsIds());
+        // Drop the entry under the old code when a clinic code changes
+        settingsIds.entrySet().removeIf(entry -> entry.getValue().equals(settings.getId()));
+        clinics.keySet().retainAll(settingsIds.keySet());
+        add(settings, clinics, settingsIds);
+        publish(clinics, settingsIds);
+    }
+
+    private void add(ClinicSettings settings, Map<String, ClinicContext> clinics, Map<String, Long> settingsIds) {
+        ClinicContext context;
+        try {
+            context = ClinicContext.from(settings);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Using default clinic settings: {}", e.getMessage());
+            if (settings.getClinicCode() == null || settings.getClinicCode().isBlank()) {
+                return;
+            }
+            context = ClinicContext.unregistered(settings.getClinicCode());
+        }
+        clinics.put(context.getClinicCode(), context);
+        settingsIds.put(context.getClinicCode(), settings.getId());
+    }
+
+    private void publish(Map<String, ClinicContext> clinics, Map<String, Long> settingsIds) {
+        ClinicContext defaultClinic = settingsIds.entrySet().stream()
+            .min(Map.Entry.comparingByValue())
+            .map(entry -> clinics.get(entry.getKey()))
+            .orElse(null);
+        snapshot = new Snapshot(Collections.unmodifiableMap(clinics), Collections.unmodifiableMap(settingsIds), defaultClinic);
+    }
+}
\ No newline at end of file
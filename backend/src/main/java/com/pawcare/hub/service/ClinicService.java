@@ -20,6 +20,9 @@ public class ClinicService {
     
     @Autowired
     private UserRepository userRepository;
+    
+    @Autowired
+    private ClinicRegistry clinicRegistry;
 
     public ClinicSettings createClinic(Map<String, Object> clinicData, Long userId) {
         try {
@@ -50,6 +53,7 @@ public class ClinicService {
             clinic.setUpdatedAt(LocalDateTime.now());
             
             ClinicSettings savedClinic = clinicSettingsRepository.save(clinic);
+            clinicRegistry.register(savedClinic);
             
             // Update user's clinic_code
             User user = null;
@@ -98,7 +102,9 @@ public class ClinicService {
             
             clinic.setUpdatedAt(LocalDateTime.now());
             
-            return clinicSettingsRepository.save(clinic);
+            ClinicSettings savedClinic = clinicSettingsRepository.save(clinic);
+            clinicRegistry.register(savedClinic);
+            return savedClinic;
         } catch (Exception e) {
             throw new RuntimeException("Failed to update clinic: " + e.getMessage());
         }
@@ -0,0 +1,305 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.entity.Appointment;
+import com.pawcare.hub.entity.ClinicDailyStats;
+import com.pawcare.hub.entity.InventoryAlert;
+import com.pawcare.hub.entity.Invoice;
+import com.pawcare.hub.repository.AppointmentRepository;
+import com.pawcare.hub.repository.InvoiceRepository;
+import com.pawcare.hub.repository.PetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+// Builds the dashboard payloads. Every endpoint issues at most one query per entity type:
+// KPIs come from the daily rollups, counts are COUNT queries and lists are sorted and
+// limited in the database with their pet/owner joins fetched in the same statement.
+// Results are served from DashboardCache until a write to the underlying data invalidates them.
+@Service
+public class DashboardAggregationService {
+
+    private static final int RECENT_LIMIT = 5;
+    private static final int UPCOMING_LIMIT = 10;
+    private static final int RECENT_PETS_LIMIT = 10;
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private ClinicContextService clinicContextService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    public Map<String, Object> getStats() {
+        String clinicCode = clinicContextService.getClinicCode();
+        return dashboardCache.get(clinicCode, DashboardCache.Endpoint.STATS, () -> buildStats(clinicCode));
+    }
+
+    private Map<String, Object> buildStats(String clinicCode) {
+        Map<String, Object> stats = new HashMap<>();
+        ClinicDailyStats todayStats = dashboardRollupService.getDailyStats(clinicCode, LocalDate.now());
+
+        stats.put("todayAppointments", (long) todayStats.getAppointmentsTotal());
+        stats.put("pendingPayments", invoiceRepository.countByStatusAndClinicCode(Invoice.InvoiceStatus.SENT, clinicCode));
+        stats.put("totalPets", petRepository.countByClinicCode(clinicCode));
+        stats.put("lowStockItems", inventoryService.countStockAlerts(clinicCode));
+        stats.put("revenueToday", todayStats.getRevenuePaid());
+        stats.put("completedToday", (long) todayStats.getAppointmentsCompleted());
+
+        return stats;
+    }
+
+    public Map<String, Object> getRecentActivity() {
+        String clinicCode = clinicContextService.getClinicCode();
+        return dashboardCache.get(clinicCode, DashboardCache.Endpoint.RECENT_ACTIVITY, () -> buildRecentActivity(clinicCode));
+    }
+
+    private Map<String, Object> buildRecentActivity(String clinicCode) {
+        Map<String, Object> activity = new HashMap<>();
+        LocalDate weekAgo = LocalDate.now().minusDays(7);
+
+        var recentAppointments = appointmentRepository
+            .findRecentWithPetAndOwner(weekAgo, clinicCode, PageRequest.of(0, RECENT_LIMIT)).stream()
+            .map(apt -> {
+                Map<String, Object> aptData = toAppointmentSummary(apt);
+                aptData.put("notes", apt.getNotes());
+                return aptData;
+            })
+            .toList();
+
+        var recentInvoices = invoiceRepository
+            .findRecentWithPetAndOwner(weekAgo, clinicCode, PageRequest.of(0, RECENT_LIMIT)).stream()
+            .map(inv -> {
+                Map<String, Object> invData = new HashMap<>();
+                invData.put("id", inv.getId());
+                invData.put("invoiceNumber", inv.getInvoiceNumber());
+                invData.put("petName", inv.getPet().getName());
+                invData.put("ownerName", inv.getOwner().getFirstName() + " " + inv.getOwner().getLastName());
+                invData.put("issueDate", inv.getIssueDate().toString());
+                invData.put("total", inv.getTotal());
+                invData.put("status", inv.getStatus().toString().toLowerCase());
+                return invData;
+            })
+            .toList();
+
+        activity.put("recentAppointments", recentAppointments);
+        activity.put("recentInvoices", recentInvoices);
+
+        return activity;
+    }
+
+    public Map<String, Object> getPerformance() {
+        String clinicCode = clinicContextService.getClinicCode();
+        return dashboardCache.get(clinicCode, DashboardCache.Endpoint.PERFORMANCE, () -> buildPerformance(clinicCode));
+    }
+
+    private Map<String, Object> buildPerformance(String clinicCode) {
+        Map<String, Object> performance = new HashMap<>();
+
+        LocalDate today = LocalDate.now();
+        LocalDate monthStart = today.withDayOfMonth(1);
+        LocalDate lastMonthStart = monthStart.minusMonths(1);
+        LocalDate lastMonthEnd = monthStart.minusDays(1);
+
+        Map<LocalDate, ClinicDailyStats> daily = dashboardRollupService.getDailyStats(clinicCode, lastMonthStart, today);
+        Map<LocalDate, Long> activeOwners = dashboardRollupService.countActiveOwnersByMonth(clinicCode, lastMonthStart, monthStart, today);
+
+        // Calculate monthly revenue
+        BigDecimal currentMonthRevenue = sumRevenue(daily, monthStart, today);
+        BigDecimal lastMonthRevenue = sumRevenue(daily, lastMonthStart, lastMonthEnd);
+
+        double revenueChange = lastMonthRevenue.compareTo(BigDecimal.ZERO) > 0 ?
+            currentMonthRevenue.subtract(lastMonthRevenue)
+                .divide(lastMonthRevenue, 2, java.math.RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100)).doubleValue() : 0.0;
+
+        // Calculate active clients (owners with appointments this month)
+        long activeClients = activeOwners.get(monthStart);
+        long lastMonthActiveClients = activeOwners.get(lastMonthStart);
+
+        double clientsChange = lastMonthActiveClients > 0 ?
+            ((double)(activeClients - lastMonthActiveClients) / lastMonthActiveClients) * 100 : 0.0;
+
+        // Calculate appointment completion rate
+        long totalAppointments = sumCount(daily, monthStart, today, ClinicDailyStats::getAppointmentsTotal);
+        long completedAppointments = sumCount(daily, monthStart, today, ClinicDailyStats::getAppointmentsCompleted);
+
+        double appointmentRate = totalAppointments > 0 ?
+            ((double)completedAppointments / totalAppointments) * 100 : 0.0;
+
+        long lastMonthTotal = sumCount(daily, lastMonthStart, lastMonthEnd, ClinicDailyStats::getAppointmentsTotal);
+        long lastMonthCompleted = sumCount(daily, lastMonthStart, lastMonthEnd, ClinicDailyStats::getAppointmentsCompleted);
+
+        double lastMonthRate = lastMonthTotal > 0 ?
+            ((double)lastMonthCompleted / lastMonthTotal) * 100 : 0.0;
+
+        double appointmentRateChange = appointmentRate - lastMonthRate;
+
+        // Build response
+        performance.put("patientSatisfaction", "4.8/5"); // This would need a separate rating system
+        performance.put("satisfactionChange", 2.1); // Mock for now
+        performance.put("activeClients", String.format("%,d", activeClients));
+        performance.put("clientsChange", Math.round(clientsChange * 10.0) / 10.0);
+        performance.put("appointmentRate", String.format("%.0f%%", appointmentRate));
+        performance.put("appointmentRateChange", Math.round(appointmentRateChange * 10.0) / 10.0);
+        performance.put("monthlyRevenue", String.format("$%,.0f", currentMonthRevenue));
+        performance.put("revenueChange", Math.round(revenueChange * 10.0) / 10.0);
+
+        List<String> insights = List.of(
+            revenueChange > 0 ?
+                String.format("Revenue is trending %.1f%% above last month", revenueChange) :
+                String.format("Revenue is %.1f%% below last month", Math.abs(revenueChange)),
+            clientsChange > 0 ? "Client base growing steadily" : "Client retention needs attention"
+        );
+        performance.put("insights", insights);
+
+        return performance;
+    }
+
+    public Map<String, Object> getRevenue() {
+        String clinicCode = clinicContextService.getClinicCode();
+        return dashboardCache.get(clinicCode, DashboardCache.Endpoint.REVENUE, () -> buildRevenue(clinicCode));
+    }
+
+    private Map<String, Object> buildRevenue(String clinicCode) {
+        Map<String, Object> revenue = new HashMap<>();
+
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.minusDays(6); // Last 7 days
+        Map<LocalDate, ClinicDailyStats> daily = dashboardRollupService.getDailyStats(
+            clinicCode, weekStart.minusDays(7), today);
+
+        List<Map<String, Object>> weeklyData = List.of(
+            Map.of("day", "Mon", "revenue", getDailyRevenue(daily, weekStart)),
+            Map.of("day", "Tue", "revenue", getDailyRevenue(daily, weekStart.plusDays(1))),
+            Map.of("day", "Wed", "revenue", getDailyRevenue(daily, weekStart.plusDays(2))),
+            Map.of("day", "Thu", "revenue", getDailyRevenue(daily, weekStart.plusDays(3))),
+            Map.of("day", "Fri", "revenue", getDailyRevenue(daily, weekStart.plusDays(4))),
+            Map.of("day", "Sat", "revenue", getDailyRevenue(daily, weekStart.plusDays(5))),
+            Map.of("day", "Sun", "revenue", getDailyRevenue(daily, today))
+        );
+
+        // Calculate week-over-week change
+        BigDecimal thisWeekRevenue = sumRevenue(daily, weekStart, today);
+        BigDecimal lastWeekRevenue = sumRevenue(daily, weekStart.minusDays(7), weekStart.minusDays(1));
+
+        double weeklyChange = lastWeekRevenue.compareTo(BigDecimal.ZERO) > 0 ?
+            thisWeekRevenue.subtract(lastWeekRevenue)
+                .divide(lastWeekRevenue, 2, java.math.RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100)).doubleValue() : 0.0;
+
+        revenue.put("weeklyData", weeklyData);
+        revenue.put("weeklyChange", Math.round(weeklyChange * 10.0) / 10.0);
+
+        return revenue;
+    }
+
+    public List<Map<String, Object>> getUpcomingAppointments() {
+        String clinicCode = clinicContextService.getClinicCode();
+        return dashboardCache.get(clinicCode, DashboardCache.Endpoint.UPCOMING_APPOINTMENTS, () -> buildUpcomingAppointments(clinicCode));
+    }
+
+    private List<Map<String, Object>> buildUpcomingAppointments(String clinicCode) {
+        LocalDate today = LocalDate.now();
+
+        return appointmentRepository.findUpcomingWithPetAndOwner(today, today.plusDays(7),
+                List.of(Appointment.AppointmentStatus.COMPLETED, Appointment.AppointmentStatus.CANCELLED),
+                clinicCode, PageRequest.of(0, UPCOMING_LIMIT)).stream()
+            .map(this::toAppointmentSummary)
+            .toList();
+    }
+
+    public List<Map<String, Object>> getInventoryAlerts() {
+        String clinicCode = clinicContextService.getClinicCode();
+        return dashboardCache.get(clinicCode, DashboardCache.Endpoint.INVENTORY_ALERTS, () -> buildInventoryAlerts(clinicCode));
+    }
+
+    private List<Map<String, Object>> buildInventoryAlerts(String clinicCode) {
+        return inventoryService.getStockAlerts(clinicCode).stream()
+            .map(stockAlert -> {
+                boolean critical = stockAlert.getType() == InventoryAlert.AlertType.OUT_OF_STOCK
+                    || stockAlert.getCurrentStock() <= stockAlert.getMinStock() / 2;
+                Map<String, Object> alert = new HashMap<>();
+                alert.put("id", stockAlert.getInventoryItemId());
+                alert.put("item", stockAlert.getItemName());
+                alert.put("currentStock", stockAlert.getCurrentStock());
+                alert.put("minStock", stockAlert.getMinStock());
+                alert.put("status", critical ? "critical" : "low");
+                return alert;
+            })
+            .toList();
+    }
+
+    public List<Map<String, Object>> getRecentPets() {
+        String clinicCode = clinicContextService.getClinicCode();
+        return dashboardCache.get(clinicCode, DashboardCache.Endpoint.RECENT_PETS, () -> buildRecentPets(clinicCode));
+    }
+
+    private List<Map<String, Object>> buildRecentPets(String clinicCode) {
+        LocalDate weekAgo = LocalDate.now().minusDays(7);
+
+        return petRepository.findRecentWithOwner(weekAgo.plusDays(1).atStartOfDay(),
+                clinicCode, PageRequest.of(0, RECENT_PETS_LIMIT)).stream()
+            .map(pet -> {
+                Map<String, Object> petData = new HashMap<>();
+                petData.put("id", pet.getId());
+                petData.put("name", pet.getName());
+                petData.put("species", pet.getSpecies());
+                petData.put("breed", pet.getBreed());
+                petData.put("owner", pet.getOwner().getFirstName() + " " + pet.getOwner().getLastName());
+                petData.put("registrationDate", pet.getCreatedAt().toLocalDate().toString());
+                return petData;
+            })
+            .toList();
+    }
+
+    private Map<String, Object> toAppointmentSummary(Appointment apt) {
+        Map<String, Object> aptData = new HashMap<>();
+        aptData.put("id", apt.getId());
+        aptData.put("petName", apt.getPet().getName());
+        aptData.put("ownerName", apt.getPet().getOwner().getFirstName() + " " + apt.getPet().getOwner().getLastName());
+        aptData.put("date", apt.getDate().toString());
+        aptData.put("time", apt.getTime().toString());
+        aptData.put("type", apt.getType() != null ? apt.getType().toString() : "CHECKUP");
+        aptData.put("status", apt.getStatus().toString().toLowerCase());
+        return aptData;
+    }
+
+    private int getDailyRevenue(Map<LocalDate, ClinicDailyStats> daily, LocalDate date) {
+        return daily.get(date).getRevenuePaid().intValue();
+    }
+
+    private BigDecimal sumRevenue(Map<LocalDate, ClinicDailyStats> daily, LocalDate start, LocalDate end) {
+        return daily.values().stream()
+            .filter(day -> !day.getStatDate().isBefore(start) && !day.getStatDate().isAfter(end))
+            .map(ClinicDailyStats::getRevenuePaid)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private long sumCount(Map<LocalDate, ClinicDailyStats> daily, LocalDate start, LocalDate end,
+                          ToIntFunction<ClinicDailyStats> counter) {
+        return daily.values().stream()
+            .filter(day -> !day.getStatDate().isBefore(start) && !day.getStatDate().isAfter(end))
+            .mapToLong(counter::applyAsInt)
+            .sum();
+    }
+}
\ No newline at end of file
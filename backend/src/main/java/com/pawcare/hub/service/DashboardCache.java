@@ -0,0 +1,158 @@
+package com.pawcare.hub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Bounded LRU + TTL cache for dashboard payloads, keyed by clinic code and endpoint.
+// Writes invalidate only the endpoints that read the changed data; a per-clinic generation
+// stops a read that raced with a write from caching the value it computed before the write.
+@Service
+public class DashboardCache {
+
+    public enum DataSource {
+        APPOINTMENTS, INVOICES, PETS, INVENTORY
+    }
+
+    public enum Endpoint {
+        STATS(DataSource.APPOINTMENTS, DataSource.INVOICES, DataSource.PETS, DataSource.INVENTORY),
+        RECENT_ACTIVITY(DataSource.APPOINTMENTS, DataSource.INVOICES, DataSource.PETS),
+        PERFORMANCE(DataSource.APPOINTMENTS, DataSource.INVOICES),
+        REVENUE(DataSource.INVOICES),
+        UPCOMING_APPOINTMENTS(DataSource.APPOINTMENTS, DataSource.PETS),
+        INVENTORY_ALERTS(DataSource.INVENTORY),
+        RECENT_PETS(DataSource.PETS);
+
+        private final Set<DataSource> sources;
+
+        Endpoint(DataSource first, DataSource... rest) {
+            this.sources = EnumSet.of(first, rest);
+        }
+
+        public boolean dependsOn(DataSource source) {
+            return sources.contains(source);
+        }
+    }
+
+    private record Key(String clinicCode, Endpoint endpoint) {}
+
+    private record Entry(Object value, long expiresAt) {}
+
+    private final Map<Key, Entry> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public DashboardCache(@Value("${dashboard.cache.ttl:PT30S}") Duration ttl,
+                          @Value("${dashboard.cache.max-entries:1000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > DashboardCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String clinicCode, Endpoint endpoint, Supplier<T> loader) {
+        if (clinicCode == null || ttlNanos <= 0) {
+            return loader.get();
+        }
+        Key key = new Key(clinicCode, endpoint);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() - System.nanoTime() > 0) {
+                    hits.incrementAndGet();
+                    return (T) entry.value();
+                }
+                entries.remove(key);
+                expirations.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+
+        long generation = generationOf(clinicCode);
+        T value = loader.get();
+        synchronized (entries) {
+            if (generation == generationOf(clinicCode)) {
+                entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+            }
+        }
+        return value;
+    }
+
+    // Drops the entries that read the given data. Inside a transaction this runs after commit,
+    // otherwise a concurrent read could repopulate the cache with the pre-commit state.
+    public void invalidate(String clinicCode, DataSource source) {
+        AfterCommit.run(() -> evict(clinicCode, source));
+    }
+
+    public void invalidateClinic(String clinicCode) {
+        for (DataSource source : DataSource.values()) {
+            invalidate(clinicCode, source);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        synchronized (entries) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("size", entries.size());
+            stats.put("maxEntries", maxEntries);
+            stats.put("ttlSeconds", Duration.ofNanos(ttlNanos).toSeconds());
+            stats.put("hits", hits.get());
+            stats.put("misses", misses.get());
+            stats.put("evictions", evictions.get());
+            stats.put("expirations", expirations.get());
+            stats.put("invalidations", invalidations.get());
+            long lookups = hits.get() + misses.get();
+            stats.put("hitRate", lookups > 0 ? Math.round(hits.get() * 1000.0 / lookups) / 10.0 : 0.0);
+            return stats;
+        }
+    }
+
+    private void evict(String clinicCode, DataSource source) {
+        boolean allClinics = clinicCode == null;
+        synchronized (entries) {
+            if (allClinics) {
+                globalGeneration.incrementAndGet();
+            } else {
+                generations.computeIfAbsent(clinicCode, code -> new AtomicLong()).incrementAndGet();
+            }
+            Iterator<Key> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                Key key = keys.next();
+                if ((allClinics || key.clinicCode().equals(clinicCode)) && key.endpoint().dependsOn(source)) {
+                    keys.remove();
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private long generationOf(String clinicCode) {
+        AtomicLong generation = generations.get(clinicCode);
+        return globalGeneration.get() + (generation != null ? generation.get() : 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.entity.Appointment;
+import com.pawcare.hub.entity.ClinicDailyStats;
+import com.pawcare.hub.entity.Invoice;
+import com.pawcare.hub.repository.ClinicActiveOwnerRepository;
+import com.pawcare.hub.repository.ClinicDailyStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class DashboardRollupService {
+
+    @Autowired
+    private ClinicDailyStatsRepository clinicDailyStatsRepository;
+
+    @Autowired
+    private ClinicActiveOwnerRepository clinicActiveOwnerRepository;
+
+    @Autowired
+    private ClinicRegistry clinicRegistry;
+
+    @Autowired
+    private ClinicContextService clinicContextService;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    public Map<LocalDate, ClinicDailyStats> getDailyStats(String clinicCode, LocalDate start, LocalDate end) {
+        Map<LocalDate, ClinicDailyStats> stats = new LinkedHashMap<>();
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            stats.put(day, new ClinicDailyStats(clinicCode, day));
+        }
+        clinicDailyStatsRepository.findByClinicCodeAndDateRange(clinicCode, start, end)
+            .forEach(row -> stats.put(row.getStatDate(), row));
+        return stats;
+    }
+
+    public ClinicDailyStats getDailyStats(String clinicCode, LocalDate date) {
+        return getDailyStats(clinicCode, date, date).get(date);
+    }
+
+    public long countActiveOwners(String clinicCode, LocalDate monthStart, LocalDate asOf) {
+        return clinicActiveOwnerRepository.countActiveOwners(clinicCode, monthStart, asOf);
+    }
+
+    public Map<LocalDate, Long> countActiveOwnersByMonth(String clinicCode, LocalDate fromMonth, LocalDate toMonth, LocalDate asOf) {
+        Map<LocalDate, Long> counts = new LinkedHashMap<>();
+        for (LocalDate month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            counts.put(month, 0L);
+        }
+        for (Object[] row : clinicActiveOwnerRepository.countActiveOwnersByMonth(clinicCode, fromMonth, toMonth, asOf)) {
+            counts.put((LocalDate) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    public void refreshForInvoice(Invoice invoice) {
+        String clinicCode = resolveClinicCode(invoice.getClinicCode());
+        if (clinicCode == null) {
+            return;
+        }
+        Set<LocalDate> days = collectDays(invoice.getIssueDate(), invoice.getLoadedIssueDate(),
+            invoice.getPaidDate(), invoice.getLoadedPaidDate());
+        days.forEach(day -> clinicDailyStatsRepository.refreshInvoiceStats(clinicCode, day, day));
+    }
+
+    public void refreshForAppointment(Appointment appointment) {
+        String clinicCode = resolveClinicCode(appointment.getClinicCode());
+        if (clinicCode == null) {
+            return;
+        }
+        Set<LocalDate> days = collectDays(appointment.getDate(), appointment.getLoadedDate());
+        days.forEach(day -> clinicDailyStatsRepository.refreshAppointmentStats(clinicCode, day, day));
+
+        Long ownerId = appointment.getPet() != null && appointment.getPet().getOwner() != null
+            ? appointment.getPet().getOwner().getId() : null;
+        if (ownerId != null) {
+            days.stream()
+                .map(day -> day.withDayOfMonth(1))
+                .distinct()
+                .forEach(month -> clinicActiveOwnerRepository.refreshOwnerMonth(clinicCode, month, ownerId));
+        }
+    }
+
+    // Catches anything the write-path refreshes could not see (bulk SQL, pets moved between owners)
+    // and backfills clinics that have no rollup rows yet.
+    @Scheduled(initialDelayString = "${dashboard.rollup.initial-delay:PT1M}",
+               fixedDelayString = "${dashboard.rollup.reconcile-interval:PT6H}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.withDayOfMonth(1).minusMonths(1);
+        for (String clinicCode : clinicRegistry.getClinicCodes()) {
+            rebuild(clinicCode, start, today);
+        }
+    }
+
+    public void rebuild(String clinicCode, LocalDate start, LocalDate end) {
+        clinicDailyStatsRepository.refreshInvoiceStats(clinicCode, start, end);
+        clinicDailyStatsRepository.refreshAppointmentStats(clinicCode, start, end);
+        for (LocalDate month = start.withDayOfMonth(1); !month.isAfter(end); month = month.plusMonths(1)) {
+            clinicActiveOwnerRepository.rebuildMonth(clinicCode, month);
+        }
+        dashboardCache.invalidate(clinicCode, DashboardCache.DataSource.APPOINTMENTS);
+        dashboardCache.invalidate(clinicCode, DashboardCache.DataSource.INVOICES);
+    }
+
+    private String resolveClinicCode(String entityClinicCode) {
+        return entityClinicCode != null ? entityClinicCode : clinicContextService.getClinicCode();
+    }
+
+    private static Set<LocalDate> collectDays(LocalDate... dates) {
+        Set<LocalDate> days = new TreeSet<>();
+        for (LocalDate date : dates) {
+            if (date != null) {
+                days.add(date);
+            }
+        }
+        return days;
+    }
+}
\ No newline at end of file
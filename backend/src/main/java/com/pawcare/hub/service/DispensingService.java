@@ -0,0 +1,248 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.dto.DispenseResultDTO;
+import com.pawcare.hub.entity.InventoryItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Reserves, dispenses and releases the stock linked to whole invoices (their lines'
+// inventory_item_id) and prescriptions, any number of them per call. Each call is one transaction
+// of set-based statements: the invoices, the prescriptions and then the inventory items are
+// locked, each in id order, so concurrent calls and StockService cannot deadlock each other.
+// A call fails as a whole when any item is short.
+@Service
+public class DispensingService {
+
+    public enum Action {
+        // Hold the stock, replacing what the invoice or prescription held before
+        RESERVE,
+        // Take the stock out, using up what was held
+        DISPENSE,
+        // Give back what is held, e.g. when the invoice or prescription is cancelled
+        RELEASE
+    }
+
+    private static final String INVOICE = "INVOICE";
+    private static final String RESERVED = "RESERVED";
+    private static final String DISPENSED = "DISPENSED";
+    private static final String RELEASED = "RELEASED";
+
+    private static final String LOCK_INVOICES_SQL = "SELECT id, status FROM invoices WHERE id = ANY(?) AND clinic_code = ? ORDER BY id FOR NO KEY UPDATE";
+
+    private static final String LOCK_PRESCRIPTIONS_SQL = "SELECT id, status FROM prescriptions WHERE id = ANY(?) AND clinic_code = ? ORDER BY id FOR NO KEY UPDATE";
+
+    private static final String DEMAND_SQL =
+        "SELECT 'INVOICE', ii.invoice_id, ii.inventory_item_id, SUM(ii.quantity) FROM invoice_items ii " +
+        "WHERE ii.invoice_id = ANY(?) AND ii.inventory_item_id IS NOT NULL AND ii.quantity > 0 " +
+        "GROUP BY ii.invoice_id, ii.inventory_item_id " +
+        "UNION ALL " +
+        "SELECT 'PRESCRIPTION', p.id, p.inventory_item_id, p.quantity FROM prescriptions p " +
+        "WHERE p.id = ANY(?) AND p.inventory_item_id IS NOT NULL AND p.quantity > 0";
+
+    private static final String HELD_SQL = "SELECT source_type, source_id, inventory_item_id, quantity, status FROM stock_reservations " +
+        "WHERE (source_type = 'INVOICE' AND source_id = ANY(?)) OR (source_type = 'PRESCRIPTION' AND source_id = ANY(?))";
+
+    // FOR NO KEY UPDATE so inserting invoice lines that reference the items is not blocked
+    private static final String LOCK_ITEMS_SQL = "SELECT id, current_stock, reserved_stock FROM inventory_items " +
+        "WHERE id = ANY(?) AND clinic_code = ? ORDER BY id FOR NO KEY UPDATE";
+
+    private static final String UPDATE_ITEMS_SQL = "UPDATE inventory_items i SET current_stock = COALESCE(i.current_stock, 0) - d.taken, " +
+        "reserved_stock = i.reserved_stock + d.reserved, " +
+        "status = " + StockService.statusCase("COALESCE(i.current_stock, 0) - d.taken") + ", updated_at = LOCALTIMESTAMP " +
+        "FROM unnest(CAST(? AS BIGINT[]), CAST(? AS INTEGER[]), CAST(? AS INTEGER[])) AS d(id, taken, reserved) " +
+        "WHERE i.id = d.id RETURNING i.*";
+
+    private static final String UPSERT_RESERVATIONS_SQL = "INSERT INTO stock_reservations (clinic_code, source_type, source_id, " +
+        "inventory_item_id, quantity, status, created_at, updated_at) " +
+        "SELECT ?, r.source_type, r.source_id, r.item_id, r.quantity, r.status, LOCALTIMESTAMP, LOCALTIMESTAMP " +
+        "FROM unnest(CAST(? AS VARCHAR[]), CAST(? AS BIGINT[]), CAST(? AS BIGINT[]), CAST(? AS INTEGER[]), CAST(? AS VARCHAR[])) " +
+        "AS r(source_type, source_id, item_id, quantity, status) " +
+        "ON CONFLICT (source_type, source_id, inventory_item_id) DO UPDATE " +
+        "SET quantity = EXCLUDED.quantity, status = EXCLUDED.status, updated_at = EXCLUDED.updated_at";
+
+    private static final String INSERT_MOVEMENTS_SQL = "INSERT INTO stock_movements (clinic_code, inventory_item_id, type, " +
+        "quantity, stock_after, reason, created_at) " +
+        "SELECT ?, m.item_id, 'DISPENSE', m.quantity, m.stock_after, m.reason, LOCALTIMESTAMP " +
+        "FROM unnest(CAST(? AS BIGINT[]), CAST(? AS INTEGER[]), CAST(? AS INTEGER[]), CAST(? AS VARCHAR[])) " +
+        "AS m(item_id, quantity, stock_after, reason)";
+
+    private static final BeanPropertyRowMapper<InventoryItem> ITEM_MAPPER = new BeanPropertyRowMapper<>(InventoryItem.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClinicContextService clinicContextService;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private ActivityStreamHub activityStreamHub;
+
+    @Autowired
+    private InventoryAlertService inventoryAlertService;
+
+    // Throws IllegalArgumentException for an invoice, prescription or linked item the clinic does
+    // not have, IllegalStateException when reserving or dispensing something already dispensed,
+    // and InsufficientStockException when an item does not have the stock available
+    @Transactional
+    public DispenseResultDTO apply(Action action, List<Long> invoiceIds, List<Long> prescriptionIds) {
+        String clinicCode = clinicContextService.getClinicCode();
+        Long[] invoices = lockSources(LOCK_INVOICES_SQL, invoiceIds, clinicCode, "Invoice", action);
+        Long[] prescriptions = lockSources(LOCK_PRESCRIPTIONS_SQL, prescriptionIds, clinicCode, "Prescription", action);
+        DispenseResultDTO result = new DispenseResultDTO(action.name());
+
+        Map<Line, Integer> wanted = new LinkedHashMap<>();
+        if (action != Action.RELEASE) {
+            jdbcTemplate.query(DEMAND_SQL, rs -> {
+                wanted.put(new Line(rs.getString(1), rs.getLong(2), rs.getLong(3)), rs.getInt(4));
+            }, invoices, prescriptions);
+        }
+        Map<Line, Integer> held = new LinkedHashMap<>();
+        jdbcTemplate.query(HELD_SQL, rs -> {
+            Line line = new Line(rs.getString(1), rs.getLong(2), rs.getLong(3));
+            if (DISPENSED.equals(rs.getString(5)) && action != Action.RELEASE) {
+                throw new IllegalStateException(line.label() + " has already been dispensed");
+            }
+            if (RESERVED.equals(rs.getString(5))) {
+                held.put(line, rs.getInt(4));
+            }
+        }, invoices, prescriptions);
+
+        // Per item: taken out of stock, newly reserved, and previously held by these sources
+        Map<Long, int[]> perItem = new TreeMap<>();
+        wanted.forEach((line, quantity) -> perItem.computeIfAbsent(line.itemId, id -> new int[3])[action == Action.DISPENSE ? 0 : 1] += quantity);
+        held.forEach((line, quantity) -> perItem.computeIfAbsent(line.itemId, id -> new int[3])[2] += quantity);
+        if (perItem.isEmpty()) {
+            return result;
+        }
+
+        Long[] itemIds = perItem.keySet().toArray(new Long[0]);
+        Map<Long, int[]> stock = new LinkedHashMap<>();
+        jdbcTemplate.query(LOCK_ITEMS_SQL, rs -> {
+            stock.put(rs.getLong(1), new int[] { rs.getInt(2), rs.getInt(3) });
+        }, itemIds, clinicCode);
+        Integer[] taken = new Integer[itemIds.length];
+        Integer[] reservedDelta = new Integer[itemIds.length];
+        for (int i = 0; i < itemIds.length; i++) {
+            int[] change = perItem.get(itemIds[i]);
+            int[] level = stock.get(itemIds[i]);
+            if (level == null) {
+                throw new IllegalArgumentException("Inventory item " + itemIds[i] + " not found");
+            }
+            int required = change[0] + change[1];
+            int available = level[0] - level[1] + change[2];
+            if (required > 0 && required > available) {
+                throw new InsufficientStockException(itemIds[i], available, required);
+            }
+            taken[i] = change[0];
+            reservedDelta[i] = change[1] - change[2];
+        }
+        List<InventoryItem> items = jdbcTemplate.query(UPDATE_ITEMS_SQL, ITEM_MAPPER, itemIds, taken, reservedDelta);
+        items.sort(Comparator.comparing(InventoryItem::getId));
+
+        Set<Line> lines = new LinkedHashSet<>(wanted.keySet());
+        lines.addAll(held.keySet());
+        List<Object[]> rows = new ArrayList<>();
+        for (Line line : lines) {
+            Integer quantity = wanted.get(line);
+            String status = quantity == null ? RELEASED : (action == Action.DISPENSE ? DISPENSED : RESERVED);
+            int lineQuantity = quantity != null ? quantity : held.get(line);
+            rows.add(new Object[] { line.sourceType, line.sourceId, line.itemId, lineQuantity, status });
+            result.getLines().add(new DispenseResultDTO.Line(line.sourceType, line.sourceId, line.itemId, lineQuantity, status));
+        }
+        jdbcTemplate.update(UPSERT_RESERVATIONS_SQL, clinicCode,
+            column(rows, 0, new String[0]), column(rows, 1, new Long[0]), column(rows, 2, new Long[0]),
+            column(rows, 3, new Integer[0]), column(rows, 4, new String[0]));
+        if (action == Action.DISPENSE) {
+            recordMovements(clinicCode, wanted, stock);
+            inventoryAlertService.refresh(clinicCode, itemIds);
+        }
+        result.setItems(items);
+
+        int units = 0;
+        for (int i = 0; i < itemIds.length; i++) {
+            units += action == Action.RELEASE ? -reservedDelta[i] : taken[i] + Math.max(reservedDelta[i], 0);
+        }
+        String verb = action == Action.DISPENSE ? "Dispensed" : (action == Action.RESERVE ? "Reserved" : "Released");
+        activityService.logActivity(action.name(), "INVENTORY", itemIds[0], "Dispensing",
+            verb + " " + units + " units of " + itemIds.length + " items for " + invoices.length + " invoices and " +
+            prescriptions.length + " prescriptions");
+        dashboardCache.invalidate(clinicCode, DashboardCache.DataSource.INVENTORY);
+        if (action == Action.DISPENSE) {
+            for (InventoryItem item : items) {
+                Map<String, Object> event = new LinkedHashMap<>();
+                event.put("itemId", item.getId());
+                event.put("name", item.getName());
+                event.put("quantity", -perItem.get(item.getId())[0]);
+                event.put("currentStock", item.getCurrentStock());
+                event.put("status", item.getStatus());
+                activityStreamHub.publish(clinicCode, ActivityStreamHub.STOCK_ADJUSTED, event);
+            }
+        }
+        return result;
+    }
+
+    private Long[] lockSources(String sql, List<Long> ids, String clinicCode, String label, Action action) {
+        if (ids == null || ids.isEmpty()) {
+            return new Long[0];
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        List<Long> locked = new ArrayList<>();
+        jdbcTemplate.query(sql, rs -> {
+            if (action != Action.RELEASE && "CANCELLED".equals(rs.getString(2))) {
+                throw new IllegalStateException(label + " " + rs.getLong(1) + " is cancelled");
+            }
+            locked.add(rs.getLong(1));
+        }, requested.toArray(new Long[0]), clinicCode);
+        requested.removeAll(locked);
+        if (!requested.isEmpty()) {
+            throw new IllegalArgumentException(label + " " + requested.iterator().next() + " not found");
+        }
+        return locked.toArray(new Long[0]);
+    }
+
+    // One DISPENSE movement per invoice or prescription and item, in item order
+    private void recordMovements(String clinicCode, Map<Line, Integer> wanted, Map<Long, int[]> stock) {
+        List<Map.Entry<Line, Integer>> entries = new ArrayList<>(wanted.entrySet());
+        entries.sort(Map.Entry.comparingByKey((a, b) -> Long.compare(a.itemId, b.itemId)));
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<Line, Integer> entry : entries) {
+            int[] level = stock.get(entry.getKey().itemId);
+            level[0] -= entry.getValue();
+            rows.add(new Object[] { entry.getKey().itemId, -entry.getValue(), level[0], entry.getKey().label() });
+        }
+        jdbcTemplate.update(INSERT_MOVEMENTS_SQL, clinicCode, column(rows, 0, new Long[0]), column(rows, 1, new Integer[0]),
+            column(rows, 2, new Integer[0]), column(rows, 3, new String[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] column(List<Object[]> rows, int index, T[] type) {
+        List<T> values = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            values.add((T) row[index]);
+        }
+        return values.toArray(type);
+    }
+
+    private record Line(String sourceType, Long sourceId, Long itemId) {
+        String label() {
+            return (INVOICE.equals(sourceType) ? "Invoice " : "Prescription ") + sourceId;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,255 @@
+package com.pawcare.hub.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Full-history exports of a clinic as NDJSON or CSV. Rows come from a JDBC cursor, export.fetch-size
+// at a time (PostgreSQL only uses a cursor inside a transaction), and are written to the output
+// as they arrive without going through the persistence context, so memory use does not grow
+// with the number of rows exported.
+@Service
+public class ExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    // Invoice items are joined in and come back as the "items" array of their invoice in NDJSON,
+    // or as one CSV line per item with the invoice columns repeated
+    private static final String ITEM_PREFIX = "item.";
+
+    private static final Map<String, Dataset> DATASETS = Map.of(
+        "invoices", new Dataset(
+            "SELECT i.id AS \"id\", i.invoice_number AS \"invoiceNumber\", i.issue_date AS \"issueDate\", " +
+            "i.due_date AS \"dueDate\", i.paid_date AS \"paidDate\", i.status AS \"status\", " +
+            "i.payment_method AS \"paymentMethod\", i.subtotal AS \"subtotal\", i.tax AS \"tax\", " +
+            "i.discount AS \"discount\", i.total AS \"total\", i.owner_id AS \"ownerId\", i.pet_id AS \"petId\", " +
+            "i.veterinarian_id AS \"veterinarianId\", i.appointment_id AS \"appointmentId\", i.notes AS \"notes\", " +
+            "i.created_at AS \"createdAt\", i.updated_at AS \"updatedAt\", " +
+            "it.id AS \"item.id\", it.description AS \"item.description\", it.category AS \"item.category\", " +
+            "it.quantity AS \"item.quantity\", it.unit_price AS \"item.unitPrice\", it.total AS \"item.total\" " +
+            "FROM invoices i LEFT JOIN invoice_items it ON it.invoice_id = i.id",
+            "i.clinic_code", "i.issue_date", false, "i.id, it.id"),
+        "appointments", new Dataset(
+            "SELECT a.id AS \"id\", a.date AS \"date\", a.time AS \"time\", a.duration AS \"duration\", " +
+            "a.type AS \"type\", a.status AS \"status\", a.pet_id AS \"petId\", p.name AS \"petName\", " +
+            "p.owner_id AS \"ownerId\", a.veterinarian_id AS \"veterinarianId\", v.name AS \"veterinarianName\", " +
+            "a.notes AS \"notes\", a.created_at AS \"createdAt\", a.updated_at AS \"updatedAt\" " +
+            "FROM appointments a LEFT JOIN pets p ON p.id = a.pet_id " +
+            "LEFT JOIN veterinarians v ON v.id = a.veterinarian_id",
+            "a.clinic_code", "a.date", false, "a.id"),
+        "payments", new Dataset(
+            "SELECT pr.id AS \"id\", pr.invoice_id AS \"invoiceId\", i.invoice_number AS \"invoiceNumber\", " +
+            "pr.amount AS \"amount\", pr.payment_method AS \"paymentMethod\", pr.paid_date AS \"paidDate\", " +
+            "pr.transaction_id AS \"transactionId\", pr.notes AS \"notes\", pr.created_at AS \"createdAt\" " +
+            "FROM payment_records pr JOIN invoices i ON i.id = pr.invoice_id",
+            "i.clinic_code", "pr.paid_date", true, "pr.id"),
+        "medical-records", new Dataset(
+            "SELECT mr.id AS \"id\", mr.date AS \"date\", mr.type AS \"type\", mr.status AS \"status\", " +
+            "mr.title AS \"title\", mr.description AS \"description\", mr.notes AS \"notes\", " +
+            "mr.attachments AS \"attachments\", mr.pet_id AS \"petId\", p.name AS \"petName\", " +
+            "p.owner_id AS \"ownerId\", mr.veterinarian_id AS \"veterinarianId\", v.name AS \"veterinarianName\", " +
+            "mr.created_at AS \"createdAt\", mr.updated_at AS \"updatedAt\" " +
+            "FROM medical_records mr LEFT JOIN pets p ON p.id = mr.pet_id " +
+            "LEFT JOIN veterinarians v ON v.id = mr.veterinarian_id",
+            "mr.clinic_code", "mr.date", false, "mr.id"));
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    public boolean hasDataset(String dataset) {
+        return DATASETS.containsKey(dataset);
+    }
+
+    // from and to are inclusive days on the dataset's own date: issue date, appointment date,
+    // payment date or record date. The output is flushed but not closed.
+    @Transactional(readOnly = true)
+    public void export(String dataset, Format format, String clinicCode, LocalDate from, LocalDate to, OutputStream out) {
+        Dataset source = DATASETS.get(dataset);
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(source.select()).append(" WHERE ").append(source.clinicColumn()).append(" = ?");
+        params.add(clinicCode);
+        if (from != null) {
+            sql.append(" AND ").append(source.dateColumn()).append(" >= ?");
+            params.add(source.timestamp() ? Timestamp.valueOf(from.atStartOfDay()) : Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND ").append(source.dateColumn()).append(source.timestamp() ? " < ?" : " <= ?");
+            params.add(source.timestamp() ? Timestamp.valueOf(to.plusDays(1).atStartOfDay()) : Date.valueOf(to));
+        }
+        sql.append(" ORDER BY ").append(source.orderBy());
+
+        ResultSetExtractor<Void> writer = format == Format.CSV ? rs -> writeCsv(rs, out) : rs -> writeNdjson(rs, out);
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(sql.toString(),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, writer);
+    }
+
+    private Void writeNdjson(ResultSet rs, OutputStream out) throws SQLException {
+        String[] columns = columns(rs.getMetaData());
+        int firstItemColumn = firstItemColumn(columns);
+        try {
+            JsonGenerator json = JSON.createGenerator(out, JsonEncoding.UTF8);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            Object currentId = null;
+            while (rs.next()) {
+                Object id = rs.getObject(1);
+                if (firstItemColumn < 0 || !Objects.equals(id, currentId)) {
+                    if (currentId != null) {
+                        endRecord(json, firstItemColumn);
+                    }
+                    currentId = id;
+                    json.writeStartObject();
+                    int end = firstItemColumn < 0 ? columns.length : firstItemColumn;
+                    for (int i = 0; i < end; i++) {
+                        json.writeFieldName(columns[i]);
+                        writeJsonValue(json, value(rs, i + 1));
+                    }
+                    if (firstItemColumn >= 0) {
+                        json.writeArrayFieldStart("items");
+                    }
+                }
+                // An invoice without items still has one row, with a null item id
+                if (firstItemColumn >= 0 && rs.getObject(firstItemColumn + 1) != null) {
+                    json.writeStartObject();
+                    for (int i = firstItemColumn; i < columns.length; i++) {
+                        json.writeFieldName(columns[i].substring(ITEM_PREFIX.length()));
+                        writeJsonValue(json, value(rs, i + 1));
+                    }
+                    json.writeEndObject();
+                }
+            }
+            if (currentId != null) {
+                endRecord(json, firstItemColumn);
+            }
+            json.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    private static void endRecord(JsonGenerator json, int firstItemColumn) throws IOException {
+        if (firstItemColumn >= 0) {
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private Void writeCsv(ResultSet rs, OutputStream out) throws SQLException {
+        String[] columns = columns(rs.getMetaData());
+        try {
+            Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (int i = 0; i < columns.length; i++) {
+                csv.write(i > 0 ? "," : "");
+                csv.write(csvField(columns[i]));
+            }
+            csv.write("\r\n");
+            while (rs.next()) {
+                for (int i = 0; i < columns.length; i++) {
+                    Object value = value(rs, i + 1);
+                    csv.write(i > 0 ? "," : "");
+                    csv.write(value != null ? csvField(value.toString()) : "");
+                }
+                csv.write("\r\n");
+            }
+            csv.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    private static String[] columns(ResultSetMetaData metaData) throws SQLException {
+        String[] columns = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = metaData.getColumnLabel(i + 1);
+        }
+        return columns;
+    }
+
+    private static int firstItemColumn(String[] columns) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].startsWith(ITEM_PREFIX)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // JDBC date and time types as their java.time equivalents, which print as ISO-8601
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof Time time) {
+            return time.toLocalTime();
+        }
+        return value;
+    }
+
+    private static void writeJsonValue(JsonGenerator json, Object value) throws IOException {
+        if (value == null) {
+            json.writeNull();
+        } else if (value instanceof BigDecimal decimal) {
+            json.writeNumber(decimal);
+        } else if (value instanceof Long || value instanceof Integer) {
+            json.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Boolean bool) {
+            json.writeBoolean(bool);
+        } else {
+            json.writeString(value.toString());
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private record Dataset(String select, String clinicColumn, String dateColumn, boolean timestamp, String orderBy) {}
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.pawcare.hub.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Reads an import body one row at a time, either CSV with a header line (RFC 4180 quoting,
+// quoted fields may span lines) or NDJSON with one flat object per line. Values are kept as
+// text and blank values count as missing. A row that cannot be parsed comes back with an error
+// instead of values, so the rest of the file can still be imported.
+public class ImportReader {
+
+    public enum Format { CSV, NDJSON }
+
+    public record Row(long line, Map<String, String> values, String error) {
+        public String get(String name) {
+            String value = values.get(name);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final BufferedReader reader;
+    private final Format format;
+    private List<String> header;
+    private long line = 1;
+
+    public ImportReader(InputStream in, Format format) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+    }
+
+    // Null at the end of the input
+    public Row next() throws IOException {
+        return format == Format.CSV ? nextCsv() : nextNdjson();
+    }
+
+    private Row nextNdjson() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            long number = line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                JsonNode node = JSON.readTree(text);
+                if (!node.isObject()) {
+                    return new Row(number, Map.of(), "Expected a JSON object");
+                }
+                Map<String, String> values = new HashMap<>();
+                for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    if (field.getValue().isContainerNode()) {
+                        return new Row(number, Map.of(), "Nested value in " + field.getKey());
+                    }
+                    values.put(field.getKey(), field.getValue().isNull() ? null : field.getValue().asText());
+                }
+                return new Row(number, values, null);
+            } catch (IOException e) {
+                return new Row(number, Map.of(), "Invalid JSON");
+            }
+        }
+        return null;
+    }
+
+    private Row nextCsv() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) {
+                return null;
+            }
+            header = new ArrayList<>();
+            for (String name : names) {
+                header.add(name.replace("\uFEFF", "").trim());
+            }
+        }
+        while (true) {
+            long number = line;
+            List<String> fields;
+            try {
+                fields = readRecord();
+            } catch (IllegalStateException e) {
+                return new Row(number, Map.of(), e.getMessage());
+            }
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            if (fields.size() != header.size()) {
+                return new Row(number, Map.of(), "Expected " + header.size() + " fields, found " + fields.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                values.put(header.get(i), fields.get(i));
+            }
+            return new Row(number, values, null);
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalStateException("Unterminated quoted field");
+        }
+        if (!read) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
\ No newline at end of file
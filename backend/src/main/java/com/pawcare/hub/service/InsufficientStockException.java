@@ -0,0 +1,28 @@
+package com.pawcare.hub.service;
+
+// A stock change that would take an item below zero
+public class InsufficientStockException extends RuntimeException {
+
+    private final Long itemId;
+    private final int available;
+    private final int requested;
+
+    public InsufficientStockException(Long itemId, int available, int requested) {
+        super("Insufficient stock for item " + itemId + ": " + available + " available, " + requested + " requested");
+        this.itemId = itemId;
+        this.available = available;
+        this.requested = requested;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.entity.InventoryAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps inventory_items.status and the inventory_alerts table current. Stock writes refresh the
+// alerts of the items they touch in their own transaction; the scheduled job handles what only
+// the passing of time changes, walking each clinic's items in expiry order on
+// (clinic_code, expiry_date) to mark them EXPIRED and raise EXPIRING and EXPIRED alerts.
+@Service
+public class InventoryAlertService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryAlertService.class);
+
+    // Locked in id order, like StockService, so the job cannot deadlock with a stock write
+    private static final String EXPIRE_SQL = "UPDATE inventory_items SET status = 'EXPIRED', updated_at = LOCALTIMESTAMP " +
+        "WHERE id IN (SELECT id FROM inventory_items WHERE clinic_code = ? AND expiry_date < CURRENT_DATE " +
+        "AND status IS DISTINCT FROM 'EXPIRED' ORDER BY id FOR NO KEY UPDATE)";
+
+    private static final String EXPIRY_TYPE = "CASE WHEN i.expiry_date < CURRENT_DATE THEN 'EXPIRED' " +
+        "WHEN i.expiry_date <= CURRENT_DATE + CAST(? AS INTEGER) THEN 'EXPIRING' END";
+
+    private static final String STOCK_TYPE = "CASE WHEN COALESCE(i.current_stock, 0) <= 0 THEN 'OUT_OF_STOCK' " +
+        "WHEN i.min_stock IS NOT NULL AND i.current_stock <= i.min_stock THEN 'LOW_STOCK' END";
+
+    // Every alert the given items should have
+    private static final String ITEM_ALERTS_SQL = "SELECT i.id, i.clinic_code, i.name, t.type, i.current_stock, i.min_stock, i.expiry_date " +
+        "FROM inventory_items i CROSS JOIN LATERAL (VALUES (" + EXPIRY_TYPE + "), (" + STOCK_TYPE + ")) AS t(type) " +
+        "WHERE i.clinic_code = ? AND i.id = ANY(CAST(? AS BIGINT[])) AND t.type IS NOT NULL";
+
+    // Expiry alerts of the whole clinic, as an index range scan up to the end of the window
+    private static final String EXPIRY_ALERTS_SQL = "SELECT i.id, i.clinic_code, i.name, " + EXPIRY_TYPE + " AS type, " +
+        "i.current_stock, i.min_stock, i.expiry_date FROM inventory_items i " +
+        "WHERE i.clinic_code = ? AND i.expiry_date <= CURRENT_DATE + CAST(? AS INTEGER)";
+
+    // Deletes the alerts in scope that are no longer wanted and inserts the new ones, returning
+    // the rows written; raised is false for an existing alert whose copied values changed
+    private static final String SYNC_SQL = "WITH wanted AS (%s), " +
+        "cleared AS (DELETE FROM inventory_alerts a WHERE a.clinic_code = ? AND %s " +
+        "AND NOT EXISTS (SELECT 1 FROM wanted w WHERE w.id = a.inventory_item_id AND w.type = a.type)) " +
+        "INSERT INTO inventory_alerts (clinic_code, inventory_item_id, item_name, type, current_stock, min_stock, " +
+        "expiry_date, raised_at, updated_at) " +
+        "SELECT w.clinic_code, w.id, w.name, w.type, w.current_stock, w.min_stock, w.expiry_date, LOCALTIMESTAMP, LOCALTIMESTAMP " +
+        "FROM wanted w ON CONFLICT (inventory_item_id, type) %s " +
+        "RETURNING inventory_item_id, item_name, type, current_stock, min_stock, expiry_date, (xmax = 0) AS raised";
+
+    private static final String ITEM_SCOPE = "a.inventory_item_id = ANY(CAST(? AS BIGINT[]))";
+
+    private static final String EXPIRY_SCOPE = "a.type IN ('EXPIRING', 'EXPIRED')";
+
+    private static final String UPDATE_COPY = "DO UPDATE SET item_name = EXCLUDED.item_name, " +
+        "current_stock = EXCLUDED.current_stock, min_stock = EXCLUDED.min_stock, expiry_date = EXCLUDED.expiry_date, " +
+        "updated_at = EXCLUDED.updated_at WHERE (inventory_alerts.item_name, inventory_alerts.current_stock, " +
+        "inventory_alerts.min_stock, inventory_alerts.expiry_date) IS DISTINCT FROM " +
+        "(EXCLUDED.item_name, EXCLUDED.current_stock, EXCLUDED.min_stock, EXCLUDED.expiry_date)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClinicRegistry clinicRegistry;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private ActivityStreamHub activityStreamHub;
+
+    @Value("${inventory.alerts.expiring-days:30}")
+    private int expiringDays;
+
+    public int getExpiringDays() {
+        return expiringDays;
+    }
+
+    // Brings the alerts of items whose stock, minimum or expiry date was just written up to date.
+    // Called in the writing transaction with the item rows locked.
+    public void refresh(String clinicCode, Long[] itemIds) {
+        if (itemIds.length == 0) {
+            return;
+        }
+        String sql = String.format(SYNC_SQL, ITEM_ALERTS_SQL, ITEM_SCOPE, UPDATE_COPY);
+        publish(clinicCode, jdbcTemplate.query(sql, this::mapAlert, expiringDays, clinicCode, itemIds, clinicCode, itemIds));
+    }
+
+    @Scheduled(initialDelayString = "${inventory.alerts.initial-delay:PT30S}",
+               fixedDelayString = "${inventory.alerts.refresh-interval:PT15M}")
+    public void refreshExpiry() {
+        for (String clinicCode : clinicRegistry.getClinicCodes()) {
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> refreshExpiry(clinicCode));
+            } catch (RuntimeException e) {
+                logger.warn("Inventory alert refresh failed for clinic {}", clinicCode, e);
+            }
+        }
+    }
+
+    // Stock alerts are left to the writes that change stock; an existing expiry alert is kept
+    // as is, since a concurrent write may already have refreshed it with newer values
+    public void refreshExpiry(String clinicCode) {
+        int expired = jdbcTemplate.update(EXPIRE_SQL, clinicCode);
+        String sql = String.format(SYNC_SQL, EXPIRY_ALERTS_SQL, EXPIRY_SCOPE, "DO NOTHING");
+        List<Map<String, Object>> written = jdbcTemplate.query(sql, this::mapAlert, expiringDays, clinicCode, expiringDays, clinicCode);
+        publish(clinicCode, written);
+        if (expired > 0 || !written.isEmpty()) {
+            logger.info("Clinic {}: {} items expired, {} expiry alerts raised", clinicCode, expired, written.size());
+            dashboardCache.invalidate(clinicCode, DashboardCache.DataSource.INVENTORY);
+        }
+    }
+
+    private void publish(String clinicCode, List<Map<String, Object>> written) {
+        for (Map<String, Object> alert : written) {
+            if (Boolean.TRUE.equals(alert.remove("raised"))) {
+                activityStreamHub.publish(clinicCode, ActivityStreamHub.INVENTORY_ALERT, alert);
+            }
+        }
+    }
+
+    private Map<String, Object> mapAlert(ResultSet rs, int rowNum) throws SQLException {
+        Map<String, Object> alert = new LinkedHashMap<>();
+        alert.put("itemId", rs.getLong("inventory_item_id"));
+        alert.put("item", rs.getString("item_name"));
+        alert.put("type", InventoryAlert.AlertType.valueOf(rs.getString("type")));
+        alert.put("currentStock", rs.getObject("current_stock"));
+        alert.put("minStock", rs.getObject("min_stock"));
+        Date expiryDate = rs.getDate("expiry_date");
+        alert.put("expiryDate", expiryDate != null ? expiryDate.toLocalDate() : null);
+        alert.put("raised", rs.getBoolean("raised"));
+        return alert;
+    }
+}
\ No newline at end of file
@@ -1,45 +1,113 @@
 package com.pawcare.hub.service;
 
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
+import com.pawcare.hub.entity.InventoryAlert;
 import com.pawcare.hub.entity.InventoryItem;
+import com.pawcare.hub.entity.StockMovement;
+import com.pawcare.hub.repository.InventoryAlertRepository;
 import com.pawcare.hub.repository.InventoryItemRepository;
+import com.pawcare.hub.repository.ListSpecifications;
+import com.pawcare.hub.repository.StockMovementRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class InventoryService {
 
+    private static final Set<String> SORTABLE = Set.of("name", "category", "sku", "currentStock", "unitPrice", "expiryDate", "status", "createdAt");
+    private static final Set<String> MOVEMENT_SORTABLE = Set.of("createdAt");
+    private static final List<InventoryAlert.AlertType> STOCK_ALERTS = List.of(InventoryAlert.AlertType.LOW_STOCK, InventoryAlert.AlertType.OUT_OF_STOCK);
+    private static final List<InventoryAlert.AlertType> EXPIRY_ALERTS = List.of(InventoryAlert.AlertType.EXPIRING, InventoryAlert.AlertType.EXPIRED);
+
     @Autowired
     private InventoryItemRepository inventoryItemRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private InventoryAlertService inventoryAlertService;
+
+    @Autowired
+    private InventoryAlertRepository inventoryAlertRepository;
+
+    @Autowired
+    private ClinicContextService clinicContextService;
+
+    @Autowired
+    private ListQueryService listQueryService;
     
     @Autowired
     private ActivityService activityService;
 
-    public List<InventoryItem> getAllInventoryItems() {
-        return inventoryItemRepository.findAll();
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private ActivityStreamHub activityStreamHub;
+
+    public ListPage<InventoryItem> listInventoryItems(InventoryItem.ItemCategory category, InventoryItem.StockStatus status,
+                                                      String search, ListRequest request) {
+        Specification<InventoryItem> filter = Specification
+            .<InventoryItem>where(ListSpecifications.equal("category", category))
+            .and(ListSpecifications.equal("status", status))
+            .and(ListSpecifications.contains(search, "name", "sku", "description"));
+        return listQueryService.find(InventoryItem.class, inventoryItemRepository, filter, request, SORTABLE);
+    }
+
+    public ListPage<StockMovement> listStockMovements(Long itemId, StockMovement.MovementType type, ListRequest request) {
+        Specification<StockMovement> filter = Specification
+            .<StockMovement>where(ListSpecifications.equal("inventoryItemId", itemId))
+            .and(ListSpecifications.equal("type", type));
+        return listQueryService.find(StockMovement.class, stockMovementRepository, filter, request, MOVEMENT_SORTABLE);
     }
 
     public Optional<InventoryItem> getInventoryItemById(Long id) {
-        return inventoryItemRepository.findById(id);
+        return inventoryItemRepository.findScopedById(id);
     }
 
-    public InventoryItem saveInventoryItem(InventoryItem item) {
+    // Stock on an existing item is not written by the save; a countedStock that differs from the
+    // stored level is applied as a stock count, and the status is recomputed either way
+    public InventoryItem saveInventoryItem(InventoryItem item, Integer countedStock) {
         boolean isNew = item.getId() == null;
         InventoryItem saved = inventoryItemRepository.save(item);
+        if (isNew) {
+            stockService.recordOpeningStock(saved);
+        } else if (countedStock != null) {
+            saved = stockService.count(saved.getClinicCode(), saved.getId(), countedStock, "Stock count");
+        } else {
+            saved = stockService.refreshStatus(saved.getClinicCode(), saved.getId());
+        }
         String action = isNew ? "CREATE" : "UPDATE";
         String description = isNew ? "Inventory item added" : "Inventory item updated";
         activityService.logActivity(action, "INVENTORY", saved.getId(), saved.getName(), description);
+        dashboardCache.invalidate(saved.getClinicCode(), DashboardCache.DataSource.INVENTORY);
         return saved;
     }
 
+    public InventoryItem saveInventoryItem(InventoryItem item) {
+        return saveInventoryItem(item, null);
+    }
+
     public void deleteInventoryItem(Long id) {
-        Optional<InventoryItem> item = inventoryItemRepository.findById(id);
+        Optional<InventoryItem> item = inventoryItemRepository.findScopedById(id);
         if (item.isPresent()) {
             String itemName = item.get().getName();
             inventoryItemRepository.deleteById(id);
             activityService.logActivity("DELETE", "INVENTORY", id, itemName, "Inventory item removed");
+            dashboardCache.invalidate(item.get().getClinicCode(), DashboardCache.DataSource.INVENTORY);
         }
     }
 
@@ -55,33 +123,60 @@ public class InventoryService {
         return inventoryItemRepository.findByNameContainingIgnoreCase(name);
     }
 
+    // Read from the alerts kept by InventoryAlertService
     public List<InventoryItem> getLowStockItems() {
-        return inventoryItemRepository.findLowStockItems();
+        return inventoryItemRepository.findAlerted(clinicContextService.getClinicCode(), STOCK_ALERTS,
+            Sort.by("currentStock", "id"));
     }
 
     public List<InventoryItem> getExpiringItems(int daysAhead) {
+        String clinicCode = clinicContextService.getClinicCode();
         LocalDate expiryDate = LocalDate.now().plusDays(daysAhead);
-        return inventoryItemRepository.findExpiringItems(expiryDate);
+        if (daysAhead > inventoryAlertService.getExpiringDays()) {
+            return inventoryItemRepository.findExpiringItems(clinicCode, expiryDate);
+        }
+        return inventoryItemRepository.findAlerted(clinicCode, EXPIRY_ALERTS, Sort.by("expiryDate", "id")).stream()
+            .filter(item -> item.getExpiryDate() != null && !item.getExpiryDate().isAfter(expiryDate))
+            .toList();
+    }
+
+    public List<InventoryAlert> getAlerts(InventoryAlert.AlertType type) {
+        List<InventoryAlert.AlertType> types = type != null ? List.of(type) : List.of(InventoryAlert.AlertType.values());
+        return inventoryAlertRepository.findByClinicCodeAndTypes(clinicContextService.getClinicCode(), types);
+    }
+
+    public List<InventoryAlert> getStockAlerts(String clinicCode) {
+        return inventoryAlertRepository.findByClinicCodeAndTypes(clinicCode, STOCK_ALERTS);
+    }
+
+    public long countStockAlerts(String clinicCode) {
+        return inventoryAlertRepository.countByClinicCodeAndTypes(clinicCode, STOCK_ALERTS);
     }
 
     public InventoryItem getInventoryItemBySku(String sku) {
         return inventoryItemRepository.findBySku(sku);
     }
 
+    // Null when the item does not exist; throws InsufficientStockException rather than go below zero
     public InventoryItem adjustStock(Long itemId, int quantity, String reason) {
-        Optional<InventoryItem> itemOpt = inventoryItemRepository.findById(itemId);
-        if (itemOpt.isPresent()) {
-            InventoryItem item = itemOpt.get();
-            item.setCurrentStock(item.getCurrentStock() + quantity);
-            if (quantity > 0) {
-                item.setLastRestocked(LocalDate.now());
-            }
-            InventoryItem saved = inventoryItemRepository.save(item);
-            String action = quantity > 0 ? "STOCK_IN" : "STOCK_OUT";
-            String description = reason != null ? reason : (quantity > 0 ? "Stock added" : "Stock removed");
-            activityService.logActivity(action, "INVENTORY", saved.getId(), saved.getName(), description);
-            return saved;
+        if (quantity == 0) {
+            throw new IllegalArgumentException("Quantity must not be zero");
         }
-        return null;
+        StockMovement.MovementType type = quantity > 0 ? StockMovement.MovementType.STOCK_IN : StockMovement.MovementType.STOCK_OUT;
+        InventoryItem saved = stockService.adjust(clinicContextService.getClinicCode(), itemId, quantity, type, reason);
+        if (saved == null) {
+            return null;
+        }
+        String description = reason != null ? reason : (quantity > 0 ? "Stock added" : "Stock removed");
+        activityService.logActivity(type.name(), "INVENTORY", saved.getId(), saved.getName(), description);
+        dashboardCache.invalidate(saved.getClinicCode(), DashboardCache.DataSource.INVENTORY);
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("itemId", saved.getId());
+        event.put("name", saved.getName());
+        event.put("quantity", quantity);
+        event.put("currentStock", saved.getCurrentStock());
+        event.put("status", saved.getStatus());
+        activityStreamHub.publish(saved.getClinicCode(), ActivityStreamHub.STOCK_ADJUSTED, event);
+        return saved;
     }
 }
\ No newline at end of file
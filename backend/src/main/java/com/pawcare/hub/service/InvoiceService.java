@@ -1,32 +1,63 @@
 package com.pawcare.hub.service;
 
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.Invoice;
 import com.pawcare.hub.repository.InvoiceRepository;
+import com.pawcare.hub.repository.ListSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class InvoiceService {
 
+    private static final Set<String> SORTABLE = Set.of("invoiceNumber", "issueDate", "dueDate", "paidDate", "total", "status", "createdAt");
+
     @Autowired
     private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private ListQueryService listQueryService;
     
     @Autowired
     private ActivityService activityService;
+    
+    @Autowired
+    private ClinicContextService clinicContextService;
+    
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
 
-    public List<Invoice> getAllInvoices() {
-        return invoiceRepository.findAll();
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private DispensingService dispensingService;
+
+    public ListPage<Invoice> listInvoices(Long ownerId, Long petId, Invoice.InvoiceStatus status, ListRequest request) {
+        Specification<Invoice> filter = Specification
+            .<Invoice>where(ListSpecifications.equal("clinicCode", clinicContextService.getClinicCode()))
+            .and(ListSpecifications.equal("owner.id", ownerId))
+            .and(ListSpecifications.equal("pet.id", petId))
+            .and(ListSpecifications.equal("status", status));
+        return listQueryService.find(Invoice.class, invoiceRepository, filter, request, SORTABLE);
     }
 
     public Optional<Invoice> getInvoiceById(Long id) {
-        return invoiceRepository.findById(id);
+        return invoiceRepository.findScopedById(id);
     }
 
     public Invoice saveInvoice(Invoice invoice) {
+        if (invoice.getClinicCode() == null) {
+            invoice.setClinicCode(clinicContextService.getClinicCode());
+        }
+        
         // Set up bidirectional relationship for items
         if (invoice.getItems() != null) {
             invoice.getItems().forEach(item -> item.setInvoice(invoice));
@@ -36,21 +67,29 @@ public class InvoiceService {
         calculateInvoiceTotals(invoice);
         boolean isNew = invoice.getId() == null;
         Invoice saved = invoiceRepository.save(invoice);
+        if (saved.getStatus() == Invoice.InvoiceStatus.CANCELLED) {
+            dispensingService.apply(DispensingService.Action.RELEASE, List.of(saved.getId()), List.of());
+        }
         String action = isNew ? "CREATE" : "UPDATE";
         String petName = saved.getPet() != null ? saved.getPet().getName() : "Unknown Pet";
         String description = isNew ? "Invoice created" : "Invoice updated";
         activityService.logActivity(action, "INVOICE", saved.getId(), 
             "Invoice for " + petName, description);
+        dashboardRollupService.refreshForInvoice(saved);
+        dashboardCache.invalidate(saved.getClinicCode(), DashboardCache.DataSource.INVOICES);
         return saved;
     }
 
     public void deleteInvoice(Long id) {
-        Optional<Invoice> invoice = invoiceRepository.findById(id);
+        Optional<Invoice> invoice = invoiceRepository.findScopedById(id);
         if (invoice.isPresent()) {
             String petName = invoice.get().getPet() != null ? invoice.get().getPet().getName() : "Unknown Pet";
+            dispensingService.apply(DispensingService.Action.RELEASE, List.of(id), List.of());
             invoiceRepository.deleteById(id);
             activityService.logActivity("DELETE", "INVOICE", id, 
                 "Invoice for " + petName, "Invoice deleted");
+            dashboardRollupService.refreshForInvoice(invoice.get());
+            dashboardCache.invalidate(invoice.get().getClinicCode(), DashboardCache.DataSource.INVOICES);
         }
     }
 
@@ -1,17 +1,27 @@
 package com.pawcare.hub.service;
 
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.LabTest;
 import com.pawcare.hub.repository.LabTestRepository;
+import com.pawcare.hub.repository.ListSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class LabTestService {
 
+    private static final Set<String> SORTABLE = Set.of("testType", "requestedDate", "completedDate", "status", "createdAt");
+
     @Autowired
     private LabTestRepository labTestRepository;
+
+    @Autowired
+    private ListQueryService listQueryService;
     
     @Autowired
     private ActivityService activityService;
@@ -20,8 +30,16 @@ public class LabTestService {
         return labTestRepository.findAll();
     }
 
+    public ListPage<LabTest> listLabTests(Long petId, Long veterinarianId, LabTest.TestStatus status, ListRequest request) {
+        Specification<LabTest> filter = Specification
+            .<LabTest>where(ListSpecifications.equal("pet.id", petId))
+            .and(ListSpecifications.equal("veterinarian.id", veterinarianId))
+            .and(ListSpecifications.equal("status", status));
+        return listQueryService.find(LabTest.class, labTestRepository, filter, request, SORTABLE);
+    }
+
     public Optional<LabTest> getLabTestById(Long id) {
-        return labTestRepository.findById(id);
+        return labTestRepository.findScopedById(id);
     }
 
     public LabTest saveLabTest(LabTest labTest) {
@@ -36,7 +54,7 @@ public class LabTestService {
     }
 
     public void deleteLabTest(Long id) {
-        Optional<LabTest> labTest = labTestRepository.findById(id);
+        Optional<LabTest> labTest = labTestRepository.findScopedById(id);
         if (labTest.isPresent()) {
             String petName = labTest.get().getPet() != null ? labTest.get().getPet().getName() : "Unknown Pet";
             labTestRepository.deleteById(id);
@@ -50,7 +68,7 @@ public class LabTestService {
     }
 
     public LabTest updateLabTestStatus(Long id, LabTest.TestStatus status) {
-        Optional<LabTest> labTest = labTestRepository.findById(id);
+        Optional<LabTest> labTest = labTestRepository.findScopedById(id);
         if (labTest.isPresent()) {
             labTest.get().setStatus(status);
             LabTest saved = labTestRepository.save(labTest.get());
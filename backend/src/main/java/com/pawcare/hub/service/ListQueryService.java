@@ -0,0 +1,131 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.dto.ListCursor;
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Service;
+import java.beans.PropertyDescriptor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Runs the list endpoints: a filter, one whitelisted sort property with id as tie-breaker, and
+// keyset paging on (sort value, id) so deep pages cost the same as the first one. Every page is
+// capped at api.list.max-limit rows; the total is counted only when a client asks for it.
+@Service
+public class ListQueryService {
+
+    private static final String ID = "id";
+
+    @Value("${api.list.default-limit:100}")
+    private int defaultLimit;
+
+    @Value("${api.list.max-limit:500}")
+    private int maxLimit;
+
+    // Throws IllegalArgumentException for a sort outside sortable or a cursor that does not
+    // belong to the requested sort
+    public <T> ListPage<T> find(Class<T> type, JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                ListRequest request, Set<String> sortable) {
+        int limit = request.getLimit() != null ? Math.max(1, Math.min(request.getLimit(), maxLimit)) : defaultLimit;
+        String property = ID;
+        boolean descending = false;
+        if (request.getSort() != null && !request.getSort().isBlank()) {
+            String[] parts = request.getSort().split(",");
+            property = parts[0].trim();
+            if (!property.equals(ID) && !sortable.contains(property)) {
+                throw new IllegalArgumentException("Cannot sort by " + property + "; allowed: id, " +
+                    String.join(", ", new TreeSet<>(sortable)));
+            }
+            String direction = parts.length > 1 ? parts[1].trim().toLowerCase() : "asc";
+            if (!direction.equals("asc") && !direction.equals("desc")) {
+                throw new IllegalArgumentException("Sort direction must be asc or desc");
+            }
+            descending = direction.equals("desc");
+        }
+
+        Specification<T> page = Specification.where(filter);
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            ListCursor cursor = ListCursor.decode(request.getCursor());
+            if (!cursor.matches(property, descending)) {
+                throw new IllegalArgumentException("Cursor belongs to a different sort order");
+            }
+            page = page.and(after(cursor, parseValue(type, property, cursor.getValue())));
+        }
+
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = property.equals(ID) ? Sort.by(direction, ID) : Sort.by(direction, property, ID);
+        // One row beyond the page tells whether there is a next one
+        List<T> rows = repository.findBy(page, query -> query.sortBy(sort).limit(limit + 1).all());
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            nextCursor = cursorAfter(rows.get(limit - 1), property, descending).encode();
+        }
+        Long total = request.isIncludeTotal() ? repository.count(Specification.where(filter)) : null;
+        return new ListPage<>(rows, nextCursor, total);
+    }
+
+    // Rows strictly after the cursor in (property, id) order. PostgreSQL sorts nulls last when
+    // ascending and first when descending, and the conditions follow that.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Specification<T> after(ListCursor cursor, Comparable value) {
+        boolean descending = cursor.isDescending();
+        Long lastId = cursor.getId();
+        return (root, query, cb) -> {
+            Path<Long> id = root.get(ID);
+            Predicate idAfter = descending ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+            if (cursor.getProperty().equals(ID)) {
+                return idAfter;
+            }
+            Path<Comparable> key = root.get(cursor.getProperty());
+            if (value == null) {
+                Predicate inNulls = cb.and(cb.isNull(key), idAfter);
+                return descending ? cb.or(inNulls, cb.isNotNull(key)) : inNulls;
+            }
+            Predicate next = cb.or(
+                descending ? cb.lessThan(key, value) : cb.greaterThan(key, value),
+                cb.and(cb.equal(key, value), idAfter));
+            return descending ? next : cb.or(next, cb.isNull(key));
+        };
+    }
+
+    private static ListCursor cursorAfter(Object row, String property, boolean descending) {
+        Object id = PropertyAccessorFactory.forBeanPropertyAccess(row).getPropertyValue(ID);
+        Object value = property.equals(ID) ? id : PropertyAccessorFactory.forBeanPropertyAccess(row).getPropertyValue(property);
+        String text = value instanceof Enum<?> constant ? constant.name() : value != null ? value.toString() : null;
+        return new ListCursor(property, descending, text, (Long) id);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable parseValue(Class<?> type, String property, String value) {
+        if (value == null || property.equals(ID)) {
+            return null;
+        }
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, property);
+        Class<?> valueType = descriptor != null ? descriptor.getPropertyType() : String.class;
+        try {
+            if (valueType == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            if (valueType == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            return (Comparable) DefaultConversionService.getSharedInstance().convert(value, valueType);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid list cursor", e);
+        }
+    }
+}
\ No newline at end of file
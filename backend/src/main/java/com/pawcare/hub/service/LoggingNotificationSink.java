@@ -0,0 +1,35 @@
+package com.pawcare.hub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "notifications.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationSink implements NotificationSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingNotificationSink.class);
+
+    @Override
+    public void send(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            logger.info("[{}] {} to {}: {} - {}", notification.clinicCode(), notification.channel(),
+                mask(notification.recipient()), notification.subject(), notification.message());
+        }
+    }
+
+    // Keeps the log free of contact details: j***@example.com, ******4567
+    static String mask(String recipient) {
+        if (recipient == null || recipient.isEmpty()) {
+            return recipient;
+        }
+        int at = recipient.indexOf('@');
+        if (at >= 0) {
+            return (at > 0 ? recipient.charAt(0) : "") + "***" + recipient.substring(at);
+        }
+        int visible = Math.min(4, recipient.length() / 3);
+        return "*".repeat(recipient.length() - visible) + recipient.substring(recipient.length() - visible);
+    }
+}
\ No newline at end of file
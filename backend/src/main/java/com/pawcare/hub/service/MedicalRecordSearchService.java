@@ -0,0 +1,90 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.dto.ListCursor;
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
+import com.pawcare.hub.entity.MedicalRecord;
+import com.pawcare.hub.repository.MedicalRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Full-text search over medical records backed by the search_vector column and its GIN index
+// (V5__medical_record_search.sql). Every word of the search must match, the last one as a prefix
+// so results show up while the user is still typing; results are ranked by relevance, then date.
+// Relevance has no stable key to seek from, so search pages by offset; the offset travels in the
+// same opaque cursor the keyset lists use.
+@Service
+public class MedicalRecordSearchService {
+
+    // Only letters and digits reach to_tsquery, so its operators can never be injected
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int MAX_WORDS = 8;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final String RELEVANCE = "relevance";
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Value("${medical-records.search.max-page-size:100}")
+    private int maxPageSize;
+
+    public ListPage<MedicalRecord> search(String text, String clinicCode, ListRequest request) {
+        if (request.getSort() != null && !request.getSort().isBlank()) {
+            throw new IllegalArgumentException("Search results are ordered by relevance and cannot be sorted");
+        }
+        int offset = 0;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            ListCursor cursor = ListCursor.decode(request.getCursor());
+            if (!cursor.matches(RELEVANCE, false)) {
+                throw new IllegalArgumentException("Cursor does not belong to a search");
+            }
+            offset = cursor.getId().intValue();
+        }
+        int size = request.getLimit() != null ? Math.min(Math.max(request.getLimit(), 1), maxPageSize) : DEFAULT_PAGE_SIZE;
+        String query = toPrefixQuery(text);
+        if (query == null) {
+            return new ListPage<>(Collections.emptyList(), null, request.isIncludeTotal() ? 0L : null);
+        }
+        List<MedicalRecord> records = medicalRecordRepository.searchFullText(query, clinicCode, size + 1, offset);
+        String nextCursor = null;
+        if (records.size() > size) {
+            records = new ArrayList<>(records.subList(0, size));
+            nextCursor = new ListCursor(RELEVANCE, false, null, (long) offset + size).encode();
+        }
+        Long total = request.isIncludeTotal() ? medicalRecordRepository.countFullText(query, clinicCode) : null;
+        return new ListPage<>(records, nextCursor, total);
+    }
+
+    public void index(Long recordId) {
+        medicalRecordRepository.refreshSearchVector(recordId);
+    }
+
+    // The pet name is part of each record's vector, so a rename has to reach all of them
+    public void reindexPet(Long petId) {
+        medicalRecordRepository.refreshSearchVectorsForPet(petId);
+    }
+
+    static String toPrefixQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        List<String> words = new ArrayList<>();
+        Matcher matcher = WORD.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find() && words.size() < MAX_WORDS) {
+            words.add(matcher.group());
+        }
+        if (words.isEmpty()) {
+            return null;
+        }
+        int last = words.size() - 1;
+        words.set(last, words.get(last) + ":*");
+        return String.join(" & ", words);
+    }
+}
\ No newline at end of file
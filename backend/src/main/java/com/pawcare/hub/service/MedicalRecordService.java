@@ -1,36 +1,61 @@
 package com.pawcare.hub.service;
 
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.MedicalRecord;
+import com.pawcare.hub.repository.ListSpecifications;
 import com.pawcare.hub.repository.MedicalRecordRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class MedicalRecordService {
 
+    private static final Set<String> SORTABLE = Set.of("date", "type", "title", "status", "createdAt");
+
     @Autowired
     private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private ListQueryService listQueryService;
     
     @Autowired
     private ActivityService activityService;
 
+    @Autowired
+    private MedicalRecordSearchService medicalRecordSearchService;
+
     public List<MedicalRecord> getAllMedicalRecords() {
         return medicalRecordRepository.findAll();
     }
 
-    public List<MedicalRecord> getAllMedicalRecordsByClinic(String clinicCode) {
-        return medicalRecordRepository.findByClinicCode(clinicCode);
+    public ListPage<MedicalRecord> listMedicalRecords(String clinicCode, Long petId, Long ownerId, MedicalRecord.RecordType type,
+                                                      ListRequest request) {
+        Specification<MedicalRecord> filter = Specification
+            .<MedicalRecord>where(ListSpecifications.equal("clinicCode", clinicCode))
+            .and(ListSpecifications.equal("pet.id", petId))
+            .and(ListSpecifications.equal("pet.owner.id", ownerId))
+            .and(ListSpecifications.equal("type", type))
+            .and(ListSpecifications.fetch("pet"))
+            .and(ListSpecifications.fetch("veterinarian"));
+        return listQueryService.find(MedicalRecord.class, medicalRecordRepository, filter, request, SORTABLE);
     }
 
     public Optional<MedicalRecord> getMedicalRecordById(Long id) {
-        return medicalRecordRepository.findById(id);
+        return medicalRecordRepository.findScopedById(id);
     }
 
+    // The search vector is refreshed in the same transaction, so a saved record is always searchable as saved
+    @Transactional
     public MedicalRecord saveMedicalRecord(MedicalRecord record) {
         boolean isNew = record.getId() == null;
         MedicalRecord saved = medicalRecordRepository.save(record);
+        medicalRecordSearchService.index(saved.getId());
         String action = isNew ? "CREATE" : "UPDATE";
         String petName = saved.getPet() != null ? saved.getPet().getName() : "Unknown Pet";
         String description = isNew ? "Medical record created" : "Medical record updated";
@@ -40,7 +65,7 @@ public class MedicalRecordService {
     }
 
     public void deleteMedicalRecord(Long id) {
-        Optional<MedicalRecord> record = medicalRecordRepository.findById(id);
+        Optional<MedicalRecord> record = medicalRecordRepository.findScopedById(id);
         if (record.isPresent()) {
             String petName = record.get().getPet() != null ? record.get().getPet().getName() : "Unknown Pet";
             medicalRecordRepository.deleteById(id);
@@ -78,12 +103,12 @@ public class MedicalRecordService {
         }
     }
 
-    public List<MedicalRecord> searchMedicalRecordsByClinic(String search, String clinicCode) {
+    public ListPage<MedicalRecord> searchMedicalRecordsByClinic(String search, String clinicCode, ListRequest request) {
         try {
             Long petId = Long.parseLong(search);
-            return medicalRecordRepository.findByPetIdAndClinicCode(petId, clinicCode);
+            return listMedicalRecords(clinicCode, petId, null, null, request);
         } catch (NumberFormatException e) {
-            return medicalRecordRepository.searchByMultipleFieldsAndClinicCode(search, clinicCode);
+            return medicalRecordSearchService.search(search, clinicCode, request);
         }
     }
 }
\ No newline at end of file
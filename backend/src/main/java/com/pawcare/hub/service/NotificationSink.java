@@ -0,0 +1,17 @@
+package com.pawcare.hub.service;
+
+import java.util.List;
+
+// Where reminders and other client notifications are handed off for delivery. The default
+// implementation only logs; a mail or SMS gateway plugs in as another bean with
+// notifications.sink set to something other than "log".
+public interface NotificationSink {
+
+    enum Channel { EMAIL, SMS }
+
+    record Notification(String clinicCode, Channel channel, String recipient, String subject, String message,
+                        String entityType, Long entityId) {}
+
+    // Throwing fails the whole batch, which is then offered again on the next run
+    void send(List<Notification> notifications);
+}
\ No newline at end of file
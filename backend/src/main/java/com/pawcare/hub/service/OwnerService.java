@@ -1,17 +1,27 @@
 package com.pawcare.hub.service;
 
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.Owner;
+import com.pawcare.hub.repository.ListSpecifications;
 import com.pawcare.hub.repository.OwnerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class OwnerService {
 
+    private static final Set<String> SORTABLE = Set.of("firstName", "lastName", "email", "createdAt");
+
     @Autowired
     private OwnerRepository ownerRepository;
+
+    @Autowired
+    private ListQueryService listQueryService;
     
     @Autowired
     private ActivityService activityService;
@@ -19,9 +29,15 @@ public class OwnerService {
     @Autowired
     private ClinicContextService clinicContextService;
 
-    public List<Owner> getAllOwners() {
-        String clinicCode = clinicContextService.getClinicCode();
-        return ownerRepository.findByClinicCode(clinicCode);
+    @Autowired
+    private QuickSearchIndex quickSearchIndex;
+
+    public ListPage<Owner> listOwners(String name, String email, ListRequest request) {
+        Specification<Owner> filter = Specification
+            .<Owner>where(ListSpecifications.equal("clinicCode", clinicContextService.getClinicCode()))
+            .and(ListSpecifications.contains(name, "firstName", "lastName"))
+            .and(ListSpecifications.contains(email, "email"));
+        return listQueryService.find(Owner.class, ownerRepository, filter, request, SORTABLE);
     }
 
     public Optional<Owner> getOwnerById(Long id) {
@@ -35,6 +51,7 @@ public class OwnerService {
         
         boolean isNew = owner.getId() == null;
         Owner saved = ownerRepository.save(owner);
+        quickSearchIndex.putOwner(saved);
         String action = isNew ? "CREATE" : "UPDATE";
         String description = isNew ? "New client registered" : "Client information updated";
         activityService.logActivity(action, "OWNER", saved.getId(), saved.getName(), description);
@@ -47,6 +64,7 @@ public class OwnerService {
         if (owner.isPresent()) {
             String ownerName = owner.get().getName();
             ownerRepository.deleteByIdAndClinicCode(id, clinicCode);
+            quickSearchIndex.removeOwner(clinicCode, id);
             activityService.logActivity("DELETE", "OWNER", id, ownerName, "Client removed from system");
         }
     }
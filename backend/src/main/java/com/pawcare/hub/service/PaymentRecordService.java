@@ -23,6 +23,12 @@ public class PaymentRecordService {
     
     @Autowired
     private ActivityService activityService;
+    
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private DashboardCache dashboardCache;
 
     public List<PaymentRecord> getAllPaymentRecords() {
         return paymentRecordRepository.findAllOrderByPaidDateDesc();
@@ -36,9 +42,14 @@ public class PaymentRecordService {
         return paymentRecordRepository.findByInvoiceId(invoiceId);
     }
 
+    // The invoice row is locked first, so concurrent payments against one invoice are applied in
+    // turn and each sees the amount paid by the ones before it
     @Transactional
     public PaymentRecord processPayment(Long invoiceId, BigDecimal amount, PaymentRecord.PaymentMethod method, String transactionId, String notes) {
-        Optional<Invoice> invoiceOpt = invoiceRepository.findById(invoiceId);
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Payment amount must be positive");
+        }
+        Optional<Invoice> invoiceOpt = invoiceRepository.findScopedByIdForUpdate(invoiceId);
         if (invoiceOpt.isEmpty()) {
             throw new RuntimeException("Invoice not found");
         }
@@ -55,19 +66,17 @@ public class PaymentRecordService {
         paymentRecord.setPaidDate(LocalDateTime.now());
         
         PaymentRecord savedPayment = paymentRecordRepository.save(paymentRecord);
+        invoiceRepository.addToAmountPaid(invoiceId, amount);
+        invoice.setAmountPaid(invoice.getAmountPaid().add(amount));
         
-        // Calculate total payments for this invoice
-        List<PaymentRecord> allPayments = paymentRecordRepository.findByInvoiceId(invoiceId);
-        BigDecimal totalPaid = allPayments.stream()
-            .map(PaymentRecord::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        // Update invoice status if fully paid
-        if (totalPaid.compareTo(invoice.getTotal()) >= 0) {
+        // Update invoice status once the balance is settled
+        if (invoice.getStatus() != Invoice.InvoiceStatus.PAID && invoice.getBalanceDue().signum() <= 0) {
             invoice.setStatus(Invoice.InvoiceStatus.PAID);
             invoice.setPaidDate(savedPayment.getPaidDate().toLocalDate());
             invoice.setPaymentMethod(Invoice.PaymentMethod.valueOf(method.name()));
-            invoiceRepository.save(invoice);
+            invoiceRepository.saveAndFlush(invoice);
+            dashboardRollupService.refreshForInvoice(invoice);
+            dashboardCache.invalidate(invoice.getClinicCode(), DashboardCache.DataSource.INVOICES);
         }
         
         // Log activity
@@ -87,24 +96,27 @@ public class PaymentRecordService {
         return paymentRecordRepository.findByPaymentMethod(method);
     }
 
+    @Transactional
     public void deletePaymentRecord(Long id) {
         Optional<PaymentRecord> paymentRecord = paymentRecordRepository.findById(id);
         if (paymentRecord.isPresent()) {
             PaymentRecord payment = paymentRecord.get();
-            Invoice invoice = payment.getInvoice();
-            
-            paymentRecordRepository.deleteById(id);
-            
-            // Recalculate invoice status
-            List<PaymentRecord> remainingPayments = paymentRecordRepository.findByInvoiceId(invoice.getId());
-            BigDecimal totalPaid = remainingPayments.stream()
-                .map(PaymentRecord::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            Optional<Invoice> invoiceOpt = invoiceRepository.findScopedByIdForUpdate(payment.getInvoice().getId());
+            // Another clinic's invoice, or a concurrent delete got there first
+            if (invoiceOpt.isEmpty() || paymentRecordRepository.deletePaymentRecord(id) == 0) {
+                return;
+            }
+            Invoice invoice = invoiceOpt.get();
+            invoiceRepository.addToAmountPaid(invoice.getId(), payment.getAmount().negate());
+            invoice.setAmountPaid(invoice.getAmountPaid().subtract(payment.getAmount()));
             
-            if (totalPaid.compareTo(invoice.getTotal()) < 0) {
+            // Reopen the invoice once it is no longer covered
+            if (invoice.getStatus() == Invoice.InvoiceStatus.PAID && invoice.getBalanceDue().signum() > 0) {
                 invoice.setStatus(Invoice.InvoiceStatus.SENT);
                 invoice.setPaidDate(null);
-                invoiceRepository.save(invoice);
+                invoiceRepository.saveAndFlush(invoice);
+                dashboardRollupService.refreshForInvoice(invoice);
+                dashboardCache.invalidate(invoice.getClinicCode(), DashboardCache.DataSource.INVOICES);
             }
             
             // Log activity
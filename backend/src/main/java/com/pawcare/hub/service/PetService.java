@@ -1,17 +1,28 @@
 package com.pawcare.hub.service;
 
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.Pet;
+import com.pawcare.hub.repository.ListSpecifications;
 import com.pawcare.hub.repository.PetRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class PetService {
 
+    private static final Set<String> SORTABLE = Set.of("name", "species", "breed", "dateOfBirth", "createdAt");
+
     @Autowired
     private PetRepository petRepository;
+
+    @Autowired
+    private ListQueryService listQueryService;
     
     @Autowired
     private ActivityService activityService;
@@ -19,13 +30,28 @@ public class PetService {
     @Autowired
     private ClinicContextService clinicContextService;
 
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private MedicalRecordSearchService medicalRecordSearchService;
+
+    @Autowired
+    private QuickSearchIndex quickSearchIndex;
+
     public List<Pet> getAllPets() {
         String clinicCode = clinicContextService.getClinicCode();
         return petRepository.findByClinicCode(clinicCode);
     }
 
-    public List<Pet> getAllPetsByClinic(String clinicCode) {
-        return petRepository.findByClinicCode(clinicCode);
+    public ListPage<Pet> listPets(String clinicCode, Long ownerId, String species, String search, ListRequest request) {
+        Specification<Pet> filter = Specification
+            .<Pet>where(ListSpecifications.equal("clinicCode", clinicCode))
+            .and(ListSpecifications.equal("owner.id", ownerId))
+            .and(ListSpecifications.contains(species, "species"))
+            .and(ListSpecifications.contains(search, "name", "microchipId"))
+            .and(ListSpecifications.fetch("owner"));
+        return listQueryService.find(Pet.class, petRepository, filter, request, SORTABLE);
     }
 
     public Optional<Pet> getPetById(Long id) {
@@ -33,15 +59,22 @@ public class PetService {
         return petRepository.findByIdAndClinicCode(id, clinicCode);
     }
 
+    // A renamed pet's records are reindexed in the same transaction as the rename
+    @Transactional
     public Pet savePet(Pet pet) {
         String clinicCode = clinicContextService.getClinicCode();
         pet.setClinicCode(clinicCode);
         
         boolean isNew = pet.getId() == null;
         Pet saved = petRepository.save(pet);
+        quickSearchIndex.putPet(saved);
+        if (!isNew) {
+            medicalRecordSearchService.reindexPet(saved.getId());
+        }
         String action = isNew ? "CREATE" : "UPDATE";
         String description = isNew ? "New pet registered" : "Pet information updated";
         activityService.logActivity(action, "PET", saved.getId(), saved.getName(), description);
+        dashboardCache.invalidate(clinicCode, DashboardCache.DataSource.PETS);
         return saved;
     }
 
@@ -51,7 +84,9 @@ public class PetService {
         if (pet.isPresent()) {
             String petName = pet.get().getName();
             petRepository.deleteByIdAndClinicCode(id, clinicCode);
+            quickSearchIndex.removePet(clinicCode, id);
             activityService.logActivity("DELETE", "PET", id, petName, "Pet removed from system");
+            dashboardCache.invalidate(clinicCode, DashboardCache.DataSource.PETS);
         }
     }
 
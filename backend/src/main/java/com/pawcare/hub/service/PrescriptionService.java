@@ -1,17 +1,27 @@
 package com.pawcare.hub.service;
 
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.Prescription;
+import com.pawcare.hub.repository.ListSpecifications;
 import com.pawcare.hub.repository.PrescriptionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class PrescriptionService {
 
+    private static final Set<String> SORTABLE = Set.of("medicationName", "prescribedDate", "status", "createdAt");
+
     @Autowired
     private PrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    private ListQueryService listQueryService;
     
     @Autowired
     private ActivityService activityService;
@@ -20,8 +30,17 @@ public class PrescriptionService {
         return prescriptionRepository.findAll();
     }
 
+    public ListPage<Prescription> listPrescriptions(Long petId, Long veterinarianId, Prescription.PrescriptionStatus status,
+                                                    ListRequest request) {
+        Specification<Prescription> filter = Specification
+            .<Prescription>where(ListSpecifications.equal("pet.id", petId))
+            .and(ListSpecifications.equal("veterinarian.id", veterinarianId))
+            .and(ListSpecifications.equal("status", status));
+        return listQueryService.find(Prescription.class, prescriptionRepository, filter, request, SORTABLE);
+    }
+
     public Optional<Prescription> getPrescriptionById(Long id) {
-        return prescriptionRepository.findById(id);
+        return prescriptionRepository.findScopedById(id);
     }
 
     public Prescription savePrescription(Prescription prescription) {
@@ -36,7 +55,7 @@ public class PrescriptionService {
     }
 
     public void deletePrescription(Long id) {
-        Optional<Prescription> prescription = prescriptionRepository.findById(id);
+        Optional<Prescription> prescription = prescriptionRepository.findScopedById(id);
         if (prescription.isPresent()) {
             String petName = prescription.get().getPet() != null ? prescription.get().getPet().getName() : "Unknown Pet";
             prescriptionRepository.deleteById(id);
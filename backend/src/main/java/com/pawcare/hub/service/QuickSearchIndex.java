@@ -0,0 +1,539 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.dto.QuickSearchResultDTO;
+import com.pawcare.hub.entity.Owner;
+import com.pawcare.hub.entity.Pet;
+import com.pawcare.hub.repository.OwnerRepository;
+import com.pawcare.hub.repository.PetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+// Per-clinic in-memory typeahead over owners (name, email, phone, PID) and pets (name, microchip).
+// Words are matched case- and accent-insensitively: by prefix through a sorted token map, and
+// anywhere inside a token through a trigram map. A clinic is loaded on its first search, kept
+// current by OwnerService/PetService writes and reloaded periodically for writes made elsewhere.
+// Loads run outside the clinic map, and only for clinics the ClinicRegistry knows about.
+@Service
+public class QuickSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuickSearchIndex.class);
+
+    public static final String OWNER = "OWNER";
+    public static final String PET = "PET";
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_DIGIT = Pattern.compile("\\D+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int MAX_QUERY_WORDS = 5;
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int INFIX = 1;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private ClinicRegistry clinicRegistry;
+
+    @Value("${search.quick.max-results:50}")
+    private int maxResults;
+
+    private final Map<String, ClinicIndex> clinics = new ConcurrentHashMap<>();
+
+    public List<QuickSearchResultDTO> search(String clinicCode, String text, int limit) {
+        List<String> words = tokenize(text);
+        if (clinicCode == null || words.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (words.size() > MAX_QUERY_WORDS) {
+            words = words.subList(0, MAX_QUERY_WORDS);
+        }
+        ClinicIndex index = clinics.get(clinicCode);
+        if (index == null) {
+            if (clinicRegistry.find(clinicCode).isEmpty()) {
+                return Collections.emptyList();
+            }
+            // The empty index goes in first so writes made during the load are recorded, not lost;
+            // concurrent first searches wait for the thread that put it there
+            ClinicIndex created = new ClinicIndex();
+            index = clinics.putIfAbsent(clinicCode, created);
+            if (index == null) {
+                index = created;
+                fill(clinicCode, created);
+            }
+        }
+        index.ready.join();
+        return index.search(words, Math.max(1, Math.min(limit, maxResults)));
+    }
+
+    public void putOwner(Owner owner) {
+        Entry entry = ownerEntry(owner);
+        afterCommit(owner.getClinicCode(), index -> index.put(entry));
+    }
+
+    // Deleting an owner cascades to their pets
+    public void removeOwner(String clinicCode, Long ownerId) {
+        afterCommit(clinicCode, index -> index.removeOwner(ownerId));
+    }
+
+    public void putPet(Pet pet) {
+        Entry entry = petEntry(pet);
+        afterCommit(pet.getClinicCode(), index -> index.put(entry));
+    }
+
+    public void removePet(String clinicCode, Long petId) {
+        afterCommit(clinicCode, index -> index.remove(PET, petId));
+    }
+
+    // Searches keep using the old index while a clinic reloads; clinics no longer registered are dropped
+    @Scheduled(initialDelayString = "${search.quick.refresh-interval:PT10M}",
+               fixedDelayString = "${search.quick.refresh-interval:PT10M}")
+    public void reload() {
+        for (String clinicCode : clinics.keySet()) {
+            if (clinicRegistry.find(clinicCode).isEmpty()) {
+                clinics.remove(clinicCode);
+            } else {
+                try {
+                    reload(clinicCode);
+                } catch (RuntimeException e) {
+                    logger.warn("Quick search index reload failed for clinic {}", clinicCode, e);
+                }
+            }
+        }
+    }
+
+    // After writes that bypassed putOwner/putPet, e.g. a bulk import
+    public void reload(String clinicCode) {
+        ClinicIndex index = clinics.get(clinicCode);
+        if (index == null || !index.ready.isDone()) {
+            return;
+        }
+        synchronized (index) {
+            index.startJournal();
+            try {
+                index.replaceWith(load(clinicCode));
+            } catch (RuntimeException e) {
+                index.stopJournal();
+                throw e;
+            }
+        }
+    }
+
+    // Only the given clinic's index: codes and sizes of other clinics are not shown to a tenant
+    public Map<String, Object> getStats(String clinicCode) {
+        ClinicIndex index = clinicCode != null ? clinics.get(clinicCode) : null;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("clinicCode", clinicCode);
+        stats.put("loaded", index != null);
+        stats.put("entries", index != null ? index.size() : 0);
+        return stats;
+    }
+
+    private void fill(String clinicCode, ClinicIndex index) {
+        try {
+            index.replaceWith(load(clinicCode));
+            index.ready.complete(null);
+        } catch (RuntimeException e) {
+            clinics.remove(clinicCode, index);
+            index.ready.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private ClinicIndex load(String clinicCode) {
+        long start = System.currentTimeMillis();
+        ClinicIndex index = new ClinicIndex();
+        // Plain columns rather than entities: nothing to hydrate or keep in the persistence context
+        for (Object[] row : ownerRepository.findSearchFieldsByClinicCode(clinicCode)) {
+            index.put(ownerEntry((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4], (String) row[5]));
+        }
+        for (Object[] row : petRepository.findSearchFieldsByClinicCode(clinicCode)) {
+            index.put(petEntry((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4], (Long) row[5]));
+        }
+        logger.info("Quick search index for clinic {} loaded: {} entries in {} ms",
+            clinicCode, index.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+
+    // Clinics that have not been searched yet are skipped; they load current data on first use
+    private void afterCommit(String clinicCode, Consumer<ClinicIndex> change) {
+        if (clinicCode == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            ClinicIndex index = clinics.get(clinicCode);
+            if (index != null) {
+                index.apply(change);
+            }
+        });
+    }
+
+    private static Entry ownerEntry(Owner owner) {
+        return ownerEntry(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getEmail(), owner.getPhone(), owner.getPid());
+    }
+
+    private static Entry ownerEntry(Long id, String firstName, String lastName, String email, String phone, String pid) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.addAll(tokenize(firstName));
+        tokens.addAll(tokenize(lastName));
+        tokens.addAll(tokenize(email));
+        tokens.addAll(tokenize(pid));
+        if (phone != null) {
+            String digits = NON_DIGIT.matcher(phone).replaceAll("");
+            if (!digits.isEmpty()) {
+                tokens.add(digits);
+            }
+        }
+        return new Entry(OWNER, id, join(" ", firstName, lastName), join(", ", phone, email), id, tokens);
+    }
+
+    private static Entry petEntry(Pet pet) {
+        Long ownerId = pet.getOwner() != null ? pet.getOwner().getId() : null;
+        return petEntry(pet.getId(), pet.getName(), pet.getSpecies(), pet.getBreed(), pet.getMicrochipId(), ownerId);
+    }
+
+    private static Entry petEntry(Long id, String name, String species, String breed, String microchipId, Long ownerId) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.addAll(tokenize(name));
+        tokens.addAll(tokenize(microchipId));
+        return new Entry(PET, id, name, join(", ", species, breed), ownerId, tokens);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : SEPARATOR.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String join(String separator, String... parts) {
+        StringBuilder joined = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                if (joined.length() > 0) {
+                    joined.append(separator);
+                }
+                joined.append(part);
+            }
+        }
+        return joined.toString();
+    }
+
+    private record Scored(Entry entry, int score) {}
+
+    // Compared by identity, so replacing an entry never disturbs another one with the same text
+    private static final class Entry {
+        final String type;
+        final Long id;
+        final String label;
+        final String detail;
+        final Long ownerId;
+        final Set<String> tokens;
+
+        Entry(String type, Long id, String label, String detail, Long ownerId, Set<String> tokens) {
+            this.type = type;
+            this.id = id;
+            this.label = label;
+            this.detail = detail;
+            this.ownerId = ownerId;
+            this.tokens = tokens;
+        }
+
+        String key() {
+            return type + ":" + id;
+        }
+    }
+
+    private static final class ClinicIndex {
+
+        // Completed once the first load is in; searches wait for it
+        final CompletableFuture<Void> ready = new CompletableFuture<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private Map<String, Entry> entries = new HashMap<>();
+        // token -> entries, sorted so a prefix is a contiguous range
+        private NavigableMap<String, Set<Entry>> tokens = new TreeMap<>();
+        // trigram -> tokens containing it
+        private Map<String, Set<String>> trigrams = new HashMap<>();
+        // Changes applied while a load runs, replayed onto the loaded index before it replaces this
+        // one's contents. Put and remove are idempotent, so replaying what the load already saw is harmless.
+        private List<Consumer<ClinicIndex>> journal = new ArrayList<>();
+
+        void apply(Consumer<ClinicIndex> change) {
+            lock.writeLock().lock();
+            try {
+                if (journal != null) {
+                    journal.add(change);
+                }
+                change.accept(this);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void startJournal() {
+            lock.writeLock().lock();
+            try {
+                journal = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void stopJournal() {
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // The loaded index is not shared yet, so it is taken over as is
+        void replaceWith(ClinicIndex loaded) {
+            lock.writeLock().lock();
+            try {
+                if (journal != null) {
+                    journal.forEach(change -> change.accept(loaded));
+                    journal = null;
+                }
+                entries = loaded.entries;
+                tokens = loaded.tokens;
+                trigrams = loaded.trigrams;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(Entry entry) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(entry.key());
+                entries.put(entry.key(), entry);
+                for (String token : entry.tokens) {
+                    tokens.computeIfAbsent(token, t -> {
+                        for (String trigram : trigrams(t)) {
+                            trigrams.computeIfAbsent(trigram, g -> new HashSet<>()).add(t);
+                        }
+                        return new HashSet<>();
+                    }).add(entry);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String type, Long id) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(type + ":" + id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void removeOwner(Long ownerId) {
+            lock.writeLock().lock();
+            try {
+                List<String> keys = new ArrayList<>();
+                entries.values().forEach(entry -> {
+                    if (ownerId.equals(entry.ownerId)) {
+                        keys.add(entry.key());
+                    }
+                });
+                keys.forEach(this::removeLocked);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Walks the matches of the longest word from best to worst (exact token, prefix, infix) and
+        // checks the other words against each candidate's own tokens. Stops as soon as no remaining
+        // candidate can beat the current top results, so a one-letter query costs no more than a long one.
+        List<QuickSearchResultDTO> search(List<String> words, int limit) {
+            lock.readLock().lock();
+            try {
+                int driver = 0;
+                for (int i = 1; i < words.size(); i++) {
+                    if (words.get(i).length() > words.get(driver).length()) {
+                        driver = i;
+                    }
+                }
+                String word = words.get(driver);
+                PriorityQueue<Scored> best = new PriorityQueue<>(Comparator.comparingInt(Scored::score));
+                Set<Entry> seen = new HashSet<>();
+                Set<Entry> exact = tokens.get(word);
+                boolean more = exact == null || collect(List.of(exact), EXACT, words, driver, limit, best, seen);
+                if (more) {
+                    more = collect(tokens.subMap(word, false, word + Character.MAX_VALUE, false).values(), PREFIX, words, driver, limit, best, seen);
+                }
+                if (more && word.length() >= 3) {
+                    List<Set<Entry>> infix = new ArrayList<>();
+                    for (String token : tokensContaining(word)) {
+                        if (!token.startsWith(word)) {
+                            infix.add(tokens.get(token));
+                        }
+                    }
+                    collect(infix, INFIX, words, driver, limit, best, seen);
+                }
+                List<Scored> top = new ArrayList<>(best);
+                top.sort(Comparator.comparingInt(Scored::score).reversed()
+                    .thenComparing(scored -> scored.entry().type.equals(PET))
+                    .thenComparing(scored -> scored.entry().label, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+                List<QuickSearchResultDTO> results = new ArrayList<>();
+                top.forEach(scored -> results.add(toResult(scored.entry())));
+                return results;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Returns false once the top results can no longer change
+        private boolean collect(Iterable<Set<Entry>> postings, int score, List<String> words, int driver,
+                                int limit, PriorityQueue<Scored> best, Set<Entry> seen) {
+            int bound = score + (words.size() - 1) * EXACT;
+            for (Set<Entry> posting : postings) {
+                for (Entry entry : posting) {
+                    if (best.size() >= limit && best.peek().score() >= bound) {
+                        return false;
+                    }
+                    if (!seen.add(entry)) {
+                        continue;
+                    }
+                    int total = score;
+                    for (int i = 0; i < words.size() && total > 0; i++) {
+                        if (i != driver) {
+                            int match = match(entry, words.get(i));
+                            total = match > 0 ? total + match : 0;
+                        }
+                    }
+                    // On equal scores the earlier candidate, from the closer token, stays
+                    if (total > 0 && (best.size() < limit || total > best.peek().score())) {
+                        best.add(new Scored(entry, total));
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static int match(Entry entry, String word) {
+            int best = 0;
+            for (String token : entry.tokens) {
+                if (token.equals(word)) {
+                    return EXACT;
+                } else if (token.startsWith(word)) {
+                    best = PREFIX;
+                } else if (best == 0 && word.length() >= 3 && token.contains(word)) {
+                    best = INFIX;
+                }
+            }
+            return best;
+        }
+
+        // Intersects the trigram postings of the word, starting from the rarest trigram
+        private List<String> tokensContaining(String word) {
+            Set<String> smallest = null;
+            for (String trigram : trigrams(word)) {
+                Set<String> posting = trigrams.get(trigram);
+                if (posting == null) {
+                    return Collections.emptyList();
+                }
+                if (smallest == null || posting.size() < smallest.size()) {
+                    smallest = posting;
+                }
+            }
+            List<String> found = new ArrayList<>();
+            for (String token : smallest) {
+                if (token.contains(word)) {
+                    found.add(token);
+                }
+            }
+            return found;
+        }
+
+        private QuickSearchResultDTO toResult(Entry entry) {
+            String detail = entry.detail;
+            if (PET.equals(entry.type) && entry.ownerId != null) {
+                Entry owner = entries.get(OWNER + ":" + entry.ownerId);
+                if (owner != null) {
+                    detail = join(", ", detail, owner.label);
+                }
+            }
+            return new QuickSearchResultDTO(entry.type, entry.id, entry.label, detail, entry.ownerId);
+        }
+
+        private void removeLocked(String key) {
+            Entry old = entries.remove(key);
+            if (old == null) {
+                return;
+            }
+            for (String token : old.tokens) {
+                Set<Entry> posting = tokens.get(token);
+                if (posting != null && posting.remove(old) && posting.isEmpty()) {
+                    tokens.remove(token);
+                    for (String trigram : trigrams(token)) {
+                        Set<String> tokenSet = trigrams.get(trigram);
+                        if (tokenSet != null && tokenSet.remove(token) && tokenSet.isEmpty()) {
+                            trigrams.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+
+        private static Set<String> trigrams(String token) {
+            Set<String> trigrams = new HashSet<>();
+            for (int i = 0; i + 3 <= token.length(); i++) {
+                trigrams.add(token.substring(i, i + 3));
+            }
+            return trigrams;
+        }
+    }
+}
\ No newline at end of file
@@ -28,6 +28,9 @@ public class SettingsService {
     
     @Autowired
     private ClinicContextService clinicContextService;
+    
+    @Autowired
+    private ClinicRegistry clinicRegistry;
 
     public ClinicSettings createClinicSettings(ClinicSettings settings) {
         // Generate 6-digit random clinic code
@@ -46,7 +49,9 @@ public class SettingsService {
         if (settings.getBackupFrequency() == null) settings.setBackupFrequency(ClinicSettings.BackupFrequency.DAILY);
         if (settings.getTheme() == null) settings.setTheme(ClinicSettings.Theme.SYSTEM);
         
-        return clinicSettingsRepository.save(settings);
+        ClinicSettings saved = clinicSettingsRepository.save(settings);
+        clinicRegistry.register(saved);
+        return saved;
     }
 
     public ClinicSettings getClinicSettings() {
@@ -73,13 +78,16 @@ public class SettingsService {
         existing.setBackupFrequency(settings.getBackupFrequency());
         existing.setTheme(settings.getTheme());
 
-        return clinicSettingsRepository.save(existing);
+        ClinicSettings saved = clinicSettingsRepository.save(existing);
+        clinicRegistry.register(saved);
+        return saved;
     }
 
     public void deleteClinicSettings() {
         ClinicSettings existing = getClinicSettings();
         if (existing.getId() != null) {
             clinicSettingsRepository.delete(existing);
+            clinicRegistry.remove(existing.getClinicCode());
         }
     }
 
@@ -145,7 +153,9 @@ public class SettingsService {
         settings.setBackupFrequency(ClinicSettings.BackupFrequency.DAILY);
         settings.setTheme(ClinicSettings.Theme.SYSTEM);
         
-        return clinicSettingsRepository.save(settings);
+        ClinicSettings saved = clinicSettingsRepository.save(settings);
+        clinicRegistry.register(saved);
+        return saved;
     }
 
     private UserPermissions createDefaultPermissions(User user) {
@@ -0,0 +1,251 @@
+package com.pawcare.hub.service;
+
+import com.pawcare.hub.entity.InventoryItem;
+import com.pawcare.hub.entity.StockMovement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Applies stock changes to inventory items. A change is a conditional UPDATE of current_stock that
+// also recomputes the status, plus a row in the stock_movements ledger, in one transaction, so
+// concurrent changes to the same item cannot be lost and stock never goes below zero.
+//
+// A hot item can only take one commit at a time, so callers outside a transaction are combined:
+// each change is queued on a stripe (by item id), and while one caller writes a batch for the
+// stripe the others queue up behind it; the next caller to find the stripe idle writes
+// everything queued in one transaction, checking each change in arrival order. Callers already
+// in a transaction apply their change in it.
+@Service
+public class StockService {
+
+    private static final int STRIPES = 64;
+
+    private static final String LOCK_SQL = "SELECT id, clinic_code, current_stock, reserved_stock FROM inventory_items WHERE id IN (%s) ORDER BY id FOR NO KEY UPDATE";
+
+    private static final String UPDATE_SQL = "UPDATE inventory_items i SET current_stock = COALESCE(i.current_stock, 0) + v.delta, " +
+        "status = " + statusCase("COALESCE(i.current_stock, 0) + v.delta") + ", " +
+        "last_restocked = CASE WHEN v.restocked THEN CURRENT_DATE ELSE i.last_restocked END, updated_at = LOCALTIMESTAMP " +
+        "FROM (SELECT CAST(? AS INTEGER) AS delta, CAST(? AS BOOLEAN) AS restocked) v " +
+        "WHERE i.id = ? AND i.clinic_code = ? AND COALESCE(i.current_stock, 0) + v.delta >= 0 RETURNING i.*";
+
+    private static final String INSERT_SQL = "INSERT INTO stock_movements (clinic_code, inventory_item_id, type, quantity, " +
+        "stock_after, reason, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final BeanPropertyRowMapper<InventoryItem> ITEM_MAPPER = new BeanPropertyRowMapper<>(InventoryItem.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InventoryAlertService inventoryAlertService;
+
+    @Value("${inventory.stock.batch-size:500}")
+    private int batchSize;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public StockService() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // InventoryItem.StockStatus for a stock level, as SQL over inventory_items aliased i
+    public static String statusCase(String stock) {
+        return "CASE WHEN i.expiry_date < CURRENT_DATE THEN 'EXPIRED' " +
+            "WHEN " + stock + " <= 0 THEN 'OUT_OF_STOCK' " +
+            "WHEN i.min_stock IS NOT NULL AND " + stock + " <= i.min_stock THEN 'LOW_STOCK' " +
+            "ELSE 'IN_STOCK' END";
+    }
+
+    // Adds quantity (negative to take stock out) and returns the item afterwards, or null when
+    // the clinic has no such item. Throws InsufficientStockException instead of going below zero
+    // or taking out stock reserved by DispensingService.
+    public InventoryItem adjust(String clinicCode, Long itemId, int quantity, StockMovement.MovementType type, String reason) {
+        return apply(new Change(clinicCode, itemId, quantity, null, type, reason));
+    }
+
+    // Sets the stock to a counted level, recording the difference as a COUNT movement
+    public InventoryItem count(String clinicCode, Long itemId, int stock, String reason) {
+        if (stock < 0) {
+            throw new IllegalArgumentException("Stock cannot be negative");
+        }
+        return apply(new Change(clinicCode, itemId, 0, stock, StockMovement.MovementType.COUNT, reason));
+    }
+
+    // Recomputes the status from the stored stock, minimum and expiry date
+    public InventoryItem refreshStatus(String clinicCode, Long itemId) {
+        return apply(new Change(clinicCode, itemId, 0, null, null, null));
+    }
+
+    // Opening movement for an item inserted with stock, and its first alerts
+    public void recordOpeningStock(InventoryItem item) {
+        inventoryAlertService.refresh(item.getClinicCode(), new Long[] { item.getId() });
+        if (item.getCurrentStock() != null && item.getCurrentStock() != 0) {
+            jdbcTemplate.update(INSERT_SQL, item.getClinicCode(), item.getId(), StockMovement.MovementType.COUNT.name(),
+                item.getCurrentStock(), item.getCurrentStock(), "Opening stock", Timestamp.valueOf(LocalDateTime.now()));
+        }
+    }
+
+    private InventoryItem apply(Change change) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            applyAll(List.of(change));
+        } else {
+            Stripe stripe = stripes[Math.floorMod(change.itemId.hashCode(), STRIPES)];
+            stripe.lock.lock();
+            try {
+                stripe.queue.add(change);
+                while (!change.done) {
+                    if (stripe.applying) {
+                        stripe.applied.awaitUninterruptibly();
+                    } else {
+                        applyQueued(stripe);
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        if (change.error != null) {
+            throw change.error;
+        }
+        return change.item;
+    }
+
+    // Called holding the stripe lock, which is released while the batch is written
+    private void applyQueued(Stripe stripe) {
+        List<Change> batch = new ArrayList<>();
+        while (batch.size() < batchSize && !stripe.queue.isEmpty()) {
+            batch.add(stripe.queue.poll());
+        }
+        stripe.applying = true;
+        stripe.lock.unlock();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> applyAll(batch));
+        } catch (RuntimeException e) {
+            for (Change change : batch) {
+                change.item = null;
+                change.error = e;
+            }
+        } finally {
+            stripe.lock.lock();
+            for (Change change : batch) {
+                change.done = true;
+            }
+            stripe.applying = false;
+            stripe.applied.signalAll();
+        }
+    }
+
+    private void applyAll(List<Change> changes) {
+        Map<Long, List<Change>> byItem = new HashMap<>();
+        for (Change change : changes) {
+            byItem.computeIfAbsent(change.itemId, id -> new ArrayList<>()).add(change);
+        }
+        // Locked in id order so batches touching several items cannot deadlock each other
+        List<Long> ids = new ArrayList<>(byItem.keySet());
+        Collections.sort(ids);
+        Map<Long, Map<String, Object>> locked = new LinkedHashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        for (Map<String, Object> row : jdbcTemplate.queryForList(String.format(LOCK_SQL, placeholders), ids.toArray())) {
+            locked.put(((Number) row.get("id")).longValue(), row);
+        }
+
+        List<Object[]> movements = new ArrayList<>();
+        Map<String, List<Long>> updatedByClinic = new HashMap<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Long id : ids) {
+            Map<String, Object> row = locked.get(id);
+            String clinicCode = row == null ? null : (String) row.get("clinic_code");
+            Number stored = row == null ? null : (Number) row.get("current_stock");
+            int stock = stored == null ? 0 : stored.intValue();
+            int reserved = row == null ? 0 : ((Number) row.get("reserved_stock")).intValue();
+            int delta = 0;
+            boolean restocked = false;
+            List<Change> applied = new ArrayList<>();
+            for (Change change : byItem.get(id)) {
+                if (clinicCode == null || !clinicCode.equals(change.clinicCode)) {
+                    continue;
+                }
+                int quantity = change.countedStock != null ? change.countedStock - stock : change.quantity;
+                // Stock taken out cannot come from what is reserved; a count records what is there
+                int floor = change.countedStock != null ? 0 : reserved;
+                if (quantity < 0 && stock + quantity < floor) {
+                    change.error = new InsufficientStockException(id, stock - reserved, -quantity);
+                    continue;
+                }
+                stock += quantity;
+                delta += quantity;
+                restocked |= quantity > 0 && change.type != StockMovement.MovementType.COUNT;
+                applied.add(change);
+                if (quantity != 0) {
+                    movements.add(new Object[] { clinicCode, id, change.type.name(), quantity, stock, change.reason, now });
+                }
+            }
+            if (applied.isEmpty()) {
+                continue;
+            }
+            List<InventoryItem> updated = jdbcTemplate.query(UPDATE_SQL, ITEM_MAPPER, delta, restocked, id, clinicCode);
+            if (updated.isEmpty()) {
+                throw new IllegalStateException("Inventory item " + id + " changed while locked");
+            }
+            for (Change change : applied) {
+                change.item = updated.get(0);
+            }
+            updatedByClinic.computeIfAbsent(clinicCode, code -> new ArrayList<>()).add(id);
+        }
+        if (!movements.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, movements);
+        }
+        updatedByClinic.forEach((clinicCode, itemIds) -> inventoryAlertService.refresh(clinicCode, itemIds.toArray(new Long[0])));
+    }
+
+    private static class Change {
+        final String clinicCode;
+        final Long itemId;
+        final int quantity;
+        final Integer countedStock;
+        final StockMovement.MovementType type;
+        final String reason;
+        // Written by the caller that applied the change, read under the stripe lock
+        InventoryItem item;
+        RuntimeException error;
+        boolean done;
+
+        Change(String clinicCode, Long itemId, int quantity, Integer countedStock, StockMovement.MovementType type, String reason) {
+            this.clinicCode = clinicCode;
+            this.itemId = itemId;
+            this.quantity = quantity;
+            this.countedStock = countedStock;
+            this.type = type;
+            this.reason = reason;
+        }
+    }
+
+    private static class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition applied = lock.newCondition();
+        final Queue<Change> queue = new ArrayDeque<>();
+        boolean applying;
+    }
+}
\ No newline at end of file
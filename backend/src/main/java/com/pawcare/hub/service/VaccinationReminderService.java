@@ -0,0 +1,162 @@
+package com.pawcare.hub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Sends vaccination reminders and marks scheduled vaccinations OVERDUE once their due date has
+// passed in the clinic's timezone. The due dates are not held in memory: idx_vaccinations_clinic_due
+// already keeps them ordered per clinic, so each run reads only the reminder window, one page at a
+// time. Each page is sent and marked (reminded_for) in one transaction, so a restart resumes with
+// whatever was not marked yet, and rows locked by another instance are skipped rather than sent twice.
+@Service
+public class VaccinationReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaccinationReminderService.class);
+
+    private static final String CLIENT_COLUMNS = "p.name AS pet_name, o.first_name, o.email, o.phone";
+
+    // Scheduled and administered vaccinations both have a next dose to remind of
+    private static final String REMINDER_PAGE_SQL = "SELECT v.id, v.vaccine_type, v.next_due_date, " + CLIENT_COLUMNS + " " +
+        "FROM vaccinations v LEFT JOIN pets p ON p.id = v.pet_id LEFT JOIN owners o ON o.id = p.owner_id " +
+        "WHERE v.clinic_code = ? AND v.next_due_date BETWEEN ? AND ? AND (v.next_due_date, v.id) > (?, ?) " +
+        "AND v.status IN ('SCHEDULED', 'ADMINISTERED') AND v.reminded_for IS DISTINCT FROM v.next_due_date " +
+        "ORDER BY v.next_due_date, v.id LIMIT ? FOR UPDATE OF v SKIP LOCKED";
+
+    private static final String MARK_REMINDED_SQL = "UPDATE vaccinations v SET reminded_for = d.due " +
+        "FROM unnest(CAST(? AS BIGINT[]), CAST(? AS DATE[])) AS d(id, due) WHERE v.id = d.id AND v.next_due_date = d.due";
+
+    // One batch of newly overdue vaccinations, found through idx_vaccinations_scheduled_due
+    private static final String MARK_OVERDUE_SQL = "UPDATE vaccinations v SET status = 'OVERDUE', updated_at = LOCALTIMESTAMP " +
+        "FROM (SELECT s.id, " + CLIENT_COLUMNS + " FROM vaccinations s " +
+        "LEFT JOIN pets p ON p.id = s.pet_id LEFT JOIN owners o ON o.id = p.owner_id " +
+        "WHERE s.clinic_code = ? AND s.status = 'SCHEDULED' AND s.next_due_date < ? " +
+        "ORDER BY s.next_due_date, s.id LIMIT ? FOR UPDATE OF s SKIP LOCKED) d " +
+        "WHERE v.id = d.id RETURNING v.id, v.vaccine_type, v.next_due_date, d.pet_name, d.first_name, d.email, d.phone";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClinicRegistry clinicRegistry;
+
+    @Autowired
+    private NotificationSink notificationSink;
+
+    @Value("${vaccination.reminders.lead-days:7}")
+    private int leadDays;
+
+    @Value("${vaccination.reminders.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${vaccination.reminders.initial-delay:PT1M}",
+               fixedDelayString = "${vaccination.reminders.interval:PT15M}")
+    public void run() {
+        for (String clinicCode : clinicRegistry.getClinicCodes()) {
+            try {
+                run(clinicRegistry.resolve(clinicCode));
+            } catch (RuntimeException e) {
+                logger.warn("Vaccination reminders failed for clinic {}", clinicCode, e);
+            }
+        }
+    }
+
+    public void run(ClinicContext clinic) {
+        LocalDate today = LocalDate.now(clinic.getTimezone());
+        int overdue = markOverdue(clinic, today);
+        int reminded = clinic.isReminders() ? sendReminders(clinic, today) : 0;
+        if (overdue > 0 || reminded > 0) {
+            logger.info("Clinic {}: {} vaccinations marked overdue, {} reminders sent", clinic.getClinicCode(), overdue, reminded);
+        }
+    }
+
+    private int markOverdue(ClinicContext clinic, LocalDate today) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int total = 0;
+        while (true) {
+            int marked = transaction.execute(status -> {
+                List<Due> batch = jdbcTemplate.query(MARK_OVERDUE_SQL, this::mapDue, clinic.getClinicCode(), today, batchSize);
+                if (clinic.isReminders()) {
+                    send(clinic, batch, true);
+                }
+                return batch.size();
+            });
+            total += marked;
+            if (marked < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private int sendReminders(ClinicContext clinic, LocalDate today) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        LocalDate end = today.plusDays(leadDays);
+        Due last = new Due(0L, null, today.minusDays(1), null, null, null, null);
+        int total = 0;
+        while (true) {
+            Due after = last;
+            List<Due> page = transaction.execute(status -> {
+                List<Due> rows = jdbcTemplate.query(REMINDER_PAGE_SQL, this::mapDue, clinic.getClinicCode(), today, end,
+                    after.dueDate(), after.id(), batchSize);
+                send(clinic, rows, false);
+                Long[] ids = new Long[rows.size()];
+                String[] dues = new String[rows.size()];
+                for (int i = 0; i < rows.size(); i++) {
+                    ids[i] = rows.get(i).id();
+                    dues[i] = rows.get(i).dueDate().toString();
+                }
+                jdbcTemplate.update(MARK_REMINDED_SQL, ids, dues);
+                return rows;
+            });
+            total += page.size();
+            if (page.size() < batchSize) {
+                return total;
+            }
+            last = page.get(page.size() - 1);
+        }
+    }
+
+    private void send(ClinicContext clinic, List<Due> rows, boolean overdue) {
+        List<NotificationSink.Notification> notifications = new ArrayList<>();
+        for (Due row : rows) {
+            String petName = row.petName() != null ? row.petName() : "your pet";
+            String subject = (overdue ? "Vaccination overdue: " : "Vaccination reminder: ") + row.vaccineType() + " for " + petName;
+            String message = (row.ownerFirstName() != null ? "Hi " + row.ownerFirstName() + ", " : "")
+                + row.vaccineType() + " for " + petName + (overdue ? " was due on " : " is due on ") + row.dueDate()
+                + (clinic.getClinicName() != null ? " at " + clinic.getClinicName() : "") + ".";
+            if (clinic.isEmailNotifications() && row.email() != null) {
+                notifications.add(new NotificationSink.Notification(clinic.getClinicCode(), NotificationSink.Channel.EMAIL,
+                    row.email(), subject, message, "VACCINATION", row.id()));
+            }
+            if (clinic.isSmsNotifications() && row.phone() != null) {
+                notifications.add(new NotificationSink.Notification(clinic.getClinicCode(), NotificationSink.Channel.SMS,
+                    row.phone(), subject, message, "VACCINATION", row.id()));
+            }
+        }
+        if (!notifications.isEmpty()) {
+            notificationSink.send(notifications);
+        }
+    }
+
+    private Due mapDue(ResultSet rs, int rowNum) throws SQLException {
+        return new Due(rs.getLong("id"), rs.getString("vaccine_type"), rs.getDate("next_due_date").toLocalDate(),
+            rs.getString("pet_name"), rs.getString("first_name"), rs.getString("email"), rs.getString("phone"));
+    }
+
+    private record Due(Long id, String vaccineType, LocalDate dueDate, String petName,
+                       String ownerFirstName, String email, String phone) {}
+}
\ No newline at end of file
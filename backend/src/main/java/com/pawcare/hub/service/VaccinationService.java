@@ -1,27 +1,124 @@
 package com.pawcare.hub.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
+import com.pawcare.hub.dto.VaccinationDTO;
+import com.pawcare.hub.entity.Pet;
 import com.pawcare.hub.entity.Vaccination;
+import com.pawcare.hub.entity.Veterinarian;
+import com.pawcare.hub.repository.ListSpecifications;
 import com.pawcare.hub.repository.VaccinationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class VaccinationService {
 
+    private static final Set<String> SORTABLE = Set.of("nextDueDate", "administeredDate", "vaccineType", "status", "createdAt");
+
     @Autowired
     private VaccinationRepository vaccinationRepository;
     
     @Autowired
     private ActivityService activityService;
 
+    @Autowired
+    private ListQueryService listQueryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    // dueFrom and dueTo are inclusive bounds on nextDueDate
+    public ListPage<VaccinationDTO> listVaccinations(String clinicCode, Long petId, Vaccination.VaccinationStatus status,
+                                                    LocalDate dueFrom, LocalDate dueTo, ListRequest request) {
+        Specification<Vaccination> filter = filter(clinicCode, petId, status, dueFrom, dueTo)
+            .and(ListSpecifications.fetch("pet"))
+            .and(ListSpecifications.fetch("veterinarian"));
+        return listQueryService.find(Vaccination.class, vaccinationRepository, filter, request, SORTABLE)
+            .map(VaccinationDTO::new);
+    }
+
+    // Every matching vaccination as NDJSON in due date order. Rows are read as VaccinationDTO
+    // projections, export.fetch-size at a time, and never enter the persistence context, so memory
+    // use does not grow with the clinic's vaccination history. The output is flushed but not closed.
+    @Transactional(readOnly = true)
+    public void streamVaccinations(String clinicCode, Long petId, Vaccination.VaccinationStatus status,
+                                   LocalDate dueFrom, LocalDate dueTo, OutputStream out) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<VaccinationDTO> query = cb.createQuery(VaccinationDTO.class);
+        Root<Vaccination> v = query.from(Vaccination.class);
+        Join<Vaccination, Pet> pet = v.join("pet", JoinType.LEFT);
+        Join<Vaccination, Veterinarian> vet = v.join("veterinarian", JoinType.LEFT);
+        query.select(cb.construct(VaccinationDTO.class, v.get("id"), pet.get("id"), pet.get("name"), v.get("vaccineType"),
+            v.get("administeredDate"), v.get("nextDueDate"), vet.get("id"), vet.get("name"), v.get("batchNumber"),
+            v.get("notes"), v.get("status"), v.get("createdAt"), v.get("updatedAt")));
+        Predicate where = filter(clinicCode, petId, status, dueFrom, dueTo).toPredicate(v, query, cb);
+        query.where(where).orderBy(cb.asc(v.get("nextDueDate")), cb.asc(v.get("id")));
+
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<VaccinationDTO> rows = entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            for (Iterator<VaccinationDTO> it = rows.iterator(); it.hasNext(); ) {
+                writer.writeValue(json, it.next());
+                json.writeRaw('\n');
+            }
+            json.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Specification<Vaccination> filter(String clinicCode, Long petId, Vaccination.VaccinationStatus status,
+                                                     LocalDate dueFrom, LocalDate dueTo) {
+        return Specification
+            .<Vaccination>where(ListSpecifications.equal("clinicCode", clinicCode))
+            .and(ListSpecifications.equal("pet.id", petId))
+            .and(ListSpecifications.equal("status", status))
+            .and(ListSpecifications.between("nextDueDate", dueFrom, dueTo));
+    }
+
     public List<Vaccination> getAllVaccinations() {
         return vaccinationRepository.findAll();
     }
 
     public Optional<Vaccination> getVaccinationById(Long id) {
-        return vaccinationRepository.findById(id);
+        return vaccinationRepository.findScopedById(id);
     }
 
     public Vaccination saveVaccination(Vaccination vaccination) {
@@ -36,7 +133,7 @@ public class VaccinationService {
     }
 
     public void deleteVaccination(Long id) {
-        Optional<Vaccination> vaccination = vaccinationRepository.findById(id);
+        Optional<Vaccination> vaccination = vaccinationRepository.findScopedById(id);
         if (vaccination.isPresent()) {
             String petName = vaccination.get().getPet() != null ? vaccination.get().getPet().getName() : "Unknown Pet";
             vaccinationRepository.deleteById(id);
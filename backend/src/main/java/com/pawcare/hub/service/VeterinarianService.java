@@ -1,36 +1,58 @@
 package com.pawcare.hub.service;
 
+import com.pawcare.hub.dto.ListPage;
+import com.pawcare.hub.dto.ListRequest;
 import com.pawcare.hub.entity.Veterinarian;
+import com.pawcare.hub.repository.ListSpecifications;
 import com.pawcare.hub.repository.VeterinarianRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class VeterinarianService {
 
+    private static final Set<String> SORTABLE = Set.of("name", "specialization", "createdAt");
+
     @Autowired
     private VeterinarianRepository veterinarianRepository;
 
+    @Autowired
+    private ListQueryService listQueryService;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
     public List<Veterinarian> getAllVeterinarians() {
         return veterinarianRepository.findAll();
     }
 
-    public List<Veterinarian> getAllVeterinariansByClinic(String clinicCode) {
-        return veterinarianRepository.findByClinicCode(clinicCode);
+    public ListPage<Veterinarian> listVeterinarians(String clinicCode, String specialization, String search, ListRequest request) {
+        Specification<Veterinarian> filter = Specification
+            .<Veterinarian>where(ListSpecifications.equal("clinicCode", clinicCode))
+            .and(ListSpecifications.equal("specialization", specialization))
+            .and(ListSpecifications.contains(search, "name", "email"));
+        return listQueryService.find(Veterinarian.class, veterinarianRepository, filter, request, SORTABLE);
     }
 
     public Optional<Veterinarian> getVeterinarianById(Long id) {
-        return veterinarianRepository.findById(id);
+        return veterinarianRepository.findScopedById(id);
     }
 
     public Veterinarian saveVeterinarian(Veterinarian veterinarian) {
-        return veterinarianRepository.save(veterinarian);
+        Veterinarian saved = veterinarianRepository.save(veterinarian);
+        availabilityIndex.veterinariansChanged(saved.getClinicCode());
+        return saved;
     }
 
     public void deleteVeterinarian(Long id) {
-        veterinarianRepository.deleteById(id);
+        veterinarianRepository.findScopedById(id).ifPresent(veterinarian -> {
+            veterinarianRepository.delete(veterinarian);
+            availabilityIndex.veterinariansChanged(veterinarian.getClinicCode());
+        });
     }
 
     public List<Veterinarian> searchVeterinariansByName(String name) {
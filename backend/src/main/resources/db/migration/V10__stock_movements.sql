@@ -0,0 +1,21 @@
+-- Append-only ledger of stock changes (StockService). Each change to inventory_items.current_stock
+-- is made by the statement that appends its movement, so an item's stock is the sum of its movements.
+CREATE TABLE IF NOT EXISTS stock_movements (
+    id BIGSERIAL PRIMARY KEY,
+    clinic_code VARCHAR(20) NOT NULL,
+    inventory_item_id BIGINT NOT NULL REFERENCES inventory_items (id) ON DELETE CASCADE,
+    type VARCHAR(20) NOT NULL,
+    quantity INTEGER NOT NULL,
+    stock_after INTEGER NOT NULL,
+    reason VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_movements_item ON stock_movements (inventory_item_id, id);
+
+-- Opening balance for the stock held before the ledger existed
+INSERT INTO stock_movements (clinic_code, inventory_item_id, type, quantity, stock_after, reason, created_at)
+SELECT clinic_code, id, 'COUNT', current_stock, current_stock, 'Opening stock', LOCALTIMESTAMP
+FROM inventory_items
+WHERE clinic_code IS NOT NULL AND COALESCE(current_stock, 0) <> 0
+  AND NOT EXISTS (SELECT 1 FROM stock_movements m WHERE m.inventory_item_id = inventory_items.id);
@@ -0,0 +1,26 @@
+-- Links invoice lines and prescriptions to the stock they dispense (DispensingService)
+ALTER TABLE invoice_items ADD COLUMN IF NOT EXISTS inventory_item_id BIGINT REFERENCES inventory_items (id) ON DELETE SET NULL;
+ALTER TABLE prescriptions ADD COLUMN IF NOT EXISTS inventory_item_id BIGINT REFERENCES inventory_items (id) ON DELETE SET NULL;
+ALTER TABLE prescriptions ADD COLUMN IF NOT EXISTS quantity INTEGER;
+
+CREATE INDEX IF NOT EXISTS idx_invoice_items_inventory_item ON invoice_items (inventory_item_id);
+CREATE INDEX IF NOT EXISTS idx_prescriptions_inventory_item ON prescriptions (inventory_item_id);
+
+-- Stock held for invoices and prescriptions that have not been dispensed yet. reserved_stock is
+-- the sum of the item's RESERVED rows and is kept in step by the same transactions.
+ALTER TABLE inventory_items ADD COLUMN IF NOT EXISTS reserved_stock INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    id BIGSERIAL PRIMARY KEY,
+    clinic_code VARCHAR(20) NOT NULL,
+    source_type VARCHAR(20) NOT NULL,
+    source_id BIGINT NOT NULL,
+    inventory_item_id BIGINT NOT NULL REFERENCES inventory_items (id) ON DELETE CASCADE,
+    quantity INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_stock_reservations_source UNIQUE (source_type, source_id, inventory_item_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_item ON stock_reservations (inventory_item_id);
@@ -0,0 +1,32 @@
+-- Expiry-ordered access path for the inventory alert job and /api/inventory/expiring
+CREATE INDEX IF NOT EXISTS idx_inventory_items_clinic_expiry ON inventory_items (clinic_code, expiry_date);
+
+-- Open low-stock and expiry alerts, one row per item and alert type, kept by InventoryAlertService
+CREATE TABLE IF NOT EXISTS inventory_alerts (
+    id BIGSERIAL PRIMARY KEY,
+    clinic_code VARCHAR(20) NOT NULL,
+    inventory_item_id BIGINT NOT NULL REFERENCES inventory_items (id) ON DELETE CASCADE,
+    item_name VARCHAR(255),
+    type VARCHAR(20) NOT NULL,
+    current_stock INTEGER,
+    min_stock INTEGER,
+    expiry_date DATE,
+    raised_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_inventory_alerts_item_type UNIQUE (inventory_item_id, type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_alerts_clinic_type ON inventory_alerts (clinic_code, type);
+
+-- Items that passed their expiry date while nothing recomputed their status
+UPDATE inventory_items SET status = 'EXPIRED' WHERE expiry_date < CURRENT_DATE AND status IS DISTINCT FROM 'EXPIRED';
+
+-- Alerts for the current stock levels and expiry dates; InventoryAlertService keeps them from here
+INSERT INTO inventory_alerts (clinic_code, inventory_item_id, item_name, type, current_stock, min_stock, expiry_date, raised_at, updated_at)
+SELECT i.clinic_code, i.id, i.name, t.type, i.current_stock, i.min_stock, i.expiry_date, LOCALTIMESTAMP, LOCALTIMESTAMP
+FROM inventory_items i
+CROSS JOIN LATERAL (VALUES
+    (CASE WHEN i.expiry_date < CURRENT_DATE THEN 'EXPIRED' WHEN i.expiry_date <= CURRENT_DATE + 30 THEN 'EXPIRING' END),
+    (CASE WHEN COALESCE(i.current_stock, 0) <= 0 THEN 'OUT_OF_STOCK' WHEN i.min_stock IS NOT NULL AND i.current_stock <= i.min_stock THEN 'LOW_STOCK' END)
+) AS t(type)
+WHERE t.type IS NOT NULL;
@@ -0,0 +1,11 @@
+-- Due date the last reminder was sent for; a reminder is pending while it differs from next_due_date
+ALTER TABLE vaccinations ADD COLUMN IF NOT EXISTS reminded_for DATE;
+
+-- Due dates per clinic, read in order by the reminder job and the due/upcoming lists
+CREATE INDEX IF NOT EXISTS idx_vaccinations_clinic_due ON vaccinations (clinic_code, next_due_date);
+
+-- Scheduled vaccinations only, so finding the ones that became overdue does not walk the history
+CREATE INDEX IF NOT EXISTS idx_vaccinations_scheduled_due ON vaccinations (clinic_code, next_due_date) WHERE status = 'SCHEDULED';
+
+-- Superseded by idx_vaccinations_clinic_due now that every due-date query is per clinic
+DROP INDEX IF EXISTS idx_vaccinations_next_due_date;
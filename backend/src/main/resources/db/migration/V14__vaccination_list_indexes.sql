@@ -0,0 +1,3 @@
+-- Keyset paging of /api/vaccinations without a sort parameter, as V6 does for the other lists;
+-- due date filters and sorts use idx_vaccinations_clinic_due from V13
+CREATE INDEX IF NOT EXISTS idx_vaccinations_clinic_id ON vaccinations (clinic_code, id);
@@ -0,0 +1,354 @@
+-- Schema as mapped by the JPA entities when migrations were introduced.
+-- Idempotent, so it is also safe on databases that were created by ddl-auto=update before Flyway.
+
+CREATE TABLE IF NOT EXISTS activities (
+    entity_id bigint not null,
+    id bigserial not null,
+    timestamp timestamp(6) not null,
+    action varchar(255) not null,
+    description varchar(255),
+    entity_name varchar(255),
+    entity_type varchar(255) not null,
+    metadata TEXT,
+    user_id varchar(255),
+    user_name varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS appointments (
+    date date,
+    duration integer,
+    time time(6),
+    created_at timestamp(6),
+    id bigserial not null,
+    pet_id bigint,
+    updated_at timestamp(6),
+    veterinarian_id bigint,
+    clinic_code varchar(20) not null,
+    notes varchar(255),
+    status varchar(255) check (status in ('SCHEDULED','CHECKED_IN','IN_PROGRESS','COMPLETED','CANCELLED')),
+    type varchar(255) check (type in ('CHECKUP','VACCINATION','SURGERY','GROOMING','EMERGENCY','FOLLOW_UP')),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS clinic_active_owners (
+    first_visit_date date not null,
+    month_start date not null,
+    id bigserial not null,
+    owner_id bigint not null,
+    clinic_code varchar(20) not null,
+    primary key (id),
+    constraint uk_clinic_active_owners_month_owner unique (clinic_code, month_start, owner_id)
+);
+
+CREATE TABLE IF NOT EXISTS clinic_daily_stats (
+    appointments_cancelled integer not null,
+    appointments_checked_in integer not null,
+    appointments_completed integer not null,
+    appointments_in_progress integer not null,
+    appointments_scheduled integer not null,
+    appointments_total integer not null,
+    invoices_issued integer not null,
+    revenue_paid numeric(38,2) not null,
+    stat_date date not null,
+    id bigserial not null,
+    updated_at timestamp(6),
+    clinic_code varchar(20) not null,
+    primary key (id),
+    constraint uk_clinic_daily_stats_clinic_date unique (clinic_code, stat_date)
+);
+
+CREATE TABLE IF NOT EXISTS clinic_settings (
+    appointment_duration integer not null,
+    appointment_reminders boolean not null,
+    auto_backup boolean not null,
+    email_notifications boolean not null,
+    sms_notifications boolean not null,
+    working_hours_end time(6) not null,
+    working_hours_start time(6) not null,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    updated_at timestamp(6) not null,
+    clinic_code varchar(20) not null unique,
+    address varchar(255) not null,
+    backup_frequency varchar(255) not null check (backup_frequency in ('HOURLY','DAILY','WEEKLY')),
+    clinic_name varchar(255) not null,
+    email varchar(255) not null,
+    phone varchar(255) not null,
+    theme varchar(255) not null check (theme in ('LIGHT','DARK','SYSTEM')),
+    timezone varchar(255) not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS inventory_items (
+    current_stock integer,
+    expiry_date date,
+    last_restocked date,
+    max_stock integer,
+    min_stock integer,
+    unit_price numeric(38,2),
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    batch_number varchar(255),
+    category varchar(255) check (category in ('MEDICATION','SUPPLIES','EQUIPMENT','FOOD','TOYS','OTHER')),
+    clinic_code varchar(255),
+    description varchar(255),
+    location varchar(255),
+    name varchar(255),
+    notes varchar(255),
+    sku varchar(255) unique,
+    status varchar(255) check (status in ('IN_STOCK','LOW_STOCK','OUT_OF_STOCK','EXPIRED')),
+    supplier varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS invoice_items (
+    quantity integer,
+    total numeric(38,2),
+    unit_price numeric(38,2),
+    id bigserial not null,
+    invoice_id bigint,
+    category varchar(255) check (category in ('CONSULTATION','PROCEDURE','MEDICATION','SUPPLIES','BOARDING','GROOMING','OTHER')),
+    description varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS invoices (
+    discount numeric(38,2),
+    due_date date,
+    issue_date date,
+    paid_date date,
+    subtotal numeric(38,2),
+    tax numeric(38,2),
+    total numeric(38,2),
+    appointment_id bigint,
+    created_at timestamp(6),
+    id bigserial not null,
+    owner_id bigint,
+    pet_id bigint,
+    updated_at timestamp(6),
+    veterinarian_id bigint,
+    clinic_code varchar(255),
+    invoice_number varchar(255) unique,
+    notes varchar(255),
+    payment_method varchar(255) check (payment_method in ('CASH','CARD','CHECK','INSURANCE','ONLINE')),
+    status varchar(255) check (status in ('DRAFT','SENT','PAID','OVERDUE','CANCELLED')),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS lab_tests (
+    completed_date date,
+    requested_date date,
+    created_at timestamp(6),
+    id bigserial not null,
+    pet_id bigint,
+    updated_at timestamp(6),
+    veterinarian_id bigint,
+    clinic_code varchar(255),
+    notes varchar(255),
+    results TEXT,
+    status varchar(255) check (status in ('REQUESTED','IN_PROGRESS','COMPLETED','CANCELLED')),
+    test_type varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS medical_records (
+    date date,
+    created_at timestamp(6),
+    id bigserial not null,
+    pet_id bigint,
+    updated_at timestamp(6),
+    veterinarian_id bigint,
+    attachments TEXT,
+    clinic_code varchar(255),
+    description TEXT,
+    notes TEXT,
+    status varchar(255) check (status in ('PENDING','COMPLETED','ARCHIVED')),
+    title varchar(255),
+    type varchar(255) check (type in ('VACCINATION','CHECKUP','SURGERY','TREATMENT','LAB_RESULT','EMERGENCY','FOLLOW_UP')),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS owners (
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    clinic_code varchar(20) not null,
+    address varchar(255),
+    city varchar(255),
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    phone varchar(255),
+    pid varchar(255) unique,
+    state varchar(255),
+    zip_code varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS payment_records (
+    amount numeric(38,2),
+    created_at timestamp(6),
+    id bigserial not null,
+    invoice_id bigint,
+    paid_date timestamp(6),
+    notes varchar(255),
+    payment_method varchar(255) check (payment_method in ('CASH','CARD','CHECK','INSURANCE','ONLINE')),
+    transaction_id varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS pets (
+    date_of_birth date,
+    weight float(53),
+    created_at timestamp(6),
+    id bigserial not null,
+    owner_id bigint,
+    updated_at timestamp(6),
+    clinic_code varchar(20) not null,
+    breed varchar(255),
+    color varchar(255),
+    gender varchar(255),
+    microchip_id varchar(255),
+    name varchar(255),
+    species varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS prescriptions (
+    prescribed_date date,
+    refills_remaining integer,
+    created_at timestamp(6),
+    id bigserial not null,
+    pet_id bigint,
+    updated_at timestamp(6),
+    veterinarian_id bigint,
+    clinic_code varchar(255),
+    dosage varchar(255),
+    duration varchar(255),
+    frequency varchar(255),
+    instructions varchar(255),
+    medication_name varchar(255),
+    notes varchar(255),
+    status varchar(255) check (status in ('ACTIVE','COMPLETED','CANCELLED')),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_permissions (
+    appointments boolean not null,
+    billing boolean not null,
+    inventory boolean not null,
+    owners boolean not null,
+    pets boolean not null,
+    records boolean not null,
+    reports boolean not null,
+    settings boolean not null,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    updated_at timestamp(6) not null,
+    user_id bigint not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    is_active boolean not null,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    updated_at timestamp(6) not null,
+    clinic_code varchar(20),
+    email varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(255) not null check (role in ('VETERINARIAN','NURSE','RECEPTIONIST','ADMINISTRATOR','TECHNICIAN','OWNER')),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS vaccinations (
+    administered_date date,
+    next_due_date date,
+    created_at timestamp(6),
+    id bigserial not null,
+    pet_id bigint,
+    updated_at timestamp(6),
+    veterinarian_id bigint,
+    batch_number varchar(255),
+    clinic_code varchar(255),
+    notes varchar(255),
+    status varchar(255) check (status in ('SCHEDULED','ADMINISTERED','OVERDUE')),
+    vaccine_type varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS veterinarians (
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    clinic_code varchar(255),
+    email varchar(255),
+    name varchar(255),
+    phone varchar(255),
+    photo_url varchar(255),
+    specialization varchar(255),
+    primary key (id)
+);
+
+-- Foreign keys keep Hibernate's generated names so existing constraints are recognised
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FK62dl3dvwsbveq3vv067becwmj')) THEN
+        ALTER TABLE appointments ADD CONSTRAINT FK62dl3dvwsbveq3vv067becwmj FOREIGN KEY (pet_id) REFERENCES pets;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FKh0nkc9wb1n2pg5j51tpe23o5a')) THEN
+        ALTER TABLE appointments ADD CONSTRAINT FKh0nkc9wb1n2pg5j51tpe23o5a FOREIGN KEY (veterinarian_id) REFERENCES veterinarians;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FK46ae0lhu1oqs7cv91fn6y9n7w')) THEN
+        ALTER TABLE invoice_items ADD CONSTRAINT FK46ae0lhu1oqs7cv91fn6y9n7w FOREIGN KEY (invoice_id) REFERENCES invoices;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FKngg5bc8atao2b9jehl9l8tdsw')) THEN
+        ALTER TABLE invoices ADD CONSTRAINT FKngg5bc8atao2b9jehl9l8tdsw FOREIGN KEY (appointment_id) REFERENCES appointments;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FK7oieesllcbprqedrkw5i4r1h9')) THEN
+        ALTER TABLE invoices ADD CONSTRAINT FK7oieesllcbprqedrkw5i4r1h9 FOREIGN KEY (owner_id) REFERENCES owners;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FKnl0p94grf13ib6gl09gsx27du')) THEN
+        ALTER TABLE invoices ADD CONSTRAINT FKnl0p94grf13ib6gl09gsx27du FOREIGN KEY (pet_id) REFERENCES pets;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FKemyd29yhu6mkesmbdr2fq7cns')) THEN
+        ALTER TABLE invoices ADD CONSTRAINT FKemyd29yhu6mkesmbdr2fq7cns FOREIGN KEY (veterinarian_id) REFERENCES veterinarians;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FK8f05cm13ec1xsjx1h6a5vmgou')) THEN
+        ALTER TABLE lab_tests ADD CONSTRAINT FK8f05cm13ec1xsjx1h6a5vmgou FOREIGN KEY (pet_id) REFERENCES pets;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FKwmc2hyetn8orumicnt4wrpg4')) THEN
+        ALTER TABLE lab_tests ADD CONSTRAINT FKwmc2hyetn8orumicnt4wrpg4 FOREIGN KEY (veterinarian_id) REFERENCES veterinarians;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FKojfodeedei8la4yhl5wfo99iy')) THEN
+        ALTER TABLE medical_records ADD CONSTRAINT FKojfodeedei8la4yhl5wfo99iy FOREIGN KEY (pet_id) REFERENCES pets;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FKhk8tt335hcpuc41wkul6iqlnu')) THEN
+        ALTER TABLE medical_records ADD CONSTRAINT FKhk8tt335hcpuc41wkul6iqlnu FOREIGN KEY (veterinarian_id) REFERENCES veterinarians;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FKima08qr85nh0qp5v8sbrtd6e8')) THEN
+        ALTER TABLE payment_records ADD CONSTRAINT FKima08qr85nh0qp5v8sbrtd6e8 FOREIGN KEY (invoice_id) REFERENCES invoices;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FK6teg4kcjcnjhduguft56wcfoa')) THEN
+        ALTER TABLE pets ADD CONSTRAINT FK6teg4kcjcnjhduguft56wcfoa FOREIGN KEY (owner_id) REFERENCES owners;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FKer99w89i0lpmi61xgmpb3x5gt')) THEN
+        ALTER TABLE prescriptions ADD CONSTRAINT FKer99w89i0lpmi61xgmpb3x5gt FOREIGN KEY (pet_id) REFERENCES pets;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FK3md3j36lhks648hhb82s00waj')) THEN
+        ALTER TABLE prescriptions ADD CONSTRAINT FK3md3j36lhks648hhb82s00waj FOREIGN KEY (veterinarian_id) REFERENCES veterinarians;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FKkowxl8b2bngrxd1gafh13005u')) THEN
+        ALTER TABLE user_permissions ADD CONSTRAINT FKkowxl8b2bngrxd1gafh13005u FOREIGN KEY (user_id) REFERENCES users;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FK2kv00bu89ij70upe11xsjf04k')) THEN
+        ALTER TABLE vaccinations ADD CONSTRAINT FK2kv00bu89ij70upe11xsjf04k FOREIGN KEY (pet_id) REFERENCES pets;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = lower('FKaduwrixtnsocg86lofie06s43')) THEN
+        ALTER TABLE vaccinations ADD CONSTRAINT FKaduwrixtnsocg86lofie06s43 FOREIGN KEY (veterinarian_id) REFERENCES veterinarians;
+    END IF;
+END $$;
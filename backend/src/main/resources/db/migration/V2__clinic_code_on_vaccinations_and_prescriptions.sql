@@ -0,0 +1,11 @@
+-- Add clinic_code to vaccinations and prescriptions so the clinic filter covers them
+ALTER TABLE vaccinations ADD COLUMN IF NOT EXISTS clinic_code VARCHAR(255);
+ALTER TABLE prescriptions ADD COLUMN IF NOT EXISTS clinic_code VARCHAR(255);
+
+-- Existing records belong to the clinic of their pet
+UPDATE vaccinations v SET clinic_code = p.clinic_code FROM pets p WHERE p.id = v.pet_id AND v.clinic_code IS NULL;
+UPDATE prescriptions pr SET clinic_code = p.clinic_code FROM pets p WHERE p.id = pr.pet_id AND pr.clinic_code IS NULL;
+
+-- Add indexes for better performance
+CREATE INDEX IF NOT EXISTS idx_vaccinations_clinic_code_pet ON vaccinations(clinic_code, pet_id);
+CREATE INDEX IF NOT EXISTS idx_prescriptions_clinic_code_pet ON prescriptions(clinic_code, pet_id);
@@ -0,0 +1,57 @@
+-- Convert activities into a table range-partitioned by month on timestamp (PostgreSQL 11+).
+-- New months are created ahead of time and expired months are dropped by ActivityPartitionService
+-- (activity.partitions.* / activity.retention.*). Skipped when activities is already partitioned.
+
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid
+               WHERE c.relname = 'activities' AND c.relnamespace = current_schema()::regnamespace) THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE activities RENAME TO activities_unpartitioned;
+    ALTER TABLE activities_unpartitioned RENAME CONSTRAINT activities_pkey TO activities_unpartitioned_pkey;
+
+    CREATE TABLE activities (
+        id BIGINT NOT NULL DEFAULT nextval('activities_id_seq'),
+        action VARCHAR(255) NOT NULL,
+        entity_type VARCHAR(255) NOT NULL,
+        entity_id BIGINT NOT NULL,
+        entity_name VARCHAR(255),
+        description VARCHAR(255),
+        user_id VARCHAR(255),
+        user_name VARCHAR(255),
+        timestamp TIMESTAMP(6) NOT NULL,
+        metadata TEXT,
+        -- The partition key has to be part of the primary key
+        PRIMARY KEY (id, timestamp)
+    ) PARTITION BY RANGE (timestamp);
+
+    ALTER SEQUENCE activities_id_seq OWNED BY activities.id;
+
+    -- Catches rows outside the pre-created months so inserts never fail
+    CREATE TABLE activities_default PARTITION OF activities DEFAULT;
+
+    -- One partition per month from the oldest existing activity through two months ahead
+    month_start := date_trunc('month', COALESCE((SELECT MIN(timestamp) FROM activities_unpartitioned), now()));
+    last_month := date_trunc('month', now()) + INTERVAL '2 months';
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF activities FOR VALUES FROM (%L) TO (%L)',
+                       'activities_' || to_char(month_start, 'YYYY_MM'), month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+
+    INSERT INTO activities SELECT id, action, entity_type, entity_id, entity_name, description,
+                                  user_id, user_name, timestamp, metadata
+    FROM activities_unpartitioned;
+
+    DROP TABLE activities_unpartitioned;
+END $$;
+
+-- Keyset pagination on (timestamp, id) and per-entity / per-user history
+CREATE INDEX IF NOT EXISTS idx_activities_timestamp_id ON activities (timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_activities_entity ON activities (entity_type, entity_id, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_activities_user ON activities (user_id, timestamp DESC, id DESC);
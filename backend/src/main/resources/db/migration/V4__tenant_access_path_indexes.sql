@@ -0,0 +1,33 @@
+-- Composite indexes for the real access paths. Tenant-scoped tables lead with clinic_code,
+-- since every query on them is restricted to one clinic (see ClinicFilterAspect).
+-- MissingIndexCheck reports at startup if any of these go missing.
+
+-- Day views, upcoming lists and dashboard counts by date
+CREATE INDEX IF NOT EXISTS idx_appointments_clinic_date_time ON appointments (clinic_code, date, time);
+CREATE INDEX IF NOT EXISTS idx_appointments_pet ON appointments (pet_id);
+CREATE INDEX IF NOT EXISTS idx_appointments_veterinarian_date ON appointments (veterinarian_id, date);
+
+-- Revenue by paid date, status counts, recent and overdue invoices
+CREATE INDEX IF NOT EXISTS idx_invoices_clinic_paid_date ON invoices (clinic_code, paid_date);
+CREATE INDEX IF NOT EXISTS idx_invoices_clinic_status ON invoices (clinic_code, status);
+CREATE INDEX IF NOT EXISTS idx_invoices_clinic_issue_date ON invoices (clinic_code, issue_date);
+CREATE INDEX IF NOT EXISTS idx_invoices_appointment ON invoices (appointment_id);
+CREATE INDEX IF NOT EXISTS idx_invoices_pet ON invoices (pet_id);
+CREATE INDEX IF NOT EXISTS idx_invoices_owner ON invoices (owner_id);
+CREATE INDEX IF NOT EXISTS idx_invoice_items_invoice ON invoice_items (invoice_id);
+CREATE INDEX IF NOT EXISTS idx_payment_records_invoice ON payment_records (invoice_id);
+CREATE INDEX IF NOT EXISTS idx_payment_records_paid_date ON payment_records (paid_date);
+
+-- Patient history
+CREATE INDEX IF NOT EXISTS idx_medical_records_clinic_pet_date ON medical_records (clinic_code, pet_id, date DESC);
+CREATE INDEX IF NOT EXISTS idx_lab_tests_clinic_requested_date ON lab_tests (clinic_code, requested_date);
+CREATE INDEX IF NOT EXISTS idx_lab_tests_pet ON lab_tests (pet_id);
+
+-- Due and upcoming vaccinations
+CREATE INDEX IF NOT EXISTS idx_vaccinations_next_due_date ON vaccinations (next_due_date);
+
+-- Pet and owner lists
+CREATE INDEX IF NOT EXISTS idx_pets_clinic_owner ON pets (clinic_code, owner_id);
+CREATE INDEX IF NOT EXISTS idx_owners_clinic_last_name ON owners (clinic_code, last_name);
+CREATE INDEX IF NOT EXISTS idx_inventory_items_clinic_name ON inventory_items (clinic_code, name);
+CREATE INDEX IF NOT EXISTS idx_veterinarians_clinic ON veterinarians (clinic_code);
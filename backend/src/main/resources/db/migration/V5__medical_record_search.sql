@@ -0,0 +1,16 @@
+-- Full-text search over medical records. search_vector holds the pet name and title (weight A)
+-- and the description (weight B); MedicalRecordSearchService refreshes it when a record or its
+-- pet is saved. Deleted records take their vector with them.
+ALTER TABLE medical_records ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+UPDATE medical_records mr SET search_vector =
+    setweight(to_tsvector('english', coalesce(p.name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(mr.title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(mr.description, '')), 'B')
+FROM pets p
+WHERE p.id = mr.pet_id;
+
+CREATE INDEX IF NOT EXISTS idx_medical_records_search ON medical_records USING gin (search_vector);
+
+-- Refreshing the vectors of a renamed pet's records
+CREATE INDEX IF NOT EXISTS idx_medical_records_pet ON medical_records (pet_id);
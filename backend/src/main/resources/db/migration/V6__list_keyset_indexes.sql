@@ -0,0 +1,9 @@
+-- Keyset paging of the list endpoints (ListQueryService). Without a sort parameter a page is
+-- "the next N rows of this clinic after id X", which these indexes answer without sorting.
+CREATE INDEX IF NOT EXISTS idx_owners_clinic_id ON owners (clinic_code, id);
+CREATE INDEX IF NOT EXISTS idx_pets_clinic_id ON pets (clinic_code, id);
+CREATE INDEX IF NOT EXISTS idx_invoices_clinic_id ON invoices (clinic_code, id);
+CREATE INDEX IF NOT EXISTS idx_medical_records_clinic_id ON medical_records (clinic_code, id);
+CREATE INDEX IF NOT EXISTS idx_lab_tests_clinic_id ON lab_tests (clinic_code, id);
+CREATE INDEX IF NOT EXISTS idx_prescriptions_clinic_id ON prescriptions (clinic_code, id);
+CREATE INDEX IF NOT EXISTS idx_inventory_items_clinic_id ON inventory_items (clinic_code, id);
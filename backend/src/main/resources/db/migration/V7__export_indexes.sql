@@ -0,0 +1,2 @@
+-- Bulk exports (ExportService) read a clinic's appointments in id order
+CREATE INDEX IF NOT EXISTS idx_appointments_clinic_id ON appointments (clinic_code, id);
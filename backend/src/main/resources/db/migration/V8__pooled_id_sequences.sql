@@ -0,0 +1,20 @@
+-- Entities take their ids from these sequences through Hibernate's pooled optimizer
+-- (allocationSize = 50): each nextval reserves the 50 ids up to and including the value returned,
+-- so inserts no longer need the generated key back and can be batched. Column defaults keep
+-- using the same sequences; a plain INSERT just leaves a gap of 49 ids.
+-- activities, clinic_daily_stats and clinic_active_owners are only written with SQL and keep step 1.
+ALTER SEQUENCE appointments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE clinic_settings_id_seq INCREMENT BY 50;
+ALTER SEQUENCE inventory_items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE invoices_id_seq INCREMENT BY 50;
+ALTER SEQUENCE invoice_items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE lab_tests_id_seq INCREMENT BY 50;
+ALTER SEQUENCE medical_records_id_seq INCREMENT BY 50;
+ALTER SEQUENCE owners_id_seq INCREMENT BY 50;
+ALTER SEQUENCE payment_records_id_seq INCREMENT BY 50;
+ALTER SEQUENCE pets_id_seq INCREMENT BY 50;
+ALTER SEQUENCE prescriptions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE user_permissions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE vaccinations_id_seq INCREMENT BY 50;
+ALTER SEQUENCE veterinarians_id_seq INCREMENT BY 50;
@@ -0,0 +1,8 @@
+-- Running total of each invoice's payments, kept by PaymentRecordService, so posting or deleting a
+-- payment no longer re-sums the invoice's payment history. Filled from the existing payments once.
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS amount_paid NUMERIC(38, 2) NOT NULL DEFAULT 0;
+
+UPDATE invoices i
+SET amount_paid = p.paid
+FROM (SELECT invoice_id, SUM(amount) AS paid FROM payment_records GROUP BY invoice_id) p
+WHERE p.invoice_id = i.id;
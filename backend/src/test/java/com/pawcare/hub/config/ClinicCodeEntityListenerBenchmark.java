@@ -0,0 +1,90 @@
+package com.pawcare.hub.config;
+
+import com.pawcare.hub.entity.InvoiceItem;
+import com.pawcare.hub.entity.Pet;
+import com.pawcare.hub.service.ClinicContext;
+import com.pawcare.hub.service.ClinicContextService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+// Cost of stamping the clinic code on persist: the ClinicScoped interface call against the field
+// reflection the listener used before, for an entity with a clinicCode field (Pet) and one without
+// (InvoiceItem). Not a test; run it from the backend directory with
+//   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+//   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+//       com.pawcare.hub.config.ClinicCodeEntityListenerBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClinicCodeEntityListenerBenchmark {
+
+    private final ClinicCodeEntityListener listener = new ClinicCodeEntityListener();
+    private final Pet pet = new Pet();
+    private final InvoiceItem item = new InvoiceItem();
+
+    @Setup
+    public void setUp() {
+        ClinicContextService clinicContextService = new ClinicContextService();
+        clinicContextService.setClinicContext(ClinicContext.unregistered("BENCH01"));
+        listener.setClinicContextService(clinicContextService);
+    }
+
+    @Benchmark
+    public Object interfaceScoped() {
+        pet.setClinicCode(null);
+        listener.setClinicCode(pet);
+        return pet.getClinicCode();
+    }
+
+    @Benchmark
+    public Object interfaceUnscoped() {
+        listener.setClinicCode(item);
+        return item;
+    }
+
+    @Benchmark
+    public Object reflectionScoped() {
+        pet.setClinicCode(null);
+        setByReflection(pet, "BENCH01");
+        return pet.getClinicCode();
+    }
+
+    @Benchmark
+    public Object reflectionUnscoped() {
+        setByReflection(item, "BENCH01");
+        return item;
+    }
+
+    // The listener's former body
+    private static void setByReflection(Object entity, String clinicCode) {
+        try {
+            Field clinicCodeField = entity.getClass().getDeclaredField("clinicCode");
+            clinicCodeField.setAccessible(true);
+            if (clinicCodeField.get(entity) == null) {
+                clinicCodeField.set(entity, clinicCode);
+            }
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            // Entity doesn't have clinicCode field, ignore
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ClinicCodeEntityListenerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.pawcare.hub.repository;
+
+import com.pawcare.hub.dto.AppointmentDTO;
+import com.pawcare.hub.entity.Appointment;
+import com.pawcare.hub.entity.Owner;
+import com.pawcare.hub.entity.Pet;
+import com.pawcare.hub.entity.Veterinarian;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// The appointment lists are read through the DTO_SELECT projection and must stay at one statement
+// however many rows they return; a lazy association creeping back into AppointmentDTO would add
+// one per row. The migrations are PostgreSQL only, so it runs against a throwaway PostgreSQL
+// container and is skipped where Docker is not available.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class AppointmentRepositoryStatementCountTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static final String CLINIC = "STMTTEST";
+    private static final int PETS = 5;
+    private static final int APPOINTMENTS_PER_PET = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private Statistics statistics;
+    private Long petId;
+    private Long ownerId;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        Veterinarian[] vets = {vet("Dr Stmt A", "stmt-a@example.com"), vet("Dr Stmt B", "stmt-b@example.com")};
+        for (int p = 0; p < PETS; p++) {
+            Owner owner = new Owner("Stmt", "Owner" + p, "stmt-owner" + p + "@example.com");
+            owner.setClinicCode(CLINIC);
+            entityManager.persist(owner);
+            Pet pet = new Pet("Pet" + p, "DOG", owner);
+            pet.setClinicCode(CLINIC);
+            entityManager.persist(pet);
+            for (int a = 0; a < APPOINTMENTS_PER_PET; a++) {
+                Appointment appointment = new Appointment(pet, vets[a % 2], today.plusDays(a),
+                    LocalTime.of(8 + p, 0), Appointment.AppointmentType.CHECKUP);
+                appointment.setDuration(30);
+                appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
+                appointment.setClinicCode(CLINIC);
+                entityManager.persist(appointment);
+            }
+            petId = pet.getId();
+            ownerId = owner.getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void clinicListIsOneStatement() {
+        assertOneStatement(PETS * APPOINTMENTS_PER_PET, () -> appointmentRepository.findDTOsByClinicCode(CLINIC));
+    }
+
+    @Test
+    void petListIsOneStatement() {
+        assertOneStatement(APPOINTMENTS_PER_PET, () -> appointmentRepository.findDTOsByPetIdAndClinicCode(petId, CLINIC));
+    }
+
+    @Test
+    void ownerListIsOneStatement() {
+        assertOneStatement(APPOINTMENTS_PER_PET, () -> appointmentRepository.findDTOsByPetOwnerIdAndClinicCode(ownerId, CLINIC));
+    }
+
+    @Test
+    void dayListIsOneStatement() {
+        assertOneStatement(PETS, () -> appointmentRepository.findDTOsByDateAndClinicCode(today, CLINIC));
+    }
+
+    @Test
+    void dateRangeListIsOneStatement() {
+        assertOneStatement(PETS * 2, () -> appointmentRepository.findDTOsByDateBetweenAndClinicCode(today, today.plusDays(1), CLINIC));
+    }
+
+    @Test
+    void upcomingListIsOneStatement() {
+        assertOneStatement(PETS * APPOINTMENTS_PER_PET, () -> appointmentRepository.findUpcomingDTOsByClinicCode(today, CLINIC));
+    }
+
+    private void assertOneStatement(int expectedRows, Supplier<List<AppointmentDTO>> query) {
+        List<AppointmentDTO> appointments = query.get();
+        assertEquals(expectedRows, appointments.size());
+        for (AppointmentDTO appointment : appointments) {
+            assertNotNull(appointment.getPetName());
+            assertNotNull(appointment.getOwnerName());
+            assertNotNull(appointment.getVeterinarianName());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount(), "JDBC statements for " + expectedRows + " appointments");
+    }
+
+    private Veterinarian vet(String name, String email) {
+        Veterinarian vet = new Veterinarian(name, null, email);
+        vet.setClinicCode(CLINIC);
+        entityManager.persist(vet);
+        return vet;
+    }
+}
\ No newline at end of file
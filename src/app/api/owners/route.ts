@@ -1,4 +1,5 @@
 import { NextRequest, NextResponse } from 'next/server';
+import { pageHeaders } from '@/lib/api';
 
 const BACKEND_URL = process.env.BACKEND_URL || 'http://localhost:8082';
 
@@ -7,15 +8,11 @@ export async function GET(request: NextRequest) {
     const clinicCode = request.headers.get('X-Clinic-Code');
     const { searchParams } = new URL(request.url);
     const name = searchParams.get('name');
-    const email = searchParams.get('email');
     
-    let backendUrl = `${BACKEND_URL}/api/owners`;
-    
-    if (name) {
-      backendUrl += `/search?name=${encodeURIComponent(name)}`;
-    } else if (email) {
-      backendUrl += `?email=${encodeURIComponent(email)}`;
-    }
+    // The paged list takes email, cursor, limit, sort and includeTotal as they are
+    const backendUrl = name
+      ? `${BACKEND_URL}/api/owners/search?name=${encodeURIComponent(name)}`
+      : `${BACKEND_URL}/api/owners?${searchParams}`;
     
     const response = await fetch(backendUrl, {
       method: 'GET',
@@ -30,7 +27,7 @@ export async function GET(request: NextRequest) {
     }
 
     const data = await response.json();
-    return NextResponse.json(data);
+    return NextResponse.json(data, { headers: pageHeaders(response) });
   } catch (error) {
     console.error('API Error:', error);
     return NextResponse.json(
@@ -1,4 +1,5 @@
 import { NextRequest, NextResponse } from 'next/server';
+import { pageHeaders } from '@/lib/api';
 
 const BACKEND_URL = process.env.BACKEND_URL || 'http://localhost:8082';
 
@@ -6,7 +7,9 @@ export async function GET(request: NextRequest) {
   try {
     const clinicCode = request.headers.get('x-clinic-code');
     
-    const response = await fetch(`${BACKEND_URL}/api/pets`, {
+    // Paging parameters go through as they are; see pageHeaders
+    const { searchParams } = new URL(request.url);
+    const response = await fetch(`${BACKEND_URL}/api/pets?${searchParams}`, {
       method: 'GET',
       headers: {
         'Content-Type': 'application/json',
@@ -19,7 +22,7 @@ export async function GET(request: NextRequest) {
     }
 
     const data = await response.json();
-    return NextResponse.json(data);
+    return NextResponse.json(data, { headers: pageHeaders(response) });
   } catch (error) {
     console.error('API Error:', error);
     return NextResponse.json(
@@ -1,10 +1,13 @@
 import { NextRequest, NextResponse } from 'next/server';
+import { pageHeaders } from '@/lib/api';
 
 const BACKEND_URL = process.env.BACKEND_URL || 'http://localhost:8082';
 
 export async function GET(request: NextRequest) {
   try {
-    const response = await fetch(`${BACKEND_URL}/api/veterinarians`, {
+    // Paging parameters go through as they are; see pageHeaders
+    const { searchParams } = new URL(request.url);
+    const response = await fetch(`${BACKEND_URL}/api/veterinarians?${searchParams}`, {
       method: 'GET',
       headers: {
         'Content-Type': 'application/json',
@@ -17,7 +20,7 @@ export async function GET(request: NextRequest) {
     }
 
     const data = await response.json();
-    return NextResponse.json(data);
+    return NextResponse.json(data, { headers: pageHeaders(response) });
   } catch (error) {
     console.error('API Error:', error);
     return NextResponse.json(
@@ -11,6 +11,7 @@ import { Badge } from '@/components/ui/badge';
 import { CalendarIcon, FileText, Upload, X } from 'lucide-react';
 import { format } from 'date-fns';
 import { cn } from '@/lib/utils';
+import { fetchAllPages } from '@/lib/api';
 import { useToast } from '@/components/ui/use-toast';
 import { MedicalRecord } from '@/types';
 import { useRecords } from '@/hooks/use-records';
@@ -60,11 +61,7 @@ export function RecordFormModal({ open, onOpenChange, record, mode = 'create', p
     if (open) {
       console.log('Fetching pets...');
       setPetsLoading(true);
-      fetch('/api/pets')
-        .then(res => {
-          console.log('Pets response:', res);
-          return res.json();
-        })
+      fetchAllPages<any>('/api/pets')
         .then(data => {
           console.log('Pets data:', data);
           setPets(data);
@@ -77,11 +74,7 @@ export function RecordFormModal({ open, onOpenChange, record, mode = 'create', p
 
       console.log('Fetching veterinarians...');
       setVetsLoading(true);
-      fetch('/api/veterinarians')
-        .then(res => {
-          console.log('Vets response:', res);
-          return res.json();
-        })
+      fetchAllPages<any>('/api/veterinarians')
         .then(data => {
           console.log('Vets data:', data);
           setVeterinarians(data);
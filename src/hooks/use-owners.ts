@@ -16,7 +16,7 @@ export const ownerKeys = {
 export function useOwners() {
   return useQuery({
     queryKey: ownerKeys.lists(),
-    queryFn: () => apiClient.get<Owner[]>('/api/owners'),
+    queryFn: () => apiClient.getAll<Owner>('/api/owners'),
   });
 }
 
@@ -26,7 +26,7 @@ export function usePets() {
   const query = useQuery({
     queryKey: petKeys.lists(),
     queryFn: async () => {
-      return await apiClient.get('/api/pets');
+      return await apiClient.getAll<Pet>('/api/pets');
     },
     staleTime: 5 * 60 * 1000, // 5 minutes
     cacheTime: 10 * 60 * 1000, // 10 minutes
@@ -24,7 +24,7 @@ export function useVeterinarians() {
     queryKey: veterinarianKeys.lists(),
     queryFn: async () => {
       try {
-        const data = await apiClient.get<any[]>('/api/veterinarians');
+        const data = await apiClient.getAll<any>('/api/veterinarians');
         return data.map(vet => ({
           ...vet,
           name: vet.firstName && vet.lastName ? `${vet.firstName} ${vet.lastName}` : vet.name || 'Unknown Veterinarian'
@@ -93,6 +93,51 @@ class ApiClient {
   async delete<T>(endpoint: string): Promise<T> {
     return this.request<T>(endpoint, { method: 'DELETE' });
   }
+
+  // Every page of a paged list, for pickers and lookups that need all of it
+  async getAll<T>(endpoint: string): Promise<T[]> {
+    const url = endpoint.startsWith('http') ? endpoint : `${this.baseURL}${endpoint}`;
+    return fetchAllPages<T>(url, {
+      headers: {
+        'Content-Type': 'application/json',
+        'x-clinic-code': this.getClinicCode() || '',
+      },
+    });
+  }
+}
+
+// Paged list endpoints return at most `limit` items (100 by default, 500 at most) and put the
+// cursor of the next page in X-Next-Cursor; the header is absent on the last page.
+export const NEXT_CURSOR_HEADER = 'X-Next-Cursor';
+export const TOTAL_COUNT_HEADER = 'X-Total-Count';
+const MAX_PAGE_LIMIT = 500;
+
+export async function fetchAllPages<T>(url: string, init: RequestInit = {}): Promise<T[]> {
+  const items: T[] = [];
+  let cursor: string | null = null;
+  do {
+    const separator = url.includes('?') ? '&' : '?';
+    const pageUrl = `${url}${separator}limit=${MAX_PAGE_LIMIT}${cursor ? `&cursor=${encodeURIComponent(cursor)}` : ''}`;
+    const response = await fetch(pageUrl, { method: 'GET', ...init });
+    if (!response.ok) {
+      throw new Error(`HTTP error! status: ${response.status}`);
+    }
+    items.push(...(await response.json()));
+    cursor = response.headers.get(NEXT_CURSOR_HEADER);
+  } while (cursor);
+  return items;
+}
+
+// For the API routes that proxy a paged list: passes the paging headers on to the browser
+export function pageHeaders(response: Response): Headers {
+  const headers = new Headers();
+  for (const name of [NEXT_CURSOR_HEADER, TOTAL_COUNT_HEADER]) {
+    const value = response.headers.get(name);
+    if (value) {
+      headers.set(name, value);
+    }
+  }
+  return headers;
 }
 
 export const apiClient = new ApiClient(API_BASE_URL);
\ No newline at end of file